@@ -19,15 +19,29 @@ repositories {
 
 dependencies {
     // Spring Boot
+    implementation("org.springframework.boot:spring-boot-starter-actuator")
+    implementation("org.springframework.boot:spring-boot-starter-aop")
+    implementation("org.springframework.boot:spring-boot-starter-cache")
     implementation("org.springframework.boot:spring-boot-starter-data-jdbc")
     implementation("org.springframework.boot:spring-boot-starter-security")
     implementation("org.springframework.boot:spring-boot-starter-web")
     implementation("org.springframework.boot:spring-boot-starter-validation")
 
+    //Binary representations (Accept: application/cbor or application/x-jackson-smile)
+    implementation("com.fasterxml.jackson.dataformat:jackson-dataformat-cbor")
+    implementation("com.fasterxml.jackson.dataformat:jackson-dataformat-smile")
+
     //Database
     implementation("org.liquibase:liquibase-core")
     implementation("org.postgresql:postgresql:42.7.4")
 
+    //Metrics
+    implementation("io.micrometer:micrometer-registry-prometheus")
+    implementation("net.ttddyy:datasource-proxy:1.10")
+
+    //Caching
+    implementation("com.github.ben-manes.caffeine:caffeine")
+
     //Development tools
     developmentOnly("org.springframework.boot:spring-boot-docker-compose")
     compileOnly("org.projectlombok:lombok:1.18.38")
@@ -66,6 +80,11 @@ sourceSets {
     }
 }
 
+dependencies {
+    "integrationTestCompileOnly"("org.projectlombok:lombok:1.18.38")
+    "integrationTestAnnotationProcessor"("org.projectlombok:lombok:1.18.38")
+}
+
 // Create the 'integrationTest' task to run only integration tests
 val integrationTest by
 tasks.registering(Test::class, fun Test.() {
@@ -78,6 +97,66 @@ tasks.registering(Test::class, fun Test.() {
     include("**/*IT.class")
 })
 
+// Define custom source set for JMH benchmarks
+sourceSets {
+    val main by getting
+
+    create("jmh") {
+        java.srcDir("src/jmh/java")
+        compileClasspath += main.output + configurations.runtimeClasspath.get()
+        runtimeClasspath += output + compileClasspath
+    }
+}
+
+dependencies {
+    "jmhImplementation"("org.openjdk.jmh:jmh-core:1.37")
+    "jmhAnnotationProcessor"("org.openjdk.jmh:jmh-generator-annprocess:1.37")
+}
+
+// Create the 'jmh' task to run the benchmarks, e.g. ./gradlew jmh -Pjmh.includes=BoardSerialization
+val jmh by tasks.registering(JavaExec::class) {
+    group = "verification"
+    description = "Runs the JMH benchmarks"
+    classpath = sourceSets["jmh"].runtimeClasspath
+    mainClass.set("org.openjdk.jmh.Main")
+    val resultFile = layout.buildDirectory.file("reports/jmh/results.json").get().asFile
+    // The gc profiler reports allocation per operation next to the timings
+    args("-prof", "gc", "-rf", "json", "-rff", resultFile.path)
+    providers.gradleProperty("jmh.includes").orNull?.let { args(it) }
+    doFirst { resultFile.parentFile.mkdirs() }
+}
+
+// Define custom source set for the HTTP load test
+sourceSets {
+    val main by getting
+
+    create("loadTest") {
+        java.srcDir("src/loadTest/java")
+        compileClasspath += main.output + configurations.runtimeClasspath.get()
+        runtimeClasspath += output + compileClasspath
+    }
+}
+
+dependencies {
+    "loadTestImplementation"("org.hdrhistogram:HdrHistogram:2.2.2")
+    "loadTestImplementation"("org.testcontainers:postgresql")
+    "loadTestCompileOnly"("org.projectlombok:lombok:1.18.38")
+    "loadTestAnnotationProcessor"("org.projectlombok:lombok:1.18.38")
+}
+
+// Create the 'loadTest' task: boots the application against a Postgres container and drives it at a fixed rate,
+// e.g. ./gradlew loadTest -PloadTest.rate=500 -PloadTest.duration=PT2M (see LoadTestConfig for all settings)
+val loadTest by tasks.registering(JavaExec::class) {
+    group = "verification"
+    description = "Runs the HTTP load test and writes its reports to build/reports/loadtest"
+    classpath = sourceSets["loadTest"].runtimeClasspath
+    mainClass.set("com.worldline.taskboard.loadtest.LoadTestRunner")
+    systemProperty("loadTest.reportDir", layout.buildDirectory.dir("reports/loadtest").get().asFile.path)
+    project.properties
+            .filterKeys { it.startsWith("loadTest.") }
+            .forEach { (key, value) -> systemProperty(key, value.toString()) }
+}
+
 tasks.named<ProcessResources>("processIntegrationTestResources") {
     duplicatesStrategy = DuplicatesStrategy.INCLUDE
 }
@@ -0,0 +1,84 @@
+package com.worldline.taskboard;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.worldline.taskboard.events.BoardChangeEvent;
+import com.worldline.taskboard.events.BoardChangeNotification;
+import com.worldline.taskboard.events.BoardChangeNotifier;
+import com.worldline.taskboard.model.entities.TaskList;
+import com.worldline.taskboard.repository.TaskListRepository;
+import com.worldline.taskboard.repository.TaskRepository;
+import com.worldline.taskboard.service.TaskBoardCache;
+import com.worldline.taskboard.service.TaskBoardService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+
+import static com.worldline.taskboard.IntegrationTestConstants.TASK_LIST_PERSONAL;
+import static com.worldline.taskboard.IntegrationTestConstants.TASK_LIST_WORK;
+
+/**
+ * Simulates a second node by writing to the database behind the service's back and then sending the notification
+ * that node would have sent.
+ */
+@Testcontainers
+@SpringBootTest
+@ActiveProfiles("test")
+public class BoardChangeNotificationIT extends BaseIntegrationTest {
+
+    private static final long TIMEOUT_MILLIS = 5_000;
+
+    @Autowired
+    private TaskBoardService taskBoardService;
+
+    @Autowired
+    private TaskListRepository taskListRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskBoardCache taskBoardCache;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository.deleteAll();
+        taskListRepository.deleteAll();
+        taskBoardCache.evictAll();
+    }
+
+    @Test
+    void remoteChange_shouldEvictLocallyCachedBoard() throws Exception {
+        taskBoardService.createList(TASK_LIST_WORK);
+        Assertions.assertEquals(1, taskBoardService.getAllLists().size());
+
+        // "Other node": commit a new list without going through this node's service
+        var otherNodeList = taskListRepository.save(TaskList.builder()
+                .name(TASK_LIST_PERSONAL)
+                .createdAt(LocalDateTime.now())
+                .build());
+        Assertions.assertEquals(1, taskBoardService.getAllLists().size(), "board should still be served from cache");
+
+        var payload = objectMapper.writeValueAsString(
+                new BoardChangeNotification("other-node", BoardChangeEvent.listCreated(otherNodeList)));
+        jdbcTemplate.queryForList("SELECT pg_notify(?, ?)", BoardChangeNotifier.CHANNEL, payload);
+
+        var deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (taskBoardService.getAllLists().size() != 2 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        Assertions.assertEquals(2, taskBoardService.getAllLists().size());
+    }
+}
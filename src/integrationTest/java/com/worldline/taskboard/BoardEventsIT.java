@@ -0,0 +1,175 @@
+package com.worldline.taskboard;
+
+import com.worldline.taskboard.model.dtos.TaskDetailsDto;
+import com.worldline.taskboard.repository.TaskListRepository;
+import com.worldline.taskboard.repository.TaskRepository;
+import com.worldline.taskboard.service.TaskBoardCache;
+import com.worldline.taskboard.service.TaskBoardService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static com.worldline.taskboard.IntegrationTestConstants.*;
+
+@Testcontainers
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+public class BoardEventsIT extends BaseIntegrationTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+    private static final String AUTHORIZATION = "Basic " + Base64.getEncoder()
+            .encodeToString("admin:password".getBytes(StandardCharsets.UTF_8));
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TaskBoardService taskBoardService;
+
+    @Autowired
+    private TaskListRepository taskListRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskBoardCache taskBoardCache;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    @BeforeEach
+    void setUp() {
+        taskRepository.deleteAll();
+        taskListRepository.deleteAll();
+        taskBoardCache.evictAll();
+    }
+
+    @Test
+    void subscribe_shouldReceiveCommittedChanges() throws Exception {
+        try (var events = subscribe(null)) {
+            taskBoardService.createList(TASK_LIST_WORK);
+            taskBoardService.addTaskToList(TASK_LIST_WORK, TaskDetailsDto.builder()
+                    .name(TASK_NAME_TEST)
+                    .description(TASK_DESCRIPTION_TEST)
+                    .build());
+
+            var listCreated = events.next();
+            Assertions.assertEquals("LIST_CREATED", listCreated.name());
+            Assertions.assertTrue(listCreated.data().contains(TASK_LIST_WORK));
+            var taskAdded = events.next();
+            Assertions.assertEquals("TASK_ADDED", taskAdded.name());
+            Assertions.assertTrue(taskAdded.data().contains(TASK_NAME_TEST));
+        }
+    }
+
+    @Test
+    void subscribe_withLastEventId_shouldReplayMissedEvents() throws Exception {
+        String lastEventId;
+        try (var events = subscribe(null)) {
+            taskBoardService.createList(TASK_LIST_WORK);
+            lastEventId = events.next().id();
+        }
+        taskBoardService.createList(TASK_LIST_PERSONAL);
+
+        try (var events = subscribe(lastEventId)) {
+            var missed = events.next();
+            Assertions.assertEquals("LIST_CREATED", missed.name());
+            Assertions.assertTrue(missed.data().contains(TASK_LIST_PERSONAL));
+        }
+    }
+
+    @Test
+    void subscribe_withUnknownLastEventId_shouldAskForReset() throws Exception {
+        try (var events = subscribe("unknown-1")) {
+            Assertions.assertEquals("RESET", events.next().name());
+        }
+    }
+
+    private EventStream subscribe(String lastEventId) throws Exception {
+        var request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + getBasePath() + "/events"))
+                .header("Accept", "text/event-stream")
+                .header("Authorization", AUTHORIZATION);
+        if (lastEventId != null) {
+            request.header("Last-Event-ID", lastEventId);
+        }
+        // Returns once the headers arrived, i.e. once the subscription is registered
+        var response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofInputStream());
+        Assertions.assertEquals(200, response.statusCode());
+        return new EventStream(response.body());
+    }
+
+    private record ServerSentEvent(String id, String name, String data) {
+    }
+
+    /**
+     * Parses the event stream on a background thread; comments (heartbeats) are skipped.
+     */
+    private static class EventStream implements AutoCloseable {
+
+        private final InputStream body;
+        private final BlockingQueue<ServerSentEvent> events = new LinkedBlockingQueue<>();
+
+        EventStream(InputStream body) {
+            this.body = body;
+            Thread.ofVirtual().start(this::read);
+        }
+
+        ServerSentEvent next() throws InterruptedException {
+            var event = events.poll(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+            Assertions.assertNotNull(event, "no event received within " + TIMEOUT);
+            return event;
+        }
+
+        private void read() {
+            var reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+            String id = null;
+            String name = null;
+            var data = new StringBuilder();
+            try {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.isEmpty()) {
+                        if (!data.isEmpty()) {
+                            events.add(new ServerSentEvent(id, name, data.toString()));
+                        }
+                        name = null;
+                        data.setLength(0);
+                    } else if (line.startsWith("id:")) {
+                        id = line.substring(3);
+                    } else if (line.startsWith("event:")) {
+                        name = line.substring(6);
+                    } else if (line.startsWith("data:")) {
+                        data.append(line.substring(5));
+                    }
+                }
+            } catch (IOException e) {
+                // Closed by the test
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            body.close();
+        }
+    }
+}
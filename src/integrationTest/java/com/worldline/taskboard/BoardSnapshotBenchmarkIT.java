@@ -0,0 +1,175 @@
+package com.worldline.taskboard;
+
+import com.worldline.taskboard.model.dtos.TaskDto;
+import com.worldline.taskboard.model.dtos.TaskListDto;
+import com.worldline.taskboard.repository.BoardStreamRepository;
+import com.worldline.taskboard.repository.BoardVersionRepository;
+import com.worldline.taskboard.repository.TaskListRepository;
+import com.worldline.taskboard.repository.TaskRankRepository;
+import com.worldline.taskboard.repository.TaskRepository;
+import com.worldline.taskboard.service.TaskBoardCache;
+import com.worldline.taskboard.service.TaskBoardServiceImpl;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.jdbc.DataJdbcTest;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Compares the legacy per-list board read (one task query per list) with the batched snapshot read of
+ * {@link TaskBoardServiceImpl#getAllLists()}. Only runs when {@code TASKBOARD_BENCHMARK=true} is set, e.g.
+ * {@code TASKBOARD_BENCHMARK=true ./gradlew integrationTest --tests '*BoardSnapshotBenchmarkIT'}.
+ * Board sizes can be overridden with {@code TASKBOARD_BENCHMARK_SIZES} (comma separated list counts).
+ */
+@Slf4j
+@DataJdbcTest
+@EnabledIfEnvironmentVariable(named = "TASKBOARD_BENCHMARK", matches = "true")
+public class BoardSnapshotBenchmarkIT extends BaseIntegrationTest {
+
+    private static final int TASKS_PER_LIST = 5;
+    private static final int WARMUP_ITERATIONS = 5;
+    private static final int MEASURED_ITERATIONS = 50;
+
+    @Autowired
+    private TaskListRepository taskListRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final AtomicInteger roundTrips = new AtomicInteger();
+
+    private TaskListRepository countingTaskListRepository;
+    private TaskRepository countingTaskRepository;
+    private BoardVersionRepository countingBoardVersionRepository;
+
+    @BeforeEach
+    void setUp() {
+        countingTaskListRepository = counting(taskListRepository, TaskListRepository.class);
+        countingTaskRepository = counting(taskRepository, TaskRepository.class);
+        countingBoardVersionRepository = new BoardVersionRepository(jdbcTemplate) {
+            @Override
+            public long currentVersion() {
+                roundTrips.incrementAndGet();
+                return super.currentVersion();
+            }
+        };
+    }
+
+    @Test
+    void compareBoardReads() {
+        var sizes = Arrays.stream(System.getenv().getOrDefault("TASKBOARD_BENCHMARK_SIZES", "10,1000,10000").split(","))
+                .map(String::trim)
+                .mapToInt(Integer::parseInt)
+                .toArray();
+        var report = new StringBuilder(String.format("%n%-8s %-10s %12s %12s %12s%n", "lists", "strategy", "round trips", "p50 (ms)", "p99 (ms)"));
+
+        for (var size : sizes) {
+            seedBoard(size);
+            // No caching: every call has to go to the database
+            var service = new TaskBoardServiceImpl(countingTaskListRepository, countingTaskRepository,
+                    new TaskRankRepository(jdbcTemplate), new BoardStreamRepository(jdbcTemplate), countingBoardVersionRepository,
+                    new TaskBoardCache(new NoOpCacheManager()), event -> {
+            });
+
+            var legacy = measure(this::legacyGetAllLists);
+            var snapshot = measure(service::getAllLists);
+            report.append(legacy.format(size, "per-list"));
+            report.append(snapshot.format(size, "snapshot"));
+
+            Assertions.assertEquals(size + 1, legacy.roundTrips());
+            // Board version, lists, tasks
+            Assertions.assertEquals(3, snapshot.roundTrips());
+        }
+        log.info("Board read benchmark ({} tasks per list):{}", TASKS_PER_LIST, report);
+    }
+
+    /**
+     * The board read as it was implemented before the snapshot query: one query for the lists and one per list.
+     */
+    private List<TaskListDto> legacyGetAllLists() {
+        var taskListDtos = new ArrayList<TaskListDto>();
+        countingTaskListRepository.findAll().forEach(taskList -> {
+            var taskListDto = TaskListDto.of(taskList);
+            taskListDto.setTasks(countingTaskRepository.findByListId(taskList.id())
+                    .stream()
+                    .map(TaskDto::of)
+                    .toList());
+            taskListDtos.add(taskListDto);
+        });
+        return taskListDtos;
+    }
+
+    private Result measure(Supplier<List<TaskListDto>> boardRead) {
+        for (var i = 0; i < WARMUP_ITERATIONS; i++) {
+            boardRead.get();
+        }
+        var samples = new long[MEASURED_ITERATIONS];
+        var trips = 0;
+        for (var i = 0; i < MEASURED_ITERATIONS; i++) {
+            roundTrips.set(0);
+            var start = System.nanoTime();
+            boardRead.get();
+            samples[i] = System.nanoTime() - start;
+            trips = roundTrips.get();
+        }
+        Arrays.sort(samples);
+        return new Result(trips, percentile(samples, 0.50), percentile(samples, 0.99));
+    }
+
+    private void seedBoard(int lists) {
+        jdbcTemplate.update("DELETE FROM task");
+        jdbcTemplate.update("DELETE FROM task_list");
+        jdbcTemplate.update("""
+                INSERT INTO task_list (name, created_at, updated_at)
+                SELECT 'list-' || g, now(), now() FROM generate_series(1, ?) g
+                """, lists);
+        jdbcTemplate.update("""
+                INSERT INTO task (list_id, name, description, created_at, updated_at)
+                SELECT l.id, l.name || '-task-' || g, 'Benchmark task', now(), now()
+                FROM task_list l, generate_series(1, ?) g
+                """, TASKS_PER_LIST);
+    }
+
+    private static double percentile(long[] sortedNanos, double percentile) {
+        var index = (int) Math.ceil(percentile * sortedNanos.length) - 1;
+        return sortedNanos[Math.max(index, 0)] / 1_000_000.0;
+    }
+
+    /**
+     * Wraps a repository so that every repository call, i.e. every statement sent to the database, is counted.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T counting(T repository, Class<T> type) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            if (method.getDeclaringClass() != Object.class) {
+                roundTrips.incrementAndGet();
+            }
+            try {
+                return method.invoke(repository, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        });
+    }
+
+    private record Result(int roundTrips, double p50Millis, double p99Millis) {
+        String format(int lists, String strategy) {
+            return String.format("%-8d %-10s %12d %12.2f %12.2f%n", lists, strategy, roundTrips, p50Millis, p99Millis);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.worldline.taskboard;
+
+import com.worldline.taskboard.model.dtos.TaskDetailsDto;
+import com.worldline.taskboard.repository.TaskListRepository;
+import com.worldline.taskboard.repository.TaskRepository;
+import com.worldline.taskboard.service.TaskBoardCache;
+import com.worldline.taskboard.service.TaskBoardService;
+import io.restassured.RestAssured;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static com.worldline.taskboard.IntegrationTestConstants.*;
+
+@Testcontainers
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+public class BoardTransferControllerIT extends BaseIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TaskBoardService taskBoardService;
+
+    @Autowired
+    private TaskListRepository taskListRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskBoardCache taskBoardCache;
+
+    @BeforeEach
+    void setUp() {
+        RestAssured.baseURI = getBaseUri();
+        RestAssured.port = port;
+
+        taskRepository.deleteAll();
+        taskListRepository.deleteAll();
+        taskBoardCache.evictAll();
+    }
+
+    @Test
+    void exportAndImport_shouldRestoreBoardWithNewIds() {
+        var workList = taskBoardService.createList(TASK_LIST_WORK);
+        taskBoardService.createList(TASK_LIST_PERSONAL);
+        taskBoardService.addTaskToList(TASK_LIST_WORK, TaskDetailsDto.builder()
+                .name(TASK_NAME_TEST)
+                .description(TASK_DESCRIPTION_TEST)
+                .build());
+
+        var archive = RestAssured.given()
+                .when()
+                .get(getBasePath() + "/admin/board/export")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .contentType("application/zip")
+                .extract()
+                .asByteArray();
+
+        taskRepository.deleteAll();
+        taskListRepository.deleteAll();
+
+        RestAssured.given()
+                .contentType("application/zip")
+                .body(archive)
+                .when()
+                .post(getBasePath() + "/admin/board/import")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("importedLists", Matchers.equalTo(2))
+                .body("importedTasks", Matchers.equalTo(1));
+
+        var lists = taskBoardService.getAllLists();
+        Assertions.assertEquals(2, lists.size());
+        var importedWorkList = lists.stream()
+                .filter(list -> TASK_LIST_WORK.equals(list.getName()))
+                .findFirst()
+                .orElseThrow();
+        Assertions.assertNotEquals(workList.getListId(), importedWorkList.getListId());
+        Assertions.assertEquals(TASK_NAME_TEST, importedWorkList.getTasks().getFirst().taskDetails().name());
+    }
+}
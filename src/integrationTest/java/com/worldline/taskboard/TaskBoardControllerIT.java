@@ -1,11 +1,18 @@
 package com.worldline.taskboard;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.worldline.taskboard.repository.BoardVersionRepository;
 import com.worldline.taskboard.repository.TaskListRepository;
 import com.worldline.taskboard.repository.TaskRepository;
+import com.worldline.taskboard.service.TaskBoardCache;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.restassured.RestAssured;
+import io.restassured.config.DecoderConfig;
 import io.restassured.http.ContentType;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -15,6 +22,14 @@ import org.springframework.http.HttpStatus;
 import org.springframework.test.context.ActiveProfiles;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
 import static com.worldline.taskboard.IntegrationTestConstants.TASK_LIST_PERSONAL;
 import static com.worldline.taskboard.IntegrationTestConstants.TASK_LIST_WORK;
 
@@ -32,6 +47,15 @@ public class TaskBoardControllerIT extends BaseIntegrationTest {
     @Autowired
     private TaskRepository taskRepository;
 
+    @Autowired
+    private TaskBoardCache taskBoardCache;
+
+    @Autowired
+    private BoardVersionRepository boardVersionRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @BeforeEach
     void setUp() {
         RestAssured.baseURI = getBaseUri();
@@ -40,12 +64,14 @@ public class TaskBoardControllerIT extends BaseIntegrationTest {
         // Clean up before each test to ensure isolation
         taskRepository.deleteAll();
         taskListRepository.deleteAll();
+        taskBoardCache.evictAll();
     }
 
     @AfterEach
     void tearDown() {
         taskRepository.deleteAll();
         taskListRepository.deleteAll();
+        taskBoardCache.evictAll();
     }
 
 
@@ -61,6 +87,117 @@ public class TaskBoardControllerIT extends BaseIntegrationTest {
                     .body("", Matchers.hasSize(0));
     }
 
+    @Test
+    void getAllLists_shouldRecordQueriesPerRequest() {
+        RestAssured.given().queryParam("taskListName", TASK_LIST_WORK).post("/lists");
+        RestAssured.given().queryParam("taskListName", TASK_LIST_PERSONAL).post("/lists");
+
+        RestAssured
+                .given()
+                    .contentType(ContentType.JSON)
+                .when()
+                    .get("/lists")
+                .then()
+                    .statusCode(HttpStatus.OK.value())
+                    .header("X-Query-Count", "3")
+                    .header("X-Query-Rows", "4");
+
+        var queries = meterRegistry.get("taskboard.http.request.queries")
+                .tag("method", "GET")
+                .tag("uri", "/api/taskboard/lists")
+                .summary();
+        // Version check, then version and the lists joined with their tasks, independent of the number of lists
+        Assertions.assertEquals(3, queries.max());
+        Assertions.assertTrue(meterRegistry.get("taskboard.http.response.size")
+                .tag("uri", "/api/taskboard/lists")
+                .summary()
+                .totalAmount() > 0);
+    }
+
+    @Test
+    void getAllLists_shouldReturnNotModified_untilBoardChanges() {
+        RestAssured.given().queryParam("taskListName", TASK_LIST_WORK).post("/lists");
+
+        var etag = RestAssured
+                .given()
+                .when()
+                    .get("/lists")
+                .then()
+                    .statusCode(HttpStatus.OK.value())
+                    .header("ETag", Matchers.notNullValue())
+                    .extract()
+                    .header("ETag");
+
+        RestAssured
+                .given()
+                    .header("If-None-Match", etag)
+                .when()
+                    .get("/lists")
+                .then()
+                    .statusCode(HttpStatus.NOT_MODIFIED.value())
+                    .header("X-Query-Count", "0");
+
+        RestAssured.given().queryParam("taskListName", TASK_LIST_PERSONAL).post("/lists");
+
+        RestAssured
+                .given()
+                    .header("If-None-Match", etag)
+                .when()
+                    .get("/lists")
+                .then()
+                    .statusCode(HttpStatus.OK.value())
+                    .header("ETag", Matchers.not(etag))
+                    .body("", Matchers.hasSize(2));
+    }
+
+    @Test
+    void getAllLists_shouldNegotiateBinaryFormatsAndGzip() throws IOException {
+        // Large enough to be above server.compression.min-response-size
+        createListWithTasks(TASK_LIST_WORK, 40);
+        var json = RestAssured.given()
+                .accept(ContentType.JSON)
+                .get("/lists")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .extract()
+                .asByteArray();
+        var board = new ObjectMapper().readTree(json);
+
+        var cbor = RestAssured.given()
+                .accept("application/cbor")
+                .get("/lists")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .contentType("application/cbor")
+                .header("ETag", Matchers.endsWith("-cbor\""))
+                .extract()
+                .asByteArray();
+        Assertions.assertEquals(board, new CBORMapper().readTree(cbor));
+        Assertions.assertTrue(cbor.length < json.length);
+
+        var gzipped = RestAssured.given()
+                .config(RestAssured.config().decoderConfig(DecoderConfig.decoderConfig().noContentDecoders()))
+                .accept(ContentType.JSON)
+                .header("Accept-Encoding", "gzip")
+                .get("/lists")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .header("Content-Encoding", "gzip")
+                .header("Vary", Matchers.containsString("Accept-Encoding"))
+                .extract();
+        try (var body = new GZIPInputStream(new ByteArrayInputStream(gzipped.asByteArray()))) {
+            Assertions.assertArrayEquals(json, body.readAllBytes());
+        }
+
+        RestAssured.given()
+                .config(RestAssured.config().decoderConfig(DecoderConfig.decoderConfig().noContentDecoders()))
+                .header("Accept-Encoding", "gzip")
+                .header("If-None-Match", gzipped.header("ETag"))
+                .get("/lists")
+                .then()
+                .statusCode(HttpStatus.NOT_MODIFIED.value());
+    }
+
     @Test
     void createList_shouldCreateNewList_whenValidNameProvided() {
         RestAssured
@@ -124,6 +261,111 @@ public class TaskBoardControllerIT extends BaseIntegrationTest {
                             Matchers.equalTo("Test Task"));
     }
 
+    @Test
+    void addTasksToList_shouldImportBatch_andReportDuplicates() {
+        RestAssured
+                .given()
+                    .contentType(ContentType.JSON)
+                    .queryParam("taskListName", TASK_LIST_WORK)
+                .when()
+                    .post("/lists");
+
+        RestAssured
+                .given()
+                    .contentType("application/x-ndjson")
+                    .body("""
+                            {"name": "Task 1", "description": "First"}
+                            {"name": "Task 2", "description": "Second"}
+                            {"name": "Task 1", "description": "First again"}
+                            """)
+                .when()
+                    .post("/lists/{listName}/tasks:batch", TASK_LIST_WORK)
+                .then()
+                    .statusCode(HttpStatus.OK.value())
+                    .body("received", Matchers.equalTo(3))
+                    .body("imported", Matchers.equalTo(2))
+                    .body("failures", Matchers.hasSize(1))
+                    .body("failures[0].index", Matchers.equalTo(2));
+
+        RestAssured
+                .given()
+                    .contentType(ContentType.JSON)
+                .when()
+                    .get("/lists")
+                .then()
+                    .statusCode(HttpStatus.OK.value())
+                    .body("find{it.name == '" + TASK_LIST_WORK + "'}.tasks", Matchers.hasSize(2));
+    }
+
+    @Test
+    void applyTaskOperations_shouldApplyTheBatch_andReportFailedOperations() {
+        RestAssured.given().queryParam("taskListName", TASK_LIST_WORK).post("/lists");
+        RestAssured.given().queryParam("taskListName", TASK_LIST_PERSONAL).post("/lists");
+        for (var name : List.of("A", "B", "C", "D")) {
+            RestAssured.given().contentType(ContentType.JSON).body("{\"name\": \"" + name + "\"}")
+                    .post("/lists/{listName}/tasks", TASK_LIST_WORK);
+        }
+        RestAssured.given().contentType(ContentType.JSON).body("{\"name\": \"A\"}")
+                .post("/lists/{listName}/tasks", TASK_LIST_PERSONAL);
+        var workListId = taskListRepository.findByName(TASK_LIST_WORK).orElseThrow().id();
+        var personalListId = taskListRepository.findByName(TASK_LIST_PERSONAL).orElseThrow().id();
+        var taskIds = new HashMap<String, Long>();
+        taskRepository.findByListId(workListId).forEach(task -> taskIds.put(task.getName(), task.getId()));
+        var boardVersion = boardVersionRepository.currentVersion();
+
+        RestAssured
+                .given()
+                    .contentType(ContentType.JSON)
+                    .body("""
+                            [
+                              {"type": "MOVE", "taskId": %1$d, "listId": %5$d},
+                              {"type": "MOVE", "taskId": %2$d, "listId": %5$d},
+                              {"type": "UPDATE", "taskId": %3$d, "version": 99, "taskDetails": {"name": "C2"}},
+                              {"type": "DELETE", "taskId": %4$d},
+                              {"type": "UPDATE", "taskId": %2$d, "taskDetails": {"name": "B2"}},
+                              {"type": "DELETE", "taskId": 999999}
+                            ]
+                            """.formatted(taskIds.get("A"), taskIds.get("B"), taskIds.get("C"), taskIds.get("D"),
+                            personalListId))
+                .when()
+                    .post("/tasks:batch")
+                .then()
+                    .statusCode(HttpStatus.OK.value())
+                    .body("received", Matchers.equalTo(6))
+                    .body("applied", Matchers.equalTo(2))
+                    .body("tasks.taskDetails.name", Matchers.contains("B"))
+                    .body("tasks[0].taskId", Matchers.equalTo(taskIds.get("B").intValue()))
+                    .body("failures.index", Matchers.contains(0, 2, 4, 5))
+                    .body("failures[0].reason", Matchers.containsString("cannot be moved"))
+                    .body("failures[1].reason", Matchers.containsString("not at the expected version 99"))
+                    .body("failures[2].reason", Matchers.containsString("more than once"))
+                    .body("failures[3].reason", Matchers.equalTo("Task not found for id=999999"));
+
+        // One version and one change log entry per applied operation
+        Assertions.assertEquals(boardVersion + 2, boardVersionRepository.currentVersion());
+        RestAssured
+                .given()
+                    .queryParam("since", boardVersion)
+                .when()
+                    .get("/changes")
+                .then()
+                    .statusCode(HttpStatus.OK.value())
+                    .body("resync", Matchers.equalTo(false))
+                    .body("tasks.taskId", Matchers.contains(taskIds.get("B").intValue()))
+                    .body("deletedTaskIds", Matchers.contains(taskIds.get("D").intValue()));
+
+        RestAssured
+                .given()
+                    .contentType(ContentType.JSON)
+                .when()
+                    .get("/lists")
+                .then()
+                    .statusCode(HttpStatus.OK.value())
+                    .body("find{it.name == '" + TASK_LIST_WORK + "'}.tasks.taskDetails.name", Matchers.contains("A", "C"))
+                    .body("find{it.name == '" + TASK_LIST_PERSONAL + "'}.tasks.taskDetails.name",
+                            Matchers.contains("A", "B"));
+    }
+
     @Test
     void updateTask_shouldUpdateTaskDetails_whenTaskExists() {
         // Create list
@@ -273,6 +515,220 @@ public class TaskBoardControllerIT extends BaseIntegrationTest {
                 .body("", Matchers.not(Matchers.hasItem(Matchers.hasEntry("name", TASK_LIST_PERSONAL))));
     }
 
+    @Test
+    void deleteList_shouldDeleteItsTasksInTheSameStatement() {
+        var listId = createListWithTasks(TASK_LIST_WORK, 3);
+
+        RestAssured
+                .given()
+                .when()
+                    .delete("/lists/{listId}", listId)
+                .then()
+                    .statusCode(HttpStatus.OK.value())
+                    // One cascading delete, the board version and the change notification
+                    .header("X-Query-Count", "3");
+
+        Assertions.assertTrue(taskRepository.findByListId(listId).isEmpty());
+    }
+
+    @Test
+    void deleteList_async_shouldPurgeListAndTasksInTheBackground() throws InterruptedException {
+        var listId = createListWithTasks(TASK_LIST_WORK, 3);
+
+        RestAssured
+                .given()
+                    .queryParam("async", true)
+                .when()
+                    .delete("/lists/{listId}", listId)
+                .then()
+                    .statusCode(HttpStatus.ACCEPTED.value());
+
+        var deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (taskListRepository.existsById(listId) && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        Assertions.assertFalse(taskListRepository.existsById(listId));
+        Assertions.assertTrue(taskRepository.findByListId(listId).isEmpty());
+        RestAssured
+                .given()
+                .when()
+                    .get("/lists")
+                .then()
+                    .statusCode(HttpStatus.OK.value())
+                    .body("", Matchers.hasSize(0));
+    }
+
+    @Test
+    void deleteList_async_shouldReturnNotFound_whenListDoesNotExist() {
+        RestAssured
+                .given()
+                    .queryParam("async", true)
+                .when()
+                    .delete("/lists/{listId}", 999_999L)
+                .then()
+                    .statusCode(HttpStatus.NOT_FOUND.value());
+    }
+
+    @Test
+    void positionTask_shouldReorderTheListByRewritingOnlyTheTask() {
+        var listId = createListWithTasks(TASK_LIST_WORK, 3);
+        var taskIds = taskIdsInOrder(listId);
+
+        RestAssured
+                .given()
+                    .contentType(ContentType.JSON)
+                    .body(String.format("{\"listId\": %d, \"afterTaskId\": %d}", listId, taskIds.get(0)))
+                .when()
+                    .put("/tasks/{taskId}/position", taskIds.get(2))
+                .then()
+                    .statusCode(HttpStatus.OK.value())
+                    // Neighbours, the task update, the board version and the change notification
+                    .header("X-Query-Count", "4")
+                    .header("ETag", Matchers.notNullValue());
+        Assertions.assertEquals(List.of(taskIds.get(0), taskIds.get(2), taskIds.get(1)), taskIdsInOrder(listId));
+
+        RestAssured
+                .given()
+                    .contentType(ContentType.JSON)
+                    .body(String.format("{\"listId\": %d}", listId))
+                .when()
+                    .put("/tasks/{taskId}/position", taskIds.get(1))
+                .then()
+                    .statusCode(HttpStatus.OK.value());
+        Assertions.assertEquals(List.of(taskIds.get(1), taskIds.get(0), taskIds.get(2)), taskIdsInOrder(listId));
+    }
+
+    @Test
+    void positionTask_shouldRebalanceTheList_whenTheGapIsUsedUp() {
+        var listId = createListWithTasks(TASK_LIST_WORK, 19);
+        var taskIds = taskIdsInOrder(listId);
+
+        // Every task placed right after the first one halves the gap before the previously placed one
+        var expected = new ArrayList<Long>();
+        expected.add(taskIds.getFirst());
+        for (var i = 2; i < taskIds.size(); i++) {
+            RestAssured
+                    .given()
+                        .contentType(ContentType.JSON)
+                        .body(String.format("{\"listId\": %d, \"afterTaskId\": %d}", listId, taskIds.getFirst()))
+                    .when()
+                        .put("/tasks/{taskId}/position", taskIds.get(i))
+                    .then()
+                        .statusCode(HttpStatus.OK.value());
+            expected.add(1, taskIds.get(i));
+        }
+        expected.add(taskIds.get(1));
+
+        Assertions.assertEquals(expected, taskIdsInOrder(listId));
+    }
+
+    @Test
+    void positionTask_shouldReturnNotFound_whenAfterTaskIsInAnotherList() {
+        var workListId = createListWithTasks(TASK_LIST_WORK, 1);
+        var personalListId = createListWithTasks(TASK_LIST_PERSONAL, 1);
+
+        RestAssured
+                .given()
+                    .contentType(ContentType.JSON)
+                    .body(String.format("{\"listId\": %d, \"afterTaskId\": %d}", workListId,
+                            taskIdsInOrder(personalListId).getFirst()))
+                .when()
+                    .put("/tasks/{taskId}/position", taskIdsInOrder(workListId).getFirst())
+                .then()
+                    .statusCode(HttpStatus.NOT_FOUND.value());
+    }
+
+    @Test
+    void searchTasks_shouldRankNameMatchesFirst_andPageWithTheCursor() {
+        RestAssured.given().queryParam("taskListName", TASK_LIST_WORK).post("/lists");
+        var personalListId = RestAssured.given()
+                .queryParam("taskListName", TASK_LIST_PERSONAL)
+                .post("/lists")
+                .then()
+                .extract()
+                .jsonPath()
+                .getLong("id");
+        addTask(TASK_LIST_WORK, "Prepare invoices", "Before the end of the month");
+        addTask(TASK_LIST_WORK, "Call the bank", "About the unpaid invoice");
+        addTask(TASK_LIST_PERSONAL, "Pay invoice", "Electricity");
+        addTask(TASK_LIST_PERSONAL, "Water the plants", "Twice a week");
+
+        var firstPage = RestAssured
+                .given()
+                    .queryParam("q", "invoice")
+                    .queryParam("limit", 2)
+                .when()
+                    .get("/tasks/search")
+                .then()
+                    .statusCode(HttpStatus.OK.value())
+                    .header("X-Query-Count", "1")
+                    .body("items", Matchers.hasSize(2))
+                    .body("items.taskDetails.name", Matchers.everyItem(Matchers.containsString("nvoice")))
+                    .body("nextCursor", Matchers.notNullValue())
+                    .extract()
+                    .jsonPath();
+
+        RestAssured
+                .given()
+                    .queryParam("q", "invoice")
+                    .queryParam("limit", 2)
+                    .queryParam("after", firstPage.getString("nextCursor"))
+                .when()
+                    .get("/tasks/search")
+                .then()
+                    .statusCode(HttpStatus.OK.value())
+                    .body("items.taskDetails.name", Matchers.contains("Call the bank"))
+                    .body("nextCursor", Matchers.nullValue());
+
+        RestAssured
+                .given()
+                    .queryParam("q", "invoice")
+                    .queryParam("listId", personalListId)
+                .when()
+                    .get("/tasks/search")
+                .then()
+                    .statusCode(HttpStatus.OK.value())
+                    .body("items.taskDetails.name", Matchers.contains("Pay invoice"));
+    }
+
+    private void addTask(String listName, String name, String description) {
+        RestAssured.given()
+                .contentType(ContentType.JSON)
+                .body(String.format("{\"name\": \"%s\", \"description\": \"%s\"}", name, description))
+                .post("/lists/{listName}/tasks", listName)
+                .then()
+                .statusCode(HttpStatus.OK.value());
+    }
+
+    private List<Long> taskIdsInOrder(long listId) {
+        return RestAssured.given()
+                .get("/lists/{listId}/tasks", listId)
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .extract()
+                .jsonPath()
+                .getList("items.taskId", Long.class);
+    }
+
+    private long createListWithTasks(String listName, int tasks) {
+        var listId = RestAssured.given()
+                .queryParam("taskListName", listName)
+                .post("/lists")
+                .then()
+                .extract()
+                .jsonPath()
+                .getLong("id");
+        for (var i = 0; i < tasks; i++) {
+            RestAssured.given()
+                    .contentType(ContentType.JSON)
+                    .body("{\"name\": \"Task " + i + "\", \"description\": \"Task number " + i + "\"}")
+                    .post("/lists/{listName}/tasks", listName)
+                    .then()
+                    .statusCode(HttpStatus.OK.value());
+        }
+        return listId;
+    }
+
     @Test
     void moveTaskToList_shouldMoveTask_whenBothTaskAndTargetListExist() {
         // Create source list and task first
@@ -340,6 +796,70 @@ public class TaskBoardControllerIT extends BaseIntegrationTest {
                 .body("find{it.name == '" + targetListName + "'}.tasks[0].name", Matchers.equalTo("Task To Move"));
     }
 
+    @Test
+    void getListsPage_shouldPaginateListsByCursor() {
+        RestAssured.given()
+                .contentType(ContentType.JSON)
+                .queryParam("taskListName", TASK_LIST_WORK)
+                .when()
+                .post("/lists");
+        RestAssured.given()
+                .contentType(ContentType.JSON)
+                .queryParam("taskListName", TASK_LIST_PERSONAL)
+                .when()
+                .post("/lists");
+
+        var nextCursor = RestAssured.given()
+                .queryParam("limit", 1)
+                .when()
+                .get("/lists/page")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("items", Matchers.hasSize(1))
+                .body("items[0].name", Matchers.equalTo(TASK_LIST_WORK))
+                .extract()
+                .jsonPath()
+                .getLong("nextCursor");
+
+        RestAssured.given()
+                .queryParam("afterListId", nextCursor)
+                .queryParam("limit", 1)
+                .when()
+                .get("/lists/page")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("items", Matchers.hasSize(1))
+                .body("items[0].name", Matchers.equalTo(TASK_LIST_PERSONAL))
+                .body("nextCursor", Matchers.nullValue());
+    }
+
+    @Test
+    void streamAllLists_shouldWriteOneListPerLine() {
+        RestAssured.given()
+                .contentType(ContentType.JSON)
+                .queryParam("taskListName", TASK_LIST_WORK)
+                .when()
+                .post("/lists");
+        RestAssured.given()
+                .contentType(ContentType.JSON)
+                .queryParam("taskListName", TASK_LIST_PERSONAL)
+                .when()
+                .post("/lists");
+
+        var body = RestAssured.given()
+                .accept("application/x-ndjson")
+                .when()
+                .get("/lists/stream")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .extract()
+                .asString();
+
+        var lines = body.lines().toList();
+        Assertions.assertEquals(2, lines.size());
+        Assertions.assertTrue(lines.getFirst().contains("\"name\":\"" + TASK_LIST_WORK + "\""));
+    }
+
     @Test
     void createList_shouldReturnBadRequest_whenNameIsBlank() {
         RestAssured
@@ -369,6 +889,61 @@ public class TaskBoardControllerIT extends BaseIntegrationTest {
                     .statusCode(HttpStatus.NOT_FOUND.value());
     }
 
+    @Test
+    void updateTask_shouldReturnConflict_whenIfMatchIsOutdated() {
+        RestAssured.given().queryParam("taskListName", TASK_LIST_PERSONAL).post("/lists");
+        RestAssured
+                .given()
+                    .contentType(ContentType.JSON)
+                    .body("""
+                            {
+                                "name": "Original Task",
+                                "description": "Original description"
+                            }
+                            """)
+                .when()
+                    .post("/lists/{listName}/tasks", TASK_LIST_PERSONAL);
+        var task = RestAssured.given()
+                .when()
+                    .get("/lists")
+                .then()
+                    .extract()
+                    .jsonPath();
+        var taskId = task.getLong("find{it.name == '" + TASK_LIST_PERSONAL + "'}.tasks[0].taskId");
+        var version = task.getLong("find{it.name == '" + TASK_LIST_PERSONAL + "'}.tasks[0].version");
+        var update = """
+                {
+                    "name": "Updated Task",
+                    "description": "Updated description"
+                }
+                """;
+
+        // First writer wins and gets the new version
+        RestAssured
+                .given()
+                    .contentType(ContentType.JSON)
+                    .header("If-Match", "\"" + version + "\"")
+                    .body(update)
+                .when()
+                    .put("/tasks/{taskId}", taskId)
+                .then()
+                    .statusCode(HttpStatus.OK.value())
+                    .header("ETag", "\"" + (version + 1) + "\"")
+                    // One conditional UPDATE ... RETURNING, the board version and the change notification
+                    .header("X-Query-Count", "3");
+
+        // Second writer still holds the old version
+        RestAssured
+                .given()
+                    .contentType(ContentType.JSON)
+                    .header("If-Match", "\"" + version + "\"")
+                    .body(update)
+                .when()
+                    .put("/tasks/{taskId}", taskId)
+                .then()
+                    .statusCode(HttpStatus.CONFLICT.value());
+    }
+
     @Test
     void updateTask_ShouldReturnNotFound_WhenTaskDoesNotExist() {
         RestAssured
@@ -3,15 +3,21 @@ package com.worldline.taskboard;
 import com.worldline.taskboard.exceptions.DuplicateEntityException;
 import com.worldline.taskboard.model.dtos.TaskDetailsDto;
 import com.worldline.taskboard.model.dtos.TaskDto;
+import com.worldline.taskboard.repository.BoardStreamRepository;
+import com.worldline.taskboard.repository.BoardVersionRepository;
 import com.worldline.taskboard.repository.TaskListRepository;
+import com.worldline.taskboard.repository.TaskRankRepository;
 import com.worldline.taskboard.repository.TaskRepository;
 import com.worldline.taskboard.service.TaskBoardService;
+import com.worldline.taskboard.service.TaskBoardCache;
 import com.worldline.taskboard.service.TaskBoardServiceImpl;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.data.jdbc.DataJdbcTest;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
 
 import static com.worldline.taskboard.IntegrationTestConstants.*;
 import static org.junit.Assert.assertThrows;
@@ -26,11 +32,17 @@ public class TaskBoardServiceIT extends BaseIntegrationTest {
     @Autowired
     private TaskRepository taskRepository;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     private TaskBoardService taskBoardService;
 
     @BeforeEach
     void setUp() {
-        taskBoardService = new TaskBoardServiceImpl(taskListRepository, taskRepository);
+        taskBoardService = new TaskBoardServiceImpl(taskListRepository, taskRepository,
+                new TaskRankRepository(jdbcTemplate), new BoardStreamRepository(jdbcTemplate), new BoardVersionRepository(jdbcTemplate),
+                new TaskBoardCache(new NoOpCacheManager()), event -> {
+        });
         taskListRepository.deleteAll();
         taskRepository.deleteAll();
     }
@@ -76,7 +88,7 @@ public class TaskBoardServiceIT extends BaseIntegrationTest {
                 .name("Meet client")
                 .description("Discuss and finalize the new project")
                 .build();
-        taskBoardService.updateTask(task1.taskId(), newTaskRequest);
+        taskBoardService.updateTask(task1.taskId(), newTaskRequest, null);
         /*assertEquals("Call client updated", newTaskRequest.name());
         assertEquals("Discuss project updates and timeline", newTaskRequest.description());*/
 
@@ -132,6 +144,21 @@ public class TaskBoardServiceIT extends BaseIntegrationTest {
         Assertions.assertEquals("A task with name 'Personal Task' already exists for the task list 'Personal'.", exception.getMessage());
     }
 
+    @Test
+    void addTaskToList_shouldAllowSameTaskNameInDifferentLists() {
+        taskBoardService.createList(TASK_LIST_WORK);
+        taskBoardService.createList(TASK_LIST_PERSONAL);
+        var taskRequest = TaskDetailsDto.builder()
+                .name(TASK_NAME_TEST)
+                .description(TASK_DESCRIPTION_TEST)
+                .build();
+
+        taskBoardService.addTaskToList(TASK_LIST_WORK, taskRequest);
+        taskBoardService.addTaskToList(TASK_LIST_PERSONAL, taskRequest);
+
+        Assertions.assertEquals(2, taskRepository.count());
+    }
+
     @Test
     void addTaskToList_shouldThrowExceptionWhenListNotFound() {
         var taskDetails = TaskDetailsDto.builder()
@@ -0,0 +1,123 @@
+package com.worldline.taskboard;
+
+import com.worldline.taskboard.repository.TaskSearchRepository;
+import com.worldline.taskboard.service.TaskSearchService;
+import com.worldline.taskboard.service.TaskSearchServiceImpl;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.jdbc.DataJdbcTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+/**
+ * Measures {@code GET /api/taskboard/tasks/search} on a large board: a rare term, a term matching a fifth of all
+ * tasks, and that term within one list. Only runs when {@code TASKBOARD_BENCHMARK=true} is set, e.g.
+ * {@code TASKBOARD_BENCHMARK=true ./gradlew integrationTest --tests '*TaskSearchBenchmarkIT'}.
+ * The number of tasks can be overridden with {@code TASKBOARD_BENCHMARK_SEARCH_TASKS} (default one million; seeding
+ * ten million takes a few minutes).
+ */
+@Slf4j
+@DataJdbcTest
+@EnabledIfEnvironmentVariable(named = "TASKBOARD_BENCHMARK", matches = "true")
+public class TaskSearchBenchmarkIT extends BaseIntegrationTest {
+
+    private static final int LISTS = 1_000;
+    private static final int RARE_TERM_EVERY = 10_000;
+    private static final int PAGE_SIZE = 20;
+    private static final int WARMUP_ITERATIONS = 5;
+    private static final int MEASURED_ITERATIONS = 50;
+    private static final double MAX_SELECTIVE_P99_MILLIS = 50;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private TaskSearchService taskSearchService;
+
+    @BeforeEach
+    void setUp() {
+        taskSearchService = new TaskSearchServiceImpl(new TaskSearchRepository(jdbcTemplate));
+    }
+
+    @Test
+    void searchLargeBoard() {
+        var tasks = Integer.parseInt(System.getenv().getOrDefault("TASKBOARD_BENCHMARK_SEARCH_TASKS", "1000000"));
+        var listId = seedBoard(tasks);
+
+        var rare = measure(() -> taskSearchService.searchTasks("zebra", null, null, PAGE_SIZE));
+        var common = measure(() -> taskSearchService.searchTasks("invoice", null, null, PAGE_SIZE));
+        var commonInList = measure(() -> taskSearchService.searchTasks("invoice", listId, null, PAGE_SIZE));
+        log.info("Task search benchmark ({} tasks):{}", tasks,
+                String.format("%n%-16s %12s %12s%n", "query", "p50 (ms)", "p99 (ms)")
+                        + rare.format("rare term")
+                        + common.format("common term")
+                        + commonInList.format("common in list"));
+
+        var plan = String.join("\n", jdbcTemplate.queryForList(
+                "EXPLAIN SELECT id FROM task WHERE search_vector @@ websearch_to_tsquery('english', 'zebra')",
+                String.class));
+        Assertions.assertTrue(plan.contains("idx_task_search_vector"), plan);
+        Assertions.assertTrue(rare.p99Millis() < MAX_SELECTIVE_P99_MILLIS,
+                "p99 of a selective search was " + rare.p99Millis() + " ms");
+    }
+
+    /**
+     * Seeds {@code tasks} tasks over {@value #LISTS} lists. Every name carries one of five terms, so each matches a
+     * fifth of the tasks; one task in {@value #RARE_TERM_EVERY} mentions a zebra.
+     *
+     * @return the id of one of the lists
+     */
+    private long seedBoard(int tasks) {
+        jdbcTemplate.update("DELETE FROM task");
+        jdbcTemplate.update("DELETE FROM task_list");
+        jdbcTemplate.update("""
+                INSERT INTO task_list (name, created_at, updated_at)
+                SELECT 'list-' || g, now(), now() FROM generate_series(1, ?) g
+                """, LISTS);
+        var firstListId = jdbcTemplate.queryForObject("SELECT min(id) FROM task_list", Long.class);
+        jdbcTemplate.update("""
+                INSERT INTO task (list_id, name, description, created_at, updated_at)
+                SELECT ? + g % ?,
+                       'Task ' || g || ' ' || (ARRAY['invoice', 'deploy', 'review', 'meeting', 'budget'])[1 + g % 5],
+                       CASE WHEN g % ? = 0 THEN 'Feed the zebra'
+                            ELSE 'Benchmark task about the ' || (ARRAY['customer', 'server', 'release'])[1 + g % 3]
+                       END,
+                       now(), now()
+                FROM generate_series(1, ?) g
+                """, firstListId, LISTS, RARE_TERM_EVERY, tasks);
+        // Move the freshly inserted entries out of the pending list of the GIN index, as autovacuum would
+        jdbcTemplate.queryForObject("SELECT gin_clean_pending_list('idx_task_search_vector')", Long.class);
+        jdbcTemplate.execute("ANALYZE task");
+        return firstListId;
+    }
+
+    private Result measure(Supplier<?> search) {
+        for (var i = 0; i < WARMUP_ITERATIONS; i++) {
+            search.get();
+        }
+        var samples = new long[MEASURED_ITERATIONS];
+        for (var i = 0; i < MEASURED_ITERATIONS; i++) {
+            var start = System.nanoTime();
+            search.get();
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        return new Result(percentile(samples, 0.50), percentile(samples, 0.99));
+    }
+
+    private static double percentile(long[] sortedNanos, double percentile) {
+        var index = (int) Math.ceil(percentile * sortedNanos.length) - 1;
+        return sortedNanos[Math.max(index, 0)] / 1_000_000.0;
+    }
+
+    private record Result(double p50Millis, double p99Millis) {
+        String format(String query) {
+            return String.format("%-16s %12.2f %12.2f%n", query, p50Millis, p99Millis);
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package com.worldline.taskboard;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.autoconfigure.data.jdbc.DataJdbcTest;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Compares Tomcat's platform-thread pool with virtual threads ({@code spring.threads.virtual.enabled}) while the
+ * database is artificially slow: every connection checkout first spends {@code TASKBOARD_BENCHMARK_DB_DELAY_MS} in
+ * {@code pg_sleep}, holding the pooled connection like a slow query would.
+ * <p>
+ * Half of the simulated clients read a task page (needs a connection), the other half read the cached board (needs no
+ * database at all). With platform threads the slow reads occupy every worker thread and the cached reads queue behind
+ * them; with virtual threads only the connection pool limits the slow reads. Only runs when
+ * {@code TASKBOARD_BENCHMARK=true} is set, e.g.
+ * {@code TASKBOARD_BENCHMARK=true ./gradlew integrationTest --tests '*ThreadModeBenchmarkIT'}.
+ */
+@Slf4j
+@DataJdbcTest
+@EnabledIfEnvironmentVariable(named = "TASKBOARD_BENCHMARK", matches = "true")
+public class ThreadModeBenchmarkIT extends BaseIntegrationTest {
+
+    private static final int CLIENTS = intSetting("TASKBOARD_BENCHMARK_CLIENTS", 400);
+    private static final int DB_DELAY_MILLIS = intSetting("TASKBOARD_BENCHMARK_DB_DELAY_MS", 50);
+    private static final int DB_POOL_SIZE = intSetting("TASKBOARD_BENCHMARK_POOL_SIZE", 20);
+    private static final Duration WARMUP = Duration.ofSeconds(5);
+    private static final Duration MEASUREMENT = Duration.ofSeconds(intSetting("TASKBOARD_BENCHMARK_SECONDS", 20));
+    private static final String AUTHORIZATION = "Basic " + Base64.getEncoder()
+            .encodeToString("admin:password".getBytes(StandardCharsets.UTF_8));
+
+    @Autowired
+    private DataSourceProperties dataSourceProperties;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // the applications under test have to see the seeded board
+    void comparePlatformAndVirtualThreads() throws Exception {
+        var listId = seedBoard();
+        var report = new StringBuilder(String.format("%n%-9s %-7s %10s %10s %10s %10s %8s%n",
+                "threads", "read", "requests", "req/s", "p50 (ms)", "p99 (ms)", "errors"));
+
+        for (var virtual : List.of(false, true)) {
+            try (var application = startApplication(virtual)) {
+                var port = ((WebServerApplicationContext) application).getWebServer().getPort();
+                var slowRead = URI.create("http://localhost:" + port + "/api/taskboard/lists/" + listId + "/tasks?limit=10");
+                var cachedRead = URI.create("http://localhost:" + port + "/api/taskboard/lists");
+
+                run(slowRead, cachedRead, WARMUP);
+                var results = run(slowRead, cachedRead, MEASUREMENT);
+                var mode = virtual ? "virtual" : "platform";
+                report.append(results.slow().format(mode, "slow"));
+                report.append(results.cached().format(mode, "cached"));
+                if (virtual) {
+                    var pinned = application.getBean(MeterRegistry.class).find("taskboard.threads.virtual.pinned")
+                            .counters().stream()
+                            .mapToDouble(Counter::count)
+                            .sum();
+                    report.append(String.format("virtual threads pinned > 20 ms: %.0f%n", pinned));
+                }
+                Assertions.assertTrue(results.slow().requests() > 0);
+            }
+        }
+        log.info("Thread mode benchmark ({} clients, {} ms per connection checkout, pool of {}):{}",
+                CLIENTS, DB_DELAY_MILLIS, DB_POOL_SIZE, report);
+    }
+
+    private ConfigurableApplicationContext startApplication(boolean virtualThreads) {
+        return new SpringApplicationBuilder(TaskBoardApplication.class)
+                .initializers(context -> context.getBeanFactory().addBeanPostProcessor(new SlowDataSourcePostProcessor()))
+                .properties(Map.of(
+                        "server.port", "0",
+                        "spring.threads.virtual.enabled", String.valueOf(virtualThreads),
+                        "spring.datasource.url", dataSourceProperties.determineUrl(),
+                        "spring.datasource.username", dataSourceProperties.determineUsername(),
+                        "spring.datasource.password", dataSourceProperties.determinePassword(),
+                        "spring.datasource.hikari.maximum-pool-size", String.valueOf(DB_POOL_SIZE),
+                        "spring.datasource.hikari.connection-timeout", "30s",
+                        "spring.liquibase.change-log", "classpath:db/db.changelog-test.xml",
+                        "taskboard.cluster.notifications.enabled", "false"))
+                .run();
+    }
+
+    private Results run(URI slowRead, URI cachedRead, Duration duration) throws Exception {
+        var httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        var deadline = System.nanoTime() + duration.toNanos();
+        var workers = new ArrayList<Future<Samples>>();
+        try (var clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (var i = 0; i < CLIENTS; i++) {
+                var uri = i % 2 == 0 ? slowRead : cachedRead;
+                workers.add(clients.submit(() -> client(httpClient, uri, deadline)));
+            }
+        }
+        var slow = new ArrayList<Samples>();
+        var cached = new ArrayList<Samples>();
+        for (var i = 0; i < workers.size(); i++) {
+            (i % 2 == 0 ? slow : cached).add(workers.get(i).get());
+        }
+        return new Results(Samples.merge(slow).summarize(duration), Samples.merge(cached).summarize(duration));
+    }
+
+    /**
+     * One closed-loop client: sends the next request as soon as the previous response arrived.
+     */
+    private static Samples client(HttpClient httpClient, URI uri, long deadline) {
+        var request = HttpRequest.newBuilder(uri)
+                .header("Authorization", AUTHORIZATION)
+                .timeout(Duration.ofSeconds(60))
+                .build();
+        var samples = new Samples();
+        while (System.nanoTime() < deadline) {
+            var start = System.nanoTime();
+            try {
+                var response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() == 200) {
+                    samples.add(System.nanoTime() - start);
+                } else {
+                    samples.errors++;
+                }
+            } catch (Exception e) {
+                samples.errors++;
+            }
+        }
+        return samples;
+    }
+
+    private Long seedBoard() {
+        jdbcTemplate.update("DELETE FROM task");
+        jdbcTemplate.update("DELETE FROM task_list");
+        var listId = jdbcTemplate.queryForObject(
+                "INSERT INTO task_list (name, created_at, updated_at) VALUES ('benchmark', now(), now()) RETURNING id",
+                Long.class);
+        jdbcTemplate.update("""
+                INSERT INTO task (list_id, name, description, created_at, updated_at)
+                SELECT ?, 'task-' || g, 'Benchmark task', now(), now() FROM generate_series(1, 100) g
+                """, listId);
+        return listId;
+    }
+
+    private static int intSetting(String name, int defaultValue) {
+        return Integer.parseInt(System.getenv().getOrDefault(name, String.valueOf(defaultValue)));
+    }
+
+    /**
+     * Makes the database slow: every connection handed out by the pool has just spent the configured delay in
+     * {@code pg_sleep}, while holding that connection.
+     */
+    private static class SlowDataSourcePostProcessor implements BeanPostProcessor {
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof DataSource dataSource)) {
+                return bean;
+            }
+            return new DelegatingDataSource(dataSource) {
+                @Override
+                public Connection getConnection() throws SQLException {
+                    var connection = super.getConnection();
+                    try (var statement = connection.createStatement()) {
+                        statement.execute("SELECT pg_sleep(" + DB_DELAY_MILLIS / 1000.0 + ")");
+                    }
+                    return connection;
+                }
+            };
+        }
+    }
+
+    private static class Samples {
+        private long[] latencies = new long[1024];
+        private int count;
+        private int errors;
+
+        void add(long nanos) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+        }
+
+        static Samples merge(List<Samples> all) {
+            var merged = new Samples();
+            all.forEach(samples -> {
+                for (var i = 0; i < samples.count; i++) {
+                    merged.add(samples.latencies[i]);
+                }
+                merged.errors += samples.errors;
+            });
+            return merged;
+        }
+
+        Summary summarize(Duration duration) {
+            var sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            return new Summary(count, count / (double) duration.toSeconds(), percentile(sorted, 0.50),
+                    percentile(sorted, 0.99), errors);
+        }
+
+        private static double percentile(long[] sortedNanos, double percentile) {
+            if (sortedNanos.length == 0) {
+                return Double.NaN;
+            }
+            var index = (int) Math.ceil(percentile * sortedNanos.length) - 1;
+            return sortedNanos[Math.max(index, 0)] / 1_000_000.0;
+        }
+    }
+
+    private record Summary(int requests, double throughput, double p50Millis, double p99Millis, int errors) {
+        String format(String threads, String read) {
+            return String.format("%-9s %-7s %10d %10.1f %10.2f %10.2f %8d%n",
+                    threads, read, requests, throughput, p50Millis, p99Millis, errors);
+        }
+    }
+
+    private record Results(Summary slow, Summary cached) {
+    }
+}
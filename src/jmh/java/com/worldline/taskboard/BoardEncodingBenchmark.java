@@ -0,0 +1,93 @@
+package com.worldline.taskboard;
+
+import com.worldline.taskboard.model.dtos.BoardPayload;
+import com.worldline.taskboard.model.entities.Task;
+import com.worldline.taskboard.model.entities.TaskList;
+import com.worldline.taskboard.model.json.BoardFormat;
+import com.worldline.taskboard.model.json.BoardJsonWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Bytes on the wire and encoding CPU of each representation of {@code GET /api/taskboard/lists} on a 100k task board,
+ * e.g. {@code ./gradlew jmh -Pjmh.includes=BoardEncoding}. The size of each representation is printed once per trial.
+ * <p>
+ * {@link #encode()} writes the rows straight into the format; {@link #fromJson()} derives the representation from the
+ * cached JSON, as the first response of a board version in that representation does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BoardEncodingBenchmark {
+
+    @Param({"JSON", "CBOR", "SMILE"})
+    private BoardFormat format;
+
+    @Param({"false", "true"})
+    private boolean gzip;
+
+    @Param({"1000"})
+    private int lists;
+
+    @Param({"100"})
+    private int tasksPerList;
+
+    private List<TaskList> taskLists;
+    private List<Task> tasks;
+    private byte[] json;
+
+    @Setup
+    public void setUp() throws IOException {
+        taskLists = BoardFixtures.taskLists(lists);
+        tasks = BoardFixtures.tasks(lists, tasksPerList);
+        json = BoardJsonWriter.toBytes(this::writeRows);
+        System.out.printf("%n%s%s, %d tasks: %d bytes on the wire%n", format, gzip ? "+gzip" : "", tasks.size(),
+                encode().length);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        var out = new ByteArrayOutputStream(json.length);
+        try (var body = gzip ? new GZIPOutputStream(out) : out;
+             var generator = format.factory().createGenerator(body)) {
+            var writer = BoardJsonWriter.array(generator);
+            writeRows(writer);
+            writer.finish();
+        }
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] fromJson() {
+        return new BoardPayload(1, 0, json).body(format, gzip);
+    }
+
+    private void writeRows(BoardJsonWriter writer) {
+        var taskIndex = 0;
+        for (var taskList : taskLists) {
+            writer.list(taskList.id(), taskList.name());
+            for (; taskIndex < tasks.size() && tasks.get(taskIndex).getListId().equals(taskList.id()); taskIndex++) {
+                var task = tasks.get(taskIndex);
+                writer.task(task.getId(), task.getName(), task.getDescription(), task.getVersion(), task.getRank());
+            }
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.worldline.taskboard;
+
+import com.worldline.taskboard.model.entities.Task;
+import com.worldline.taskboard.model.entities.TaskList;
+import com.worldline.taskboard.repository.TaskRankRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Deterministic boards for the benchmarks: {@code lists} lists with {@code tasksPerList} tasks each, ids ascending.
+ */
+final class BoardFixtures {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    private BoardFixtures() {
+    }
+
+    static List<TaskList> taskLists(int lists) {
+        var taskLists = new ArrayList<TaskList>(lists);
+        for (var listId = 1L; listId <= lists; listId++) {
+            taskLists.add(TaskList.builder()
+                    .id(listId)
+                    .name("list-" + listId)
+                    .createdAt(CREATED_AT)
+                    .updatedAt(CREATED_AT)
+                    .build());
+        }
+        return taskLists;
+    }
+
+    static List<Task> tasks(int lists, int tasksPerList) {
+        var tasks = new ArrayList<Task>(lists * tasksPerList);
+        var taskId = 1L;
+        for (var listId = 1L; listId <= lists; listId++) {
+            for (var i = 1; i <= tasksPerList; i++) {
+                tasks.add(Task.builder()
+                        .id(taskId++)
+                        .listId(listId)
+                        .name("list-" + listId + "-task-" + i)
+                        .description("A task description of typical length, written by a user of the board")
+                        .createdAt(CREATED_AT)
+                        .updatedAt(CREATED_AT)
+                        .version(1L)
+                        .rank(i * TaskRankRepository.RANK_GAP)
+                        .build());
+            }
+        }
+        return tasks;
+    }
+}
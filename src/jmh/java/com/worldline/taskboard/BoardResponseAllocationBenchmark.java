@@ -0,0 +1,118 @@
+package com.worldline.taskboard;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.worldline.taskboard.model.dtos.TaskDto;
+import com.worldline.taskboard.model.dtos.TaskListDto;
+import com.worldline.taskboard.model.entities.Task;
+import com.worldline.taskboard.model.entities.TaskList;
+import com.worldline.taskboard.model.json.BoardJsonWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bytes allocated per {@code GET /api/taskboard/lists} response, before and after writing the board JSON straight from
+ * the rows: compare {@code gc.alloc.rate.norm} (B/op) of the gc profiler, e.g.
+ * {@code ./gradlew jmh -Pjmh.includes=BoardResponseAllocation}.
+ * <p>
+ * The entities stand in for the rows of the board query, whose reading is the same on both paths. A cache miss maps
+ * and serializes the whole board; a cache hit sends what the cache holds, the DTOs before and the bytes after.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BoardResponseAllocationBenchmark {
+
+    @Param({"100", "1000"})
+    private int lists;
+
+    @Param({"10"})
+    private int tasksPerList;
+
+    private ObjectMapper objectMapper;
+    private List<TaskList> taskLists;
+    private List<Task> tasks;
+    private List<TaskListDto> cachedDtos;
+    private byte[] cachedJson;
+
+    @Setup
+    public void setUp() {
+        // Same module discovery as Spring Boot's auto-configured ObjectMapper
+        objectMapper = JsonMapper.builder().findAndAddModules().build();
+        taskLists = BoardFixtures.taskLists(lists);
+        tasks = BoardFixtures.tasks(lists, tasksPerList);
+        cachedDtos = mapDtos();
+        cachedJson = writeRows();
+    }
+
+    @Benchmark
+    public void dtosCacheMiss() throws IOException {
+        objectMapper.writeValue(OutputStream.nullOutputStream(), mapDtos());
+    }
+
+    @Benchmark
+    public void dtosCacheHit() throws IOException {
+        objectMapper.writeValue(OutputStream.nullOutputStream(), cachedDtos);
+    }
+
+    @Benchmark
+    public void rowsCacheMiss() throws IOException {
+        OutputStream.nullOutputStream().write(writeRows());
+    }
+
+    @Benchmark
+    public void rowsCacheHit() throws IOException {
+        OutputStream.nullOutputStream().write(cachedJson);
+    }
+
+    /**
+     * The mapping the board cache was filled with before: tasks grouped by list, then a DTO per list and per task.
+     */
+    private List<TaskListDto> mapDtos() {
+        var tasksByListId = new HashMap<Long, List<TaskDto>>();
+        tasks.forEach(task -> tasksByListId.computeIfAbsent(task.getListId(), listId -> new ArrayList<>())
+                .add(TaskDto.of(task)));
+        var taskListDtos = new ArrayList<TaskListDto>();
+        taskLists.forEach(taskList -> {
+            var taskListDto = TaskListDto.of(taskList);
+            taskListDto.setTasks(tasksByListId.getOrDefault(taskList.id(), List.of()));
+            taskListDtos.add(taskListDto);
+        });
+        return taskListDtos;
+    }
+
+    /**
+     * The rows in the order of the board query, lists by id with their tasks, written as they come.
+     */
+    private byte[] writeRows() {
+        return BoardJsonWriter.toBytes(writer -> {
+            var taskIndex = 0;
+            for (var taskList : taskLists) {
+                writer.list(taskList.id(), taskList.name());
+                for (; taskIndex < tasks.size() && tasks.get(taskIndex).getListId().equals(taskList.id()); taskIndex++) {
+                    var task = tasks.get(taskIndex);
+                    writer.task(task.getId(), task.getName(), task.getDescription(), task.getVersion(), task.getRank());
+                }
+            }
+        });
+    }
+}
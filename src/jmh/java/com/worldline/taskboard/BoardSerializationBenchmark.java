@@ -0,0 +1,71 @@
+package com.worldline.taskboard;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.worldline.taskboard.model.dtos.TaskDto;
+import com.worldline.taskboard.model.dtos.TaskListDto;
+import com.worldline.taskboard.model.entities.Task;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Jackson serialization of the full board payload of {@code GET /api/taskboard/lists}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BoardSerializationBenchmark {
+
+    @Param({"100", "1000"})
+    private int lists;
+
+    @Param({"10"})
+    private int tasksPerList;
+
+    private ObjectMapper objectMapper;
+    private List<TaskListDto> board;
+
+    @Setup
+    public void setUp() {
+        // Same module discovery as Spring Boot's auto-configured ObjectMapper
+        objectMapper = JsonMapper.builder().findAndAddModules().build();
+        var tasksByListId = BoardFixtures.tasks(lists, tasksPerList).stream()
+                .collect(Collectors.groupingBy(Task::getListId));
+        board = BoardFixtures.taskLists(lists).stream()
+                .map(taskList -> {
+                    var taskListDto = TaskListDto.of(taskList);
+                    taskListDto.setTasks(tasksByListId.get(taskList.id()).stream().map(TaskDto::of).toList());
+                    return taskListDto;
+                })
+                .toList();
+    }
+
+    @Benchmark
+    public byte[] writeValueAsBytes() throws IOException {
+        return objectMapper.writeValueAsBytes(board);
+    }
+
+    @Benchmark
+    public void writeValueToStream() throws IOException {
+        // The way the message converter writes the response: straight to the (here discarded) output stream
+        objectMapper.writeValue(OutputStream.nullOutputStream(), board);
+    }
+}
@@ -0,0 +1,65 @@
+package com.worldline.taskboard;
+
+import com.worldline.taskboard.model.dtos.TaskDto;
+import com.worldline.taskboard.model.dtos.TaskListDto;
+import com.worldline.taskboard.model.entities.Task;
+import com.worldline.taskboard.model.entities.TaskList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping as done for every task of every board read.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DtoMappingBenchmark {
+
+    @Param({"100", "10000"})
+    private int tasks;
+
+    private List<TaskList> taskLists;
+    private List<Task> taskEntities;
+
+    @Setup
+    public void setUp() {
+        taskLists = BoardFixtures.taskLists(tasks / 10);
+        taskEntities = BoardFixtures.tasks(tasks / 10, 10);
+    }
+
+    @Benchmark
+    public void taskDtoOf(Blackhole blackhole) {
+        for (var task : taskEntities) {
+            blackhole.consume(TaskDto.of(task));
+        }
+    }
+
+    @Benchmark
+    public void taskListDtoOf(Blackhole blackhole) {
+        for (var taskList : taskLists) {
+            blackhole.consume(TaskListDto.of(taskList));
+        }
+    }
+
+    @Benchmark
+    public List<TaskDto> taskDtoOfStream() {
+        // The shape used by the service: map a list's tasks with a stream
+        return taskEntities.stream().map(TaskDto::of).toList();
+    }
+}
@@ -0,0 +1,107 @@
+package com.worldline.taskboard;
+
+import com.worldline.taskboard.model.entities.Task;
+import com.worldline.taskboard.model.entities.TaskList;
+import com.worldline.taskboard.repository.BoardVersionRepository;
+import com.worldline.taskboard.repository.TaskListRepository;
+import com.worldline.taskboard.repository.TaskRepository;
+
+import java.lang.reflect.Proxy;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Map-backed stand-ins for the Spring Data repositories, so that the service benchmarks measure the service and not
+ * the database. Only the repository methods the service calls are implemented; anything else fails loudly, which
+ * keeps a benchmark from silently measuring a no-op after the service starts using a new query.
+ */
+final class InMemoryRepositories {
+
+    private final TreeMap<Long, TaskList> taskLists = new TreeMap<>();
+    private final TreeMap<Long, Task> tasks = new TreeMap<>();
+    private final Map<Long, TreeMap<Long, Task>> tasksByListId = new HashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    InMemoryRepositories(List<TaskList> taskLists, List<Task> tasks) {
+        taskLists.forEach(taskList -> this.taskLists.put(taskList.id(), taskList));
+        tasks.forEach(this::save);
+        sequence.set(Math.max(this.taskLists.isEmpty() ? 0 : this.taskLists.lastKey(),
+                this.tasks.isEmpty() ? 0 : this.tasks.lastKey()));
+    }
+
+    TaskListRepository taskListRepository() {
+        return repository(TaskListRepository.class, Map.of(
+                "findAll", args -> List.copyOf(taskLists.values()),
+                "findById", args -> Optional.ofNullable(taskLists.get((Long) args[0])),
+                "existsById", args -> taskLists.containsKey((Long) args[0]),
+                "findByName", args -> taskLists.values().stream()
+                        .filter(taskList -> taskList.name().equals(args[0]))
+                        .findFirst(),
+                "findPageAfterId", args -> taskLists.tailMap((Long) args[0], false).values().stream()
+                        .limit((Integer) args[1])
+                        .toList()));
+    }
+
+    TaskRepository taskRepository() {
+        return repository(TaskRepository.class, Map.of(
+                "findById", args -> Optional.ofNullable(tasks.get((Long) args[0])),
+                "findAllAssignedOrderByListId", args -> tasks.values().stream()
+                        .filter(task -> task.getListId() != null)
+                        .sorted(Comparator.comparing(Task::getListId).thenComparing(Task::getId))
+                        .toList(),
+                "findAllByListIds", args -> ((Collection<?>) args[0]).stream()
+                        .sorted()
+                        .flatMap(listId -> tasksOfList((Long) listId).values().stream())
+                        .toList(),
+                "findPageByListIdAfterId", args -> tasksOfList((Long) args[0]).tailMap((Long) args[1], false).values()
+                        .stream()
+                        .limit((Integer) args[2])
+                        .toList(),
+                "save", args -> save((Task) args[0])));
+    }
+
+    BoardVersionRepository boardVersionRepository() {
+        return new BoardVersionRepository(null) {
+            @Override
+            public long currentVersion() {
+                return sequence.get();
+            }
+        };
+    }
+
+    private TreeMap<Long, Task> tasksOfList(Long listId) {
+        return tasksByListId.getOrDefault(listId, new TreeMap<>());
+    }
+
+    private Task save(Task task) {
+        var saved = task.getId() == null ? task.toBuilder().id(sequence.incrementAndGet()).build() : task;
+        tasks.put(saved.getId(), saved);
+        tasksByListId.computeIfAbsent(saved.getListId(), listId -> new TreeMap<>()).put(saved.getId(), saved);
+        return saved;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T repository(Class<T> type, Map<String, Function<Object[], Object>> methods) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                return switch (method.getName()) {
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> "InMemory" + type.getSimpleName();
+                };
+            }
+            var implementation = methods.get(method.getName());
+            if (implementation == null) {
+                throw new UnsupportedOperationException(type.getSimpleName() + "." + method.getName());
+            }
+            return implementation.apply(args);
+        });
+    }
+}
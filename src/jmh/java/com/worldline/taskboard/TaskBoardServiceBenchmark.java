@@ -0,0 +1,81 @@
+package com.worldline.taskboard;
+
+import com.worldline.taskboard.model.dtos.PageDto;
+import com.worldline.taskboard.model.dtos.TaskDetailsDto;
+import com.worldline.taskboard.model.dtos.TaskDto;
+import com.worldline.taskboard.model.dtos.TaskListDto;
+import com.worldline.taskboard.service.TaskBoardCache;
+import com.worldline.taskboard.service.TaskBoardServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cache.support.NoOpCacheManager;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link TaskBoardServiceImpl} against in-memory repositories and without caching, i.e. the CPU and allocation cost
+ * the service adds on top of the database round trips.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskBoardServiceBenchmark {
+
+    private static final int TASKS_PER_LIST = 10;
+    private static final int PAGE_SIZE = 100;
+
+    @Param({"100", "1000"})
+    private int lists;
+
+    private TaskBoardServiceImpl taskBoardService;
+    private String listName;
+    private long nextTaskName;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        // Fresh board per iteration, so that addTaskToList does not measure an ever growing board
+        var repositories = new InMemoryRepositories(BoardFixtures.taskLists(lists),
+                BoardFixtures.tasks(lists, TASKS_PER_LIST));
+        taskBoardService = new TaskBoardServiceImpl(repositories.taskListRepository(),
+                repositories.taskRepository(), null, null, repositories.boardVersionRepository(), new TaskBoardCache(new NoOpCacheManager()), event -> {
+        });
+        listName = "list-" + lists / 2;
+    }
+
+    @Benchmark
+    public List<TaskListDto> getAllLists() {
+        return taskBoardService.getAllLists();
+    }
+
+    @Benchmark
+    public PageDto<TaskListDto> getListsPage() {
+        return taskBoardService.getListsPage(0L, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public PageDto<TaskDto> getTasksPage() {
+        return taskBoardService.getTasksPage((long) lists / 2, 0L, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public void addTaskToList() {
+        taskBoardService.addTaskToList(listName, TaskDetailsDto.builder()
+                .name("benchmark-task-" + nextTaskName++)
+                .description("Added by the benchmark")
+                .build());
+    }
+}
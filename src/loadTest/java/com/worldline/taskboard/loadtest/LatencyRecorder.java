@@ -0,0 +1,46 @@
+package com.worldline.taskboard.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies of one operation, recorded twice:
+ * <ul>
+ *     <li>{@code responseTime} is measured from the moment the request was <em>scheduled</em> to be sent. A stalled
+ *     server delays every request queued behind it, and this is the latency those users see. It is the
+ *     coordinated-omission-corrected result.</li>
+ *     <li>{@code serviceTime} is measured from the moment the request was actually sent, as most naive load generators
+ *     do. The gap between the two shows how much a naive measurement would hide.</li>
+ * </ul>
+ */
+class LatencyRecorder {
+
+    private static final long MAX_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(5);
+
+    private final Histogram responseTime = new ConcurrentHistogram(MAX_TRACKABLE_NANOS, 3);
+    private final Histogram serviceTime = new ConcurrentHistogram(MAX_TRACKABLE_NANOS, 3);
+    private final LongAdder errors = new LongAdder();
+
+    void record(long intendedStartNanos, long actualStartNanos, long endNanos, boolean success) {
+        responseTime.recordValue(Math.min(endNanos - intendedStartNanos, MAX_TRACKABLE_NANOS));
+        serviceTime.recordValue(Math.min(endNanos - actualStartNanos, MAX_TRACKABLE_NANOS));
+        if (!success) {
+            errors.increment();
+        }
+    }
+
+    Histogram responseTime() {
+        return responseTime;
+    }
+
+    Histogram serviceTime() {
+        return serviceTime;
+    }
+
+    long errors() {
+        return errors.sum();
+    }
+}
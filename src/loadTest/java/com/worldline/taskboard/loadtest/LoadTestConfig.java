@@ -0,0 +1,57 @@
+package com.worldline.taskboard.loadtest;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Load test settings, read from {@code loadTest.*} system properties (the Gradle task forwards {@code -PloadTest.*}).
+ *
+ * @param baseUrl      an already running instance to test; when empty the runner boots one against a Postgres container
+ * @param rate         requests per second, started at a fixed rate regardless of how fast the responses come back
+ * @param warmup       duration of the unrecorded warm-up phase
+ * @param duration     duration of the recorded phase
+ * @param mix          relative weight of every operation
+ * @param lists        lists seeded before the run
+ * @param tasksPerList tasks seeded per list
+ * @param seed         seed of the operation and target choice, so that runs are repeatable
+ * @param reportDir    where the reports are written
+ */
+record LoadTestConfig(String baseUrl,
+                      int rate,
+                      Duration warmup,
+                      Duration duration,
+                      Map<Operation, Integer> mix,
+                      int lists,
+                      int tasksPerList,
+                      long seed,
+                      String reportDir) {
+
+    private static final String DEFAULT_MIX =
+            "getAllLists=60,addTaskToList=10,updateTask=10,moveTaskToList=8,deleteTask=6,createList=3,deleteList=3";
+
+    static LoadTestConfig fromSystemProperties() {
+        return new LoadTestConfig(
+                System.getProperty("loadTest.baseUrl", ""),
+                Integer.getInteger("loadTest.rate", 200),
+                Duration.parse(System.getProperty("loadTest.warmup", "PT10S")),
+                Duration.parse(System.getProperty("loadTest.duration", "PT60S")),
+                parseMix(System.getProperty("loadTest.mix", DEFAULT_MIX)),
+                Integer.getInteger("loadTest.lists", 50),
+                Integer.getInteger("loadTest.tasksPerList", 40),
+                Long.getLong("loadTest.seed", 42L),
+                System.getProperty("loadTest.reportDir", "build/reports/loadtest"));
+    }
+
+    private static Map<Operation, Integer> parseMix(String mix) {
+        return Arrays.stream(mix.split(","))
+                .map(entry -> entry.trim().split("="))
+                .collect(Collectors.toMap(
+                        entry -> Operation.fromKey(entry[0].trim()),
+                        entry -> Integer.parseInt(entry[1].trim()),
+                        (first, second) -> second,
+                        LinkedHashMap::new));
+    }
+}
@@ -0,0 +1,84 @@
+package com.worldline.taskboard.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Machine-readable result of one run: {@code summary.json} with the settings and per-operation percentiles, plus one
+ * HdrHistogram percentile distribution ({@code <operation>.hgrm}) per operation for plotting. Latencies are in
+ * milliseconds.
+ */
+@Slf4j
+record LoadTestReport(Instant finishedAt,
+                      String target,
+                      LoadTestConfig config,
+                      Map<String, OperationResult> operations) {
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    static LoadTestReport of(LoadTestConfig config, String target, Map<Operation, LatencyRecorder> recorders) {
+        var operations = new LinkedHashMap<String, OperationResult>();
+        recorders.forEach((operation, recorder) -> operations.put(operation.key(), new OperationResult(
+                recorder.responseTime().getTotalCount(),
+                recorder.errors(),
+                recorder.responseTime().getTotalCount() / (double) config.duration().toSeconds(),
+                Percentiles.of(recorder.responseTime()),
+                Percentiles.of(recorder.serviceTime()))));
+        return new LoadTestReport(Instant.now(), target, config, operations);
+    }
+
+    void write(ObjectMapper objectMapper, Path reportDir, Map<Operation, LatencyRecorder> recorders)
+            throws IOException {
+        Files.createDirectories(reportDir);
+        objectMapper.writeValue(reportDir.resolve("summary.json").toFile(), this);
+        for (var entry : recorders.entrySet()) {
+            try (var out = new PrintStream(Files.newOutputStream(reportDir.resolve(entry.getKey().key() + ".hgrm")))) {
+                entry.getValue().responseTime().outputPercentileDistribution(out, NANOS_PER_MILLI);
+            }
+        }
+    }
+
+    void log() {
+        var table = new StringBuilder(String.format("%n%-16s %9s %7s %9s %10s %10s %10s %10s%n",
+                "operation", "requests", "errors", "req/s", "p50 (ms)", "p99 (ms)", "p99.9 (ms)", "max (ms)"));
+        operations.forEach((operation, result) -> table.append(String.format("%-16s %9d %7d %9.1f %10.2f %10.2f %10.2f %10.2f%n",
+                operation, result.requests(), result.errors(), result.throughput(), result.responseTime().p50(),
+                result.responseTime().p99(), result.responseTime().p999(), result.responseTime().max())));
+        log.info("Response times (from intended start, {} requests/s):{}", config.rate(), table);
+    }
+
+    /**
+     * @param responseTime latency from the scheduled start of each request, corrected for coordinated omission
+     * @param serviceTime  latency from the actual start of each request
+     */
+    record OperationResult(long requests,
+                           long errors,
+                           double throughput,
+                           Percentiles responseTime,
+                           Percentiles serviceTime) {
+    }
+
+    record Percentiles(double p50, double p90, double p99, double p999, double max) {
+        static Percentiles of(Histogram histogram) {
+            return new Percentiles(
+                    millis(histogram.getValueAtPercentile(50)),
+                    millis(histogram.getValueAtPercentile(90)),
+                    millis(histogram.getValueAtPercentile(99)),
+                    millis(histogram.getValueAtPercentile(99.9)),
+                    millis(histogram.getMaxValue()));
+        }
+
+        private static double millis(long nanos) {
+            return nanos / NANOS_PER_MILLI;
+        }
+    }
+}
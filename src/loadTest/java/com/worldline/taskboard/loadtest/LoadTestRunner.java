@@ -0,0 +1,156 @@
+package com.worldline.taskboard.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.worldline.taskboard.TaskBoardApplication;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives a mix of {@code TaskBoardController} endpoints at a fixed arrival rate and writes latency reports to
+ * {@code build/reports/loadtest}. Run it with {@code ./gradlew loadTest}; see {@link LoadTestConfig} for the settings.
+ * <p>
+ * Requests are started on schedule, {@code 1 / rate} apart, whether or not earlier requests have completed. The
+ * generator never waits for a slow server, so it does not hide stalls by sending fewer requests (coordinated omission).
+ */
+@Slf4j
+public final class LoadTestRunner {
+
+    private static final String USERNAME = "admin";
+    private static final String PASSWORD = "password";
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        var config = LoadTestConfig.fromSystemProperties();
+        var objectMapper = JsonMapper.builder()
+                .findAndAddModules()
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .build();
+
+        if (!config.baseUrl().isEmpty()) {
+            run(config, objectMapper, config.baseUrl(), "external");
+            return;
+        }
+        try (var postgres = new PostgreSQLContainer<>("postgres:16-alpine")
+                .withDatabaseName("taskboard")
+                .withUsername("postgres")
+                .withPassword("postgres")) {
+            postgres.start();
+            try (var application = startApplication(postgres)) {
+                var port = ((WebServerApplicationContext) application).getWebServer().getPort();
+                run(config, objectMapper, "http://localhost:" + port, "embedded");
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext startApplication(PostgreSQLContainer<?> postgres) {
+        return new SpringApplicationBuilder(TaskBoardApplication.class)
+                .properties(Map.of(
+                        "server.port", "0",
+                        "spring.datasource.url", postgres.getJdbcUrl(),
+                        "spring.datasource.username", postgres.getUsername(),
+                        "spring.datasource.password", postgres.getPassword(),
+                        "spring.security.user.name", USERNAME,
+                        "spring.security.user.password", PASSWORD,
+                        "logging.level.com.worldline.taskboard", "WARN"))
+                .run();
+    }
+
+    private static void run(LoadTestConfig config, ObjectMapper objectMapper, String baseUrl, String target)
+            throws Exception {
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            var httpClient = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .executor(executor)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+            var workload = new TaskBoardWorkload(httpClient, objectMapper, baseUrl, USERNAME, PASSWORD);
+            log.info("Seeding {} lists with {} tasks each", config.lists(), config.tasksPerList());
+            workload.seed(config.lists(), config.tasksPerList());
+
+            var random = new Random(config.seed());
+            log.info("Warming up for {} at {} requests/s", config.warmup(), config.rate());
+            drive(config, config.warmup(), workload, httpClient, random);
+            log.info("Measuring for {} at {} requests/s", config.duration(), config.rate());
+            var recorders = drive(config, config.duration(), workload, httpClient, random);
+
+            var report = LoadTestReport.of(config, target, recorders);
+            var reportDir = Path.of(config.reportDir());
+            report.write(objectMapper, reportDir, recorders);
+            log.info("Load test report written to {}", reportDir.toAbsolutePath());
+            report.log();
+        }
+    }
+
+    /**
+     * Starts one request every {@code 1 / rate} for {@code duration}, then waits for the stragglers.
+     */
+    private static Map<Operation, LatencyRecorder> drive(LoadTestConfig config, Duration duration,
+                                                         TaskBoardWorkload workload, HttpClient httpClient,
+                                                         Random random) throws InterruptedException {
+        var recorders = new EnumMap<Operation, LatencyRecorder>(Operation.class);
+        config.mix().keySet().forEach(operation -> recorders.put(operation, new LatencyRecorder()));
+        var totalWeight = config.mix().values().stream().mapToInt(Integer::intValue).sum();
+        var intervalNanos = TimeUnit.SECONDS.toNanos(1) / config.rate();
+        var requests = duration.toNanos() / intervalNanos;
+
+        try (var inFlight = Executors.newVirtualThreadPerTaskExecutor()) {
+            var start = System.nanoTime();
+            for (var i = 0; i < requests; i++) {
+                var intendedStart = start + i * intervalNanos;
+                var delay = intendedStart - System.nanoTime();
+                if (delay > 0) {
+                    LockSupport.parkNanos(delay);
+                }
+                var operation = choose(config.mix(), totalWeight, random);
+                var request = workload.next(operation, random);
+                if (request == null) {
+                    continue;
+                }
+                var recorder = recorders.get(operation);
+                inFlight.submit(() -> {
+                    var actualStart = System.nanoTime();
+                    var success = false;
+                    try {
+                        var response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+                        success = response.statusCode() < 300;
+                        workload.onResponse(operation, response);
+                    } catch (Exception e) {
+                        log.debug("{} failed", operation.key(), e);
+                    } finally {
+                        recorder.record(intendedStart, actualStart, System.nanoTime(), success);
+                    }
+                });
+            }
+        }
+        return recorders;
+    }
+
+    private static Operation choose(Map<Operation, Integer> mix, int totalWeight, Random random) {
+        var pick = random.nextInt(totalWeight);
+        for (var entry : mix.entrySet()) {
+            pick -= entry.getValue();
+            if (pick < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("Empty operation mix");
+    }
+}
@@ -0,0 +1,33 @@
+package com.worldline.taskboard.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * The {@code TaskBoardController} endpoints driven by the load test, named after the controller methods in the mix.
+ */
+enum Operation {
+    GET_ALL_LISTS("getAllLists"),
+    CREATE_LIST("createList"),
+    ADD_TASK_TO_LIST("addTaskToList"),
+    UPDATE_TASK("updateTask"),
+    MOVE_TASK_TO_LIST("moveTaskToList"),
+    DELETE_TASK("deleteTask"),
+    DELETE_LIST("deleteList");
+
+    private final String key;
+
+    Operation(String key) {
+        this.key = key;
+    }
+
+    String key() {
+        return key;
+    }
+
+    static Operation fromKey(String key) {
+        return Arrays.stream(values())
+                .filter(operation -> operation.key.equals(key))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown operation '" + key + "' in loadTest.mix"));
+    }
+}
@@ -0,0 +1,154 @@
+package com.worldline.taskboard.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Seeds a board over the API and then turns {@link Operation}s into HTTP requests against it.
+ * <p>
+ * The seeded tasks are split in two: tasks that are only updated and moved, so those operations always find their
+ * target, and tasks that {@code deleteTask} consumes. {@code deleteList} only deletes lists made by {@code createList}.
+ */
+class TaskBoardWorkload {
+
+    private static final String API = "/api/taskboard";
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final String baseUrl;
+    private final String authorization;
+
+    private final List<Long> seededListIds = new ArrayList<>();
+    private final List<String> seededListNames = new ArrayList<>();
+    private final List<Long> stableTaskIds = new ArrayList<>();
+    private final ConcurrentLinkedQueue<Long> disposableTaskIds = new ConcurrentLinkedQueue<>();
+    private final ConcurrentLinkedQueue<Long> createdListIds = new ConcurrentLinkedQueue<>();
+    private final AtomicLong names = new AtomicLong();
+
+    TaskBoardWorkload(HttpClient httpClient, ObjectMapper objectMapper, String baseUrl, String username, String password) {
+        this.httpClient = httpClient;
+        this.objectMapper = objectMapper;
+        this.baseUrl = baseUrl;
+        this.authorization = "Basic " + Base64.getEncoder()
+                .encodeToString((username + ":" + password).getBytes(StandardCharsets.UTF_8));
+    }
+
+    void seed(int lists, int tasksPerList) throws IOException, InterruptedException {
+        for (var i = 0; i < lists; i++) {
+            var listName = "load-list-" + System.nanoTime() + "-" + i;
+            var created = send(request("/lists?taskListName=" + encode(listName))
+                    .POST(HttpRequest.BodyPublishers.noBody()));
+            var listId = objectMapper.readTree(created.body()).get("listId").asLong();
+
+            var tasks = new StringBuilder();
+            for (var t = 0; t < tasksPerList; t++) {
+                tasks.append(objectMapper.writeValueAsString(Map.of(
+                        "name", listName + "-task-" + t,
+                        "description", "Seeded by the load test"))).append('\n');
+            }
+            send(request("/lists/" + encode(listName) + "/tasks:batch")
+                    .header("Content-Type", "application/x-ndjson")
+                    .POST(HttpRequest.BodyPublishers.ofString(tasks.toString())));
+
+            var page = objectMapper.readTree(send(request("/lists/" + listId + "/tasks?limit=500").GET()).body());
+            var index = 0;
+            for (JsonNode task : page.get("items")) {
+                (index++ % 2 == 0 ? stableTaskIds : disposableTaskIds).add(task.get("taskId").asLong());
+            }
+            seededListIds.add(listId);
+            seededListNames.add(listName);
+        }
+    }
+
+    /**
+     * Builds the request for {@code operation}, or returns {@code null} when the workload has no target left for it
+     * (e.g. every disposable task has been deleted).
+     */
+    HttpRequest next(Operation operation, Random random) {
+        return switch (operation) {
+            case GET_ALL_LISTS -> request("/lists").GET().build();
+            case CREATE_LIST -> request("/lists?taskListName=" + encode("load-created-" + names.incrementAndGet()))
+                    .POST(HttpRequest.BodyPublishers.noBody())
+                    .build();
+            case ADD_TASK_TO_LIST -> request("/lists/" + encode(pick(seededListNames, random)) + "/tasks")
+                    .header("Content-Type", "application/json")
+                    .POST(json(Map.of("name", "load-added-" + names.incrementAndGet(), "description", "Added")))
+                    .build();
+            case UPDATE_TASK -> request("/tasks/" + pick(stableTaskIds, random))
+                    .header("Content-Type", "application/json")
+                    .PUT(json(Map.of("name", "load-updated-" + names.incrementAndGet(), "description", "Updated")))
+                    .build();
+            case MOVE_TASK_TO_LIST -> request("/tasks/" + pick(stableTaskIds, random) + "/move/" + pick(seededListIds, random))
+                    .PUT(HttpRequest.BodyPublishers.noBody())
+                    .build();
+            case DELETE_TASK -> {
+                var taskId = disposableTaskIds.poll();
+                yield taskId == null ? null : request("/tasks/" + taskId).DELETE().build();
+            }
+            case DELETE_LIST -> {
+                var listId = createdListIds.poll();
+                yield listId == null ? null : request("/lists/" + listId).DELETE().build();
+            }
+        };
+    }
+
+    /**
+     * Keeps track of what the response created, so that later operations can target it.
+     */
+    void onResponse(Operation operation, HttpResponse<String> response) {
+        if (operation == Operation.CREATE_LIST && response.statusCode() == 201) {
+            try {
+                createdListIds.add(objectMapper.readTree(response.body()).get("listId").asLong());
+            } catch (IOException e) {
+                throw new IllegalStateException("Unexpected createList response: " + response.body(), e);
+            }
+        }
+    }
+
+    private HttpResponse<String> send(HttpRequest.Builder request) throws IOException, InterruptedException {
+        var response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() >= 300) {
+            throw new IllegalStateException("Seeding failed with " + response.statusCode() + ": " + response.body());
+        }
+        return response;
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + API + path))
+                .header("Authorization", authorization)
+                .timeout(REQUEST_TIMEOUT);
+    }
+
+    private HttpRequest.BodyPublisher json(Object body) {
+        try {
+            return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static <T> T pick(List<T> values, Random random) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8).replace("+", "%20");
+    }
+}
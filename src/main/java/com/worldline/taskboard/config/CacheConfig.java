@@ -0,0 +1,12 @@
+package com.worldline.taskboard.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Enables Spring Boot's cache auto-configuration; the caches themselves are configured through {@code spring.cache.*}.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+}
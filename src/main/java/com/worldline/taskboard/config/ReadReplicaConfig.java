@@ -0,0 +1,72 @@
+package com.worldline.taskboard.config;
+
+import com.worldline.taskboard.datasource.ReadReplicas;
+import com.worldline.taskboard.datasource.Replica;
+import com.worldline.taskboard.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replaces the auto-configured data source with a {@link ReplicaRoutingDataSource} when
+ * {@code taskboard.replicas.enabled} is set. The primary is configured through {@code spring.datasource.*} as before;
+ * the replicas are listed in {@code taskboard.replicas.urls} and share its credentials and {@code hikari} settings.
+ */
+@Configuration
+@ConditionalOnProperty(value = "taskboard.replicas.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    private static final String HIKARI_PROPERTIES = "spring.datasource.hikari";
+
+    @Bean(destroyMethod = "close")
+    public ReadReplicas readReplicas(DataSourceProperties dataSourceProperties,
+                                     Environment environment,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${taskboard.replicas.urls}") List<String> urls) {
+        if (urls.isEmpty()) {
+            throw new IllegalStateException("taskboard.replicas.enabled is set, but no taskboard.replicas.urls");
+        }
+        var binder = Binder.get(environment);
+        var primary = pool("primary", dataSourceProperties.determineUrl(), dataSourceProperties, binder,
+                meterRegistry);
+        var replicas = new ArrayList<Replica>();
+        for (var i = 0; i < urls.size(); i++) {
+            var name = "replica-" + (i + 1);
+            replicas.add(new Replica(name, pool(name, urls.get(i), dataSourceProperties, binder, meterRegistry)));
+        }
+        return new ReadReplicas(primary, replicas);
+    }
+
+    @Bean
+    public DataSource dataSource(ReadReplicas readReplicas) {
+        // Defers fetching the connection to the first statement, when the transaction is known to be read-only
+        return new LazyConnectionDataSourceProxy(
+                new ReplicaRoutingDataSource(readReplicas.primary(), readReplicas.replicas()));
+    }
+
+    private static HikariDataSource pool(String name, String url, DataSourceProperties dataSourceProperties,
+                                         Binder binder, MeterRegistry meterRegistry) {
+        var pool = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .url(url)
+                .build();
+        binder.bind(HIKARI_PROPERTIES, Bindable.ofInstance(pool));
+        pool.setPoolName(name);
+        // The pools are not beans, so the hikaricp_connections_* metrics are not bound automatically
+        pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        return pool;
+    }
+}
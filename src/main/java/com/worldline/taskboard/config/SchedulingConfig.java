@@ -0,0 +1,13 @@
+package com.worldline.taskboard.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables {@link org.springframework.scheduling.annotation.Scheduled @Scheduled} housekeeping, such as pruning the
+ * board change log; the scheduler pool is configured through {@code spring.task.scheduling.*}.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
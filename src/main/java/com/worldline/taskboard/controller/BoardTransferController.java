@@ -0,0 +1,57 @@
+package com.worldline.taskboard.controller;
+
+import com.worldline.taskboard.model.dtos.BoardImportResultDto;
+import com.worldline.taskboard.service.BoardTransferService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.InputStream;
+
+@RestController
+@RequestMapping("/api/taskboard/admin/board")
+@RequiredArgsConstructor
+public class BoardTransferController {
+
+    static final String APPLICATION_ZIP_VALUE = "application/zip";
+    static final String EXPORT_FILE_NAME = "taskboard-export.zip";
+
+    private final BoardTransferService boardTransferService;
+
+    @GetMapping(value = "/export", produces = APPLICATION_ZIP_VALUE)
+    @Operation(summary = "Export the whole board",
+            description = "Stream all lists and tasks as a zip archive of CSV files, copied straight from the database")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Board archive")
+    })
+    public ResponseEntity<StreamingResponseBody> exportBoard() {
+        StreamingResponseBody body = boardTransferService::exportBoard;
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(APPLICATION_ZIP_VALUE))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(EXPORT_FILE_NAME).build().toString())
+                .body(body);
+    }
+
+    @PostMapping(value = "/import", consumes = APPLICATION_ZIP_VALUE)
+    @Operation(summary = "Import a board archive",
+            description = "Add all lists and tasks of an exported board archive with new ids, keeping their timestamps")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Board imported"),
+            @ApiResponse(responseCode = "403", description = "A task list or task of the archive already exists"),
+            @ApiResponse(responseCode = "400", description = "Invalid request")
+    })
+    public BoardImportResultDto importBoard(InputStream body) {
+        return boardTransferService.importBoard(body);
+    }
+}
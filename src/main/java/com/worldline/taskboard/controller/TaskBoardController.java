@@ -1,36 +1,228 @@
 package com.worldline.taskboard.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.worldline.taskboard.metrics.QueryBudget;
+import com.worldline.taskboard.model.dtos.BatchImportResultDto;
+import com.worldline.taskboard.model.dtos.BoardChangesDto;
+import com.worldline.taskboard.model.dtos.BoardPayload;
+import com.worldline.taskboard.model.dtos.PageDto;
+import com.worldline.taskboard.model.dtos.TaskBatchResultDto;
+import com.worldline.taskboard.model.dtos.TaskDto;
 import com.worldline.taskboard.model.dtos.TaskListDto;
 import com.worldline.taskboard.model.dtos.TaskDetailsDto;
+import com.worldline.taskboard.model.dtos.TaskOperationDto;
+import com.worldline.taskboard.model.dtos.TaskPositionDto;
+import com.worldline.taskboard.model.dtos.TaskSearchResultDto;
+import com.worldline.taskboard.model.json.BoardFormat;
+import com.worldline.taskboard.model.json.BoardJsonWriter;
+import com.worldline.taskboard.service.BoardEventBroadcaster;
+import com.worldline.taskboard.service.BoardSyncService;
+import com.worldline.taskboard.service.TaskBatchService;
 import com.worldline.taskboard.service.TaskBoardService;
+import com.worldline.taskboard.service.TaskImportService;
+import com.worldline.taskboard.service.TaskListPurgeService;
+import com.worldline.taskboard.service.TaskSearchService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
+import java.util.regex.Pattern;
 
 @RestController
 @RequestMapping("/api/taskboard")
 @RequiredArgsConstructor
 public class TaskBoardController {
+    static final String DEFAULT_PAGE_SIZE = "100";
+    static final int MAX_PAGE_SIZE = 500;
+    static final String LAST_EVENT_ID = "Last-Event-ID";
+    static final String GZIP = "gzip";
+    static final String INVALID_IF_MATCH_MESSAGE = "If-Match must be a single strong entity tag of the task, e.g. \"3\"";
+    private static final Pattern NO_QUALITY = Pattern.compile("q=0(\\.0{0,3})?");
+
     private final TaskBoardService taskBoardService;
+    private final TaskImportService taskImportService;
+    private final TaskBatchService taskBatchService;
+    private final TaskListPurgeService taskListPurgeService;
+    private final TaskSearchService taskSearchService;
+    private final BoardSyncService boardSyncService;
+    private final BoardEventBroadcaster boardEventBroadcaster;
+    private final ObjectMapper objectMapper;
+
+    @Value("${server.compression.enabled:false}")
+    private boolean compressionEnabled;
+
+    @Value("${server.compression.min-response-size:2KB}")
+    private DataSize compressionMinResponseSize;
+
+    @GetMapping(value = "/lists",
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, BoardFormat.APPLICATION_SMILE_VALUE})
+    @QueryBudget(3) // board version check, then board version and one LEFT JOIN of the lists with all their tasks
+    @Operation(summary = "Get all Task lists", description = "Retrieve all lists with their tasks, as JSON or, depending "
+            + "on Accept, as CBOR or Smile, gzipped when accepted. The response carries the board version as ETag; send "
+            + "it back in If-None-Match to get 304 as long as the board is unchanged")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved lists",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            array = @ArraySchema(schema = @Schema(implementation = TaskListDto.class)))),
+            @ApiResponse(responseCode = "304", description = "The board has not changed since the given ETag")
+    })
+    public ResponseEntity<byte[]> getAllLists(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        var format = negotiateFormat(accept);
+        var gzipAccepted = compressionEnabled && acceptsGzip(acceptEncoding);
+        // Compare against the version alone first: an unchanged board is neither loaded nor serialized. Whether the body
+        // would have been gzipped depends on its size, so both entity tags of the format are current
+        var currentEtag = taskBoardService.getBoardEtag();
+        var plainEtag = BoardPayload.etag(currentEtag, format, false);
+        var gzipEtag = BoardPayload.etag(currentEtag, format, true);
+        if (matches(ifNoneMatch, plainEtag) || gzipAccepted && matches(ifNoneMatch, gzipEtag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(gzipAccepted && matches(ifNoneMatch, gzipEtag) ? gzipEtag : plainEtag)
+                    .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+        // Serialized, encoded and compressed once per board version: responses of the same version send the same bytes
+        var board = taskBoardService.getBoardPayload();
+        var body = board.body(format, false);
+        var gzip = gzipAccepted && body.length >= compressionMinResponseSize.toBytes();
+        var response = ResponseEntity.ok()
+                .eTag(BoardPayload.etag(board.etag(), format, gzip))
+                .contentType(format.mediaType())
+                .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, GZIP);
+            body = board.body(format, true);
+        }
+        return response.body(body);
+    }
+
+    @GetMapping("/lists/page")
+    @QueryBudget(2) // one page of lists, then their tasks
+    @Operation(summary = "Get a page of Task lists",
+            description = "Retrieve up to 'limit' lists with their tasks, ordered by id, starting after 'afterListId'")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved lists"),
+            @ApiResponse(responseCode = "400", description = "Invalid request")
+    })
+    public PageDto<TaskListDto> getListsPage(
+            @RequestParam(defaultValue = "0") @PositiveOrZero Long afterListId,
+            @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) @Min(1) @Max(MAX_PAGE_SIZE) int limit) {
+        return taskBoardService.getListsPage(afterListId, limit);
+    }
+
+    @GetMapping("/lists/{listId}/tasks")
+    @QueryBudget(2) // the page, plus the existence check of the list when it is empty
+    @Operation(summary = "Get a page of Tasks of a list",
+            description = "Retrieve up to 'limit' tasks of a list, in list order, starting after the task 'afterTaskId'")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved tasks"),
+            @ApiResponse(responseCode = "404", description = "Task list not found"),
+            @ApiResponse(responseCode = "400", description = "Invalid request")
+    })
+    public PageDto<TaskDto> getTasksPage(
+            @PathVariable Long listId,
+            @RequestParam(defaultValue = "0") @PositiveOrZero Long afterTaskId,
+            @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) @Min(1) @Max(MAX_PAGE_SIZE) int limit) {
+        return taskBoardService.getTasksPage(listId, afterTaskId, limit);
+    }
+
+    @GetMapping("/tasks/search")
+    @QueryBudget(1) // one ranked query over the full-text index
+    @Operation(summary = "Search Tasks",
+            description = "Full-text search over task names and descriptions, best matches first. 'q' supports "
+                    + "\"quoted phrases\", 'or' and -excluded words; 'listId' restricts the search to one list. Pass "
+                    + "'nextCursor' as 'after' for the next page")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully searched tasks"),
+            @ApiResponse(responseCode = "400", description = "Invalid request")
+    })
+    public TaskSearchResultDto searchTasks(
+            @RequestParam @NotBlank @Size(max = 200) String q,
+            @RequestParam(required = false) Long listId,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) @Min(1) @Max(MAX_PAGE_SIZE) int limit) {
+        return taskSearchService.searchTasks(q, listId, after, limit);
+    }
 
-    @GetMapping("/lists")
-    @Operation(summary = "Get all Task lists", description = "Retrieve all lists with their tasks")
+    @GetMapping(value = "/lists/stream", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    @Operation(summary = "Stream all Task lists",
+            description = "Stream all lists with their tasks straight from the database, one list per line (NDJSON) "
+                    + "or as a JSON array when only application/json is accepted")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Successfully retrieved lists")
+            @ApiResponse(responseCode = "200", description = "Streaming lists")
     })
-    public List<TaskListDto> getAllLists() {
-        return taskBoardService.getAllLists();
+    public ResponseEntity<StreamingResponseBody> streamAllLists(
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        var asJsonArray = prefersJsonArray(accept);
+        // The rows are written as they are read; the servlet container decides when to flush
+        StreamingResponseBody body = outputStream -> {
+            try (var generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                var writer = asJsonArray ? BoardJsonWriter.array(generator) : BoardJsonWriter.lines(generator);
+                taskBoardService.streamAllLists(writer);
+                writer.finish();
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(asJsonArray ? MediaType.APPLICATION_JSON : MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    @GetMapping("/changes")
+    @QueryBudget(5) // board version, change log, then the changed lists, tasks and imported lists
+    @Operation(summary = "Get the board changes since a version",
+            description = "Lists and tasks created, changed or deleted after the given board version (the number in "
+                    + "the ETag of the board, or the version of the previous response). 'resync' asks to reload the "
+                    + "whole board because the changes are no longer known")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved changes"),
+            @ApiResponse(responseCode = "400", description = "Invalid request")
+    })
+    public BoardChangesDto getChanges(@RequestParam @PositiveOrZero long since) {
+        return boardSyncService.getChangesSince(since);
+    }
+
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @QueryBudget(0) // served from memory only
+    @Operation(summary = "Subscribe to board changes",
+            description = "Server-Sent Events stream of the committed board changes, one event per change named after "
+                    + "its type. Reconnect with Last-Event-ID to get the missed events; a RESET event means they are no "
+                    + "longer available and the board has to be reloaded")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Streaming board changes")
+    })
+    public SseEmitter subscribeToEvents(@RequestHeader(value = LAST_EVENT_ID, required = false) String lastEventId) {
+        return boardEventBroadcaster.subscribe(lastEventId);
     }
 
     @PostMapping("/lists")
+    @QueryBudget(3) // insert, board version, change notification
     @Operation(summary = "Create a new Task list", description = "Create an empty Task list with a given name")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Task list created"),
@@ -43,6 +235,7 @@ public class TaskBoardController {
     }
 
     @PostMapping("/lists/{listName}/tasks")
+    @QueryBudget(4) // list lookup, insert, board version, change notification
     @Operation(summary = "Add a Task to a list", description = "Add a new Task to an existing list")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Task added"),
@@ -58,23 +251,63 @@ public class TaskBoardController {
                 .body("Task added to the task list=" + listName);
     }
 
+    @PostMapping(value = "/lists/{listName}/tasks:batch",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @Operation(summary = "Add many Tasks to a list",
+            description = "Add tasks given as a JSON array or as NDJSON to an existing list. The body is read as a "
+                    + "stream and written in chunks; invalid or duplicate tasks are reported without aborting the batch")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Batch processed, see the failures for skipped tasks"),
+            @ApiResponse(responseCode = "404", description = "Task list not found"),
+            @ApiResponse(responseCode = "400", description = "Invalid request")
+    })
+    public BatchImportResultDto addTasksToList(
+            @PathVariable String listName,
+            InputStream body) throws IOException {
+        try (var tasks = objectMapper.readerFor(TaskDetailsDto.class).<TaskDetailsDto>readValues(body)) {
+            return taskImportService.importTasks(listName, tasks);
+        }
+    }
+
+    @PostMapping("/tasks:batch")
+    // Deletes, updates and moves, explaining the failed operations, board version and change log, change notification
+    @QueryBudget(6)
+    @Operation(summary = "Update, move and delete many Tasks",
+            description = "Apply a list of operations of type UPDATE (with taskDetails), MOVE (with the target listId) "
+                    + "or DELETE, each on a taskId and optionally at the expected task version, in one transaction with "
+                    + "one statement per type. Failed operations are reported with the error of the single-task "
+                    + "endpoint without aborting the batch")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Batch processed, see the failures for operations not applied"),
+            @ApiResponse(responseCode = "403", description = "More operations than taskboard.batch.max-operations"),
+            @ApiResponse(responseCode = "400", description = "Invalid request")
+    })
+    public TaskBatchResultDto applyTaskOperations(@RequestBody List<TaskOperationDto> operations) {
+        return taskBatchService.applyOperations(operations);
+    }
 
     @PutMapping("/tasks/{taskId}")
-    @Operation(summary = "Update a Task", description = "Update the name and description of a Task")
+    @QueryBudget(3) // update returning the task, board version, change notification
+    @Operation(summary = "Update a Task", description = "Update the name and description of a Task. Send the task "
+            + "version in If-Match to update only if nobody changed the task since; the new version is returned as ETag")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Task updated"),
             @ApiResponse(responseCode = "404", description = "Task not found"),
+            @ApiResponse(responseCode = "409", description = "Task changed since the given version, or concurrently"),
             @ApiResponse(responseCode = "400", description = "Invalid request")
     })
     public ResponseEntity<String> updateTask(
             @PathVariable Long taskId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody TaskDetailsDto taskRequest) {
-        taskBoardService.updateTask(taskId, taskRequest);
+        var task = taskBoardService.updateTask(taskId, taskRequest, expectedVersion(ifMatch));
         return ResponseEntity.status(HttpStatus.OK)
+                .eTag(TaskDto.etag(task.version()))
                 .body(String.format("Task with id=%d and name='%s' updated successfully", taskId, taskRequest.name()));
     }
 
     @DeleteMapping("/tasks/{taskId}")
+    @QueryBudget(3) // delete returning the task, board version, change notification
     @Operation(summary = "Delete a Task", description = "Delete a Task from a list")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Task deleted"),
@@ -86,28 +319,133 @@ public class TaskBoardController {
     }
 
     @DeleteMapping("/lists/{listId}")
-    @Operation(summary = "Delete a Task list", description = "Delete a Task list and all its tasks")
+    @QueryBudget(3) // delete cascading to the tasks, board version, change notification; async: list lookup only
+    @Operation(summary = "Delete a Task list", description = "Delete a Task list and all its tasks. With async=true "
+            + "the tasks are purged in the background in chunks, each in its own transaction, and the list is deleted last")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Task list deleted"),
+            @ApiResponse(responseCode = "202", description = "Task list purge started"),
             @ApiResponse(responseCode = "404", description = "Task list not found")
     })
-    public ResponseEntity<Void> deleteList(@PathVariable Long listId) {
+    public ResponseEntity<Void> deleteList(@PathVariable Long listId,
+                                           @RequestParam(defaultValue = "false") boolean async) {
+        if (async) {
+            taskListPurgeService.purgeList(listId);
+            return new ResponseEntity<>(HttpStatus.ACCEPTED);
+        }
         taskBoardService.deleteList(listId);
         return new ResponseEntity<>(HttpStatus.OK);
     }
 
     @PutMapping("/tasks/{taskId}/move/{listId}")
-    @Operation(summary = "Move a Task to another list", description = "Move a Task from one list to another")
+    @QueryBudget(3) // update checking the target list and returning the task, board version, change notification
+    @Operation(summary = "Move a Task to another list", description = "Move a Task to the end of another list. Send the "
+            + "task version in If-Match to move only if nobody changed the task since; the new version is returned as ETag")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Task moved"),
             @ApiResponse(responseCode = "404", description = "Task or target list not found"),
+            @ApiResponse(responseCode = "409", description = "Task changed since the given version, or concurrently"),
             @ApiResponse(responseCode = "400", description = "Invalid request")
     })
     public ResponseEntity<String> moveTaskToList(
             @PathVariable Long taskId,
-            @PathVariable Long listId) {
-        taskBoardService.moveTaskToList(taskId, listId);
+            @PathVariable Long listId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        var task = taskBoardService.moveTaskToList(taskId, listId, expectedVersion(ifMatch));
         return ResponseEntity.status(HttpStatus.OK)
+                .eTag(TaskDto.etag(task.version()))
                 .body(String.format("Task with id=%d moved to task list with id=%d", taskId, listId));
     }
+
+    @PutMapping("/tasks/{taskId}/position")
+    // Neighbours (locking the list), update, board version, change notification; a rebalance of the list adds the
+    // renumbering, its board version and notification and a second neighbour lookup
+    @QueryBudget(8)
+    @Operation(summary = "Place a Task in a list", description = "Place a Task right after 'afterTaskId' in the given "
+            + "list, or first when 'afterTaskId' is omitted. Only the task is rewritten, whatever the length of the list. "
+            + "Send the task version in If-Match to place it only if nobody changed the task since")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Task placed"),
+            @ApiResponse(responseCode = "404", description = "Task, target list or 'afterTaskId' in that list not found"),
+            @ApiResponse(responseCode = "409", description = "Task changed since the given version"),
+            @ApiResponse(responseCode = "400", description = "Invalid request")
+    })
+    public ResponseEntity<TaskDto> positionTask(
+            @PathVariable Long taskId,
+            @Valid @RequestBody TaskPositionDto position,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        var task = taskBoardService.positionTask(taskId, position.listId(), position.afterTaskId(),
+                expectedVersion(ifMatch));
+        return ResponseEntity.ok()
+                .eTag(TaskDto.etag(task.version()))
+                .body(task);
+    }
+
+    /**
+     * The task version of an {@code If-Match} header carrying one {@link TaskDto#etag task entity tag}, or null when
+     * the header is missing or {@code *}.
+     */
+    private static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        var tag = ifMatch.trim();
+        if (tag.length() < 3 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            throw new IllegalArgumentException(INVALID_IF_MATCH_MESSAGE);
+        }
+        try {
+            return Long.parseLong(tag.substring(1, tag.length() - 1));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(INVALID_IF_MATCH_MESSAGE, e);
+        }
+    }
+
+    /**
+     * Whether one of the entity tags of an {@code If-None-Match} header matches {@code etag}, using the weak comparison
+     * RFC 9110 prescribes for {@code If-None-Match}.
+     */
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        return Arrays.stream(ifNoneMatch.split(","))
+                .map(String::trim)
+                .map(tag -> tag.startsWith("W/") ? tag.substring(2) : tag)
+                .anyMatch(tag -> tag.equals("*") || tag.equals(etag));
+    }
+
+    private static BoardFormat negotiateFormat(String accept) {
+        if (accept == null) {
+            return BoardFormat.JSON;
+        }
+        var mediaTypes = new ArrayList<>(MediaType.parseMediaTypes(accept));
+        mediaTypes.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed());
+        for (var mediaType : mediaTypes) {
+            for (var format : BoardFormat.values()) {
+                if (mediaType.includes(format.mediaType())) {
+                    return format;
+                }
+            }
+        }
+        return BoardFormat.JSON;
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        return Arrays.stream(acceptEncoding.split(","))
+                .map(coding -> coding.split(";"))
+                .anyMatch(coding -> coding[0].trim().equalsIgnoreCase(GZIP)
+                        && Arrays.stream(coding).skip(1).map(String::trim).noneMatch(NO_QUALITY.asMatchPredicate()));
+    }
+
+    private static boolean prefersJsonArray(String accept) {
+        if (accept == null) {
+            return false;
+        }
+        var mediaTypes = MediaType.parseMediaTypes(accept);
+        return mediaTypes.stream().noneMatch(MediaType.APPLICATION_NDJSON::equalsTypeAndSubtype)
+                && mediaTypes.stream().anyMatch(MediaType.APPLICATION_JSON::equalsTypeAndSubtype);
+    }
 }
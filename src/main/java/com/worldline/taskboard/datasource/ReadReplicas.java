@@ -0,0 +1,18 @@
+package com.worldline.taskboard.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import java.util.List;
+
+/**
+ * The connection pools of the primary and of the read replicas behind {@link ReplicaRoutingDataSource}. They are not
+ * beans themselves, so that only the routing data source is instrumented and used by the application.
+ */
+public record ReadReplicas(HikariDataSource primary, List<Replica> replicas) implements AutoCloseable {
+
+    @Override
+    public void close() {
+        replicas.forEach(replica -> replica.pool().close());
+        primary.close();
+    }
+}
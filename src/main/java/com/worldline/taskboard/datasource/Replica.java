@@ -0,0 +1,48 @@
+package com.worldline.taskboard.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * One read replica: its connection pool and how far it was behind the primary at the last check of
+ * {@link ReplicaLagMonitor}. A replica is only read from while it is available, i.e. no further behind than
+ * {@code taskboard.replicas.max-lag}; until its first check it is not.
+ */
+public final class Replica {
+
+    private final String name;
+    private final HikariDataSource pool;
+    private volatile Duration lag;
+    private volatile boolean available;
+
+    public Replica(String name, HikariDataSource pool) {
+        this.name = name;
+        this.pool = pool;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public HikariDataSource pool() {
+        return pool;
+    }
+
+    /**
+     * The replication lag at the last check; empty when it could not be determined.
+     */
+    public Optional<Duration> lag() {
+        return Optional.ofNullable(lag);
+    }
+
+    public boolean isAvailable() {
+        return available;
+    }
+
+    void update(Duration lag, boolean available) {
+        this.lag = lag;
+        this.available = available;
+    }
+}
@@ -0,0 +1,94 @@
+package com.worldline.taskboard.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.SQLException;
+import java.time.Duration;
+
+/**
+ * Measures how far every read replica is behind the primary and takes it out of the rotation of
+ * {@link ReplicaRoutingDataSource} while it lags more than {@code taskboard.replicas.max-lag} or cannot be reached.
+ * <p>
+ * The lag is the age of the last replayed transaction, unless the replica has replayed everything it received: an
+ * idle primary does not make a replica stale. That only holds while its WAL receiver streams from the primary, so a
+ * replica that lost its connection to the primary is taken out as well, however little it has left to replay.
+ * The lag of every replica is published as {@value #LAG_METRIC}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(value = "taskboard.replicas.enabled", havingValue = "true")
+public class ReplicaLagMonitor {
+
+    static final String LAG_METRIC = "taskboard.replicas.lag";
+
+    private static final String LAG_QUERY = """
+            SELECT CASE
+                       WHEN NOT pg_is_in_recovery() THEN 0
+                       WHEN NOT EXISTS (SELECT 1
+                                        FROM pg_stat_wal_receiver
+                                        -- The status is hidden from roles without pg_read_all_stats; the row
+                                        -- alone then tells that a receiver runs
+                                        WHERE COALESCE(status, 'streaming') = 'streaming') THEN NULL
+                       WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                       ELSE CAST(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000 AS BIGINT)
+                   END
+            """;
+
+    private final ReadReplicas readReplicas;
+    private final Duration maxLag;
+
+    public ReplicaLagMonitor(ReadReplicas readReplicas,
+                             MeterRegistry meterRegistry,
+                             @Value("${taskboard.replicas.max-lag:5s}") Duration maxLag) {
+        this.readReplicas = readReplicas;
+        this.maxLag = maxLag;
+        readReplicas.replicas().forEach(replica -> Gauge.builder(LAG_METRIC,
+                        replica, r -> r.lag().map(lag -> lag.toMillis() / 1000.0).orElse(Double.NaN))
+                .description("Replication lag of the read replica at its last check")
+                .baseUnit("seconds")
+                .tag("replica", replica.name())
+                .register(meterRegistry));
+    }
+
+    @Scheduled(fixedDelayString = "${taskboard.replicas.lag-check-interval:PT1S}")
+    public void checkReplicas() {
+        readReplicas.replicas().forEach(this::check);
+    }
+
+    private void check(Replica replica) {
+        var lag = measureLag(replica);
+        var available = lag != null && lag.compareTo(maxLag) <= 0;
+        if (available != replica.isAvailable()) {
+            if (available) {
+                log.info("Reading from replica '{}' again, {} behind the primary", replica.name(), lag);
+            } else if (lag == null) {
+                log.warn("Not reading from replica '{}': it cannot be reached or is not streaming from the primary",
+                        replica.name());
+            } else {
+                log.warn("Not reading from replica '{}': {} behind the primary, more than {}", replica.name(), lag,
+                        maxLag);
+            }
+        }
+        replica.update(lag, available);
+    }
+
+    private Duration measureLag(Replica replica) {
+        try (var connection = replica.pool().getConnection();
+             var statement = connection.createStatement();
+             var resultSet = statement.executeQuery(LAG_QUERY)) {
+            resultSet.next();
+            var lagMillis = resultSet.getLong(1);
+            // Not streaming from the primary, or nothing replayed yet
+            return resultSet.wasNull() ? null : Duration.ofMillis(lagMillis);
+        } catch (SQLException e) {
+            log.debug("Could not measure the lag of replica '{}'", replica.name(), e);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.worldline.taskboard.datasource;
+
+import com.worldline.taskboard.TaskBoardApplication;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends the read-only transactions of the application's own services ({@code @Transactional(readOnly = true)}) to the
+ * available read replicas, round robin, and everything else to the primary.
+ * <p>
+ * Reads stay on the primary when
+ * <ul>
+ *     <li>they run outside of a transaction, or in the implicit read-only transactions Spring Data opens for the
+ *     repository's CRUD methods: these are the reads that service code makes before writing, which must not see a
+ *     stale row;</li>
+ *     <li>the current request is pinned to the primary by {@link ReadYourWritesFilter}, because its client wrote
+ *     shortly before;</li>
+ *     <li>no replica is available, because all of them are further behind than {@code taskboard.replicas.max-lag} or
+ *     unreachable.</li>
+ * </ul>
+ * The routing decision needs the transaction's read-only flag, which is only set once its connection was obtained:
+ * this data source has to be wrapped in a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy},
+ * which fetches the connection at the first statement.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    static final String PRIMARY = "primary";
+
+    private static final String SERVICE_TRANSACTION_PREFIX = TaskBoardApplication.class.getPackageName() + ".";
+    private static final ThreadLocal<Boolean> PINNED_TO_PRIMARY = new ThreadLocal<>();
+
+    private final List<Replica> replicas;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<Replica> replicas) {
+        this.replicas = List.copyOf(replicas);
+        var targets = new HashMap<Object, Object>();
+        targets.put(PRIMARY, primary);
+        replicas.forEach(replica -> targets.put(replica.name(), replica.pool()));
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    /**
+     * Sends all reads of the current thread to the primary until {@link #unpin()}.
+     */
+    static void pinToPrimary() {
+        PINNED_TO_PRIMARY.set(Boolean.TRUE);
+    }
+
+    static void unpin() {
+        PINNED_TO_PRIMARY.remove();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!isReplicaRead()) {
+            return PRIMARY;
+        }
+        var available = replicas.stream()
+                .filter(Replica::isAvailable)
+                .toList();
+        if (available.isEmpty()) {
+            return PRIMARY;
+        }
+        return available.get(Math.floorMod(nextReplica.getAndIncrement(), available.size())).name();
+    }
+
+    private static boolean isReplicaRead() {
+        if (PINNED_TO_PRIMARY.get() != null
+                || !TransactionSynchronizationManager.isActualTransactionActive()
+                || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return false;
+        }
+        // Transactions are named after the method that started them
+        var transactionName = TransactionSynchronizationManager.getCurrentTransactionName();
+        return transactionName != null && transactionName.startsWith(SERVICE_TRANSACTION_PREFIX);
+    }
+}
@@ -0,0 +1,16 @@
+package com.worldline.taskboard.events;
+
+import java.util.List;
+
+/**
+ * The task changes of one batch, published once instead of one {@link BoardChangeEvent} per task. The change log
+ * records every one of them, with a single statement; caches, notifications and subscribers only get the
+ * {@link #summary()}, so a batch costs one notification whatever its size.
+ */
+public record BoardChangeBatchEvent(
+        List<BoardChangeEvent> changes) {
+
+    public BoardChangeEvent summary() {
+        return BoardChangeEvent.tasksChanged();
+    }
+}
@@ -0,0 +1,94 @@
+package com.worldline.taskboard.events;
+
+import com.worldline.taskboard.model.dtos.TaskDetailsDto;
+import com.worldline.taskboard.model.entities.Task;
+import com.worldline.taskboard.model.entities.TaskList;
+
+/**
+ * Published by every mutating method of the task board service; batches of task operations publish their changes
+ * together as one {@link BoardChangeBatchEvent} instead. Listeners that must only react to committed changes
+ * (caches, notifications) subscribe with {@code @TransactionalEventListener}.
+ *
+ * @param listId      the list the change applies to; for moved tasks the target list
+ * @param listName    only set for list changes
+ * @param taskId      only set for task changes
+ * @param taskDetails the task content after the change; only set for tasks that still exist afterwards
+ * @param rank        the position of the task in its list (ascending); only set for updated and moved tasks, added
+ *                    tasks go last
+ */
+public record BoardChangeEvent(
+        BoardChangeType type,
+        Long listId,
+        String listName,
+        Long taskId,
+        TaskDetailsDto taskDetails,
+        Long rank) {
+
+    public static BoardChangeEvent listCreated(TaskList taskList) {
+        return new BoardChangeEvent(BoardChangeType.LIST_CREATED, taskList.id(), taskList.name(), null, null, null);
+    }
+
+    public static BoardChangeEvent listDeleted(TaskList taskList) {
+        return new BoardChangeEvent(BoardChangeType.LIST_DELETED, taskList.id(), taskList.name(), null, null, null);
+    }
+
+    public static BoardChangeEvent taskAdded(Task task) {
+        return taskChange(BoardChangeType.TASK_ADDED, task);
+    }
+
+    /**
+     * Tasks were bulk inserted into {@code taskList}; the individual tasks are not part of the event.
+     */
+    public static BoardChangeEvent tasksImported(TaskList taskList) {
+        return new BoardChangeEvent(BoardChangeType.TASKS_IMPORTED, taskList.id(), taskList.name(), null, null, null);
+    }
+
+    /**
+     * Tasks were bulk deleted from {@code taskList} while purging it; the individual tasks are not part of the event.
+     */
+    public static BoardChangeEvent tasksPurged(TaskList taskList) {
+        return new BoardChangeEvent(BoardChangeType.TASKS_PURGED, taskList.id(), taskList.name(), null, null, null);
+    }
+
+    /**
+     * The tasks of the list were renumbered, keeping their order, to make room for placing a task.
+     */
+    public static BoardChangeEvent tasksReordered(Long listId) {
+        return new BoardChangeEvent(BoardChangeType.TASKS_REORDERED, listId, null, null, null, null);
+    }
+
+    /**
+     * Tasks were updated, moved or deleted by one batch; the individual tasks are not part of the event, but each of
+     * their changes is in the change log.
+     */
+    public static BoardChangeEvent tasksChanged() {
+        return new BoardChangeEvent(BoardChangeType.TASKS_CHANGED, null, null, null, null, null);
+    }
+
+    public static BoardChangeEvent taskUpdated(Task task) {
+        return taskChange(BoardChangeType.TASK_UPDATED, task);
+    }
+
+    public static BoardChangeEvent taskMoved(Task task) {
+        return taskChange(BoardChangeType.TASK_MOVED, task);
+    }
+
+    public static BoardChangeEvent taskDeleted(Task task) {
+        return new BoardChangeEvent(BoardChangeType.TASK_DELETED, task.getListId(), null, task.getId(), null, null);
+    }
+
+    /**
+     * A whole board export was imported; any list or task may have been added.
+     */
+    public static BoardChangeEvent boardImported() {
+        return new BoardChangeEvent(BoardChangeType.BOARD_IMPORTED, null, null, null, null, null);
+    }
+
+    private static BoardChangeEvent taskChange(BoardChangeType type, Task task) {
+        var taskDetails = TaskDetailsDto.builder()
+                .name(task.getName())
+                .description(task.getDescription())
+                .build();
+        return new BoardChangeEvent(type, task.getListId(), null, task.getId(), taskDetails, task.getRank());
+    }
+}
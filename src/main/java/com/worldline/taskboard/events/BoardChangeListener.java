@@ -0,0 +1,122 @@
+package com.worldline.taskboard.events;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.worldline.taskboard.service.TaskBoardCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.time.Duration;
+
+/**
+ * Listens to the {@value BoardChangeNotifier#CHANNEL} channel on a dedicated, unpooled connection and republishes the
+ * changes of other nodes as {@link RemoteBoardChangeEvent}s.
+ * <p>
+ * Notifications sent while the connection is down are lost, so the local caches are flushed every time the listener
+ * (re)connects.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(value = "taskboard.cluster.notifications.enabled", havingValue = "true", matchIfMissing = true)
+public class BoardChangeListener implements SmartLifecycle {
+
+    private static final int POLL_TIMEOUT_MILLIS = 1_000;
+
+    private final DataSourceProperties dataSourceProperties;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TaskBoardCache taskBoardCache;
+    private final ClusterNode clusterNode;
+
+    @Value("${taskboard.cluster.notifications.reconnect-delay:5s}")
+    private Duration reconnectDelay;
+
+    private volatile boolean running;
+    private Thread listenerThread;
+
+    @Override
+    public void start() {
+        running = true;
+        listenerThread = Thread.ofPlatform()
+                .name("board-change-listener")
+                .daemon()
+                .start(this::listen);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        listenerThread.interrupt();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void listen() {
+        while (running) {
+            try (var connection = connect()) {
+                try (var statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + BoardChangeNotifier.CHANNEL);
+                }
+                taskBoardCache.evictAll();
+                log.info("Listening to board changes of other nodes on channel '{}'", BoardChangeNotifier.CHANNEL);
+
+                var pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    var notifications = pgConnection.getNotifications(POLL_TIMEOUT_MILLIS);
+                    if (notifications != null) {
+                        for (var notification : notifications) {
+                            handle(notification);
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (running) {
+                    log.warn("Board change listener lost its connection, reconnecting in {}", reconnectDelay, e);
+                    sleepBeforeReconnect();
+                }
+            }
+        }
+    }
+
+    private Connection connect() throws SQLException {
+        var connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword());
+        connection.setAutoCommit(true);
+        return connection;
+    }
+
+    private void handle(PGNotification notification) {
+        try {
+            var boardChange = objectMapper.readValue(notification.getParameter(), BoardChangeNotification.class);
+            if (!clusterNode.id().equals(boardChange.origin())) {
+                eventPublisher.publishEvent(new RemoteBoardChangeEvent(boardChange.origin(), boardChange.event()));
+            }
+        } catch (Exception e) {
+            // Never let one bad payload stop the listener; dropping our caches keeps us consistent regardless
+            log.error("Could not handle board change notification '{}'", notification.getParameter(), e);
+            taskBoardCache.evictAll();
+        }
+    }
+
+    private void sleepBeforeReconnect() {
+        try {
+            Thread.sleep(reconnectDelay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
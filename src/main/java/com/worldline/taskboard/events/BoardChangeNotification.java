@@ -0,0 +1,9 @@
+package com.worldline.taskboard.events;
+
+/**
+ * JSON payload sent on the {@value BoardChangeNotifier#CHANNEL} PostgreSQL notification channel.
+ */
+public record BoardChangeNotification(
+        String origin,
+        BoardChangeEvent event) {
+}
@@ -0,0 +1,49 @@
+package com.worldline.taskboard.events;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Forwards local board changes to the other nodes with PostgreSQL {@code NOTIFY}.
+ * <p>
+ * The notification is issued inside the mutating transaction: PostgreSQL only delivers it once that transaction
+ * commits and drops it on rollback, so other nodes never hear about changes they cannot see yet.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(value = "taskboard.cluster.notifications.enabled", havingValue = "true", matchIfMissing = true)
+public class BoardChangeNotifier {
+
+    public static final String CHANNEL = "taskboard_changes";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final ClusterNode clusterNode;
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onBoardChange(BoardChangeEvent event) {
+        jdbcTemplate.queryForList("SELECT pg_notify(?, ?)", CHANNEL, toPayload(event));
+    }
+
+    /**
+     * One notification for the whole batch: its changes would not fit into the 8000 bytes of a payload anyway.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onBoardChanges(BoardChangeBatchEvent batch) {
+        onBoardChange(batch.summary());
+    }
+
+    private String toPayload(BoardChangeEvent event) {
+        try {
+            return objectMapper.writeValueAsString(new BoardChangeNotification(clusterNode.id(), event));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize board change " + event, e);
+        }
+    }
+}
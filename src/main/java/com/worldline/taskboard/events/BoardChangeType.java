@@ -0,0 +1,15 @@
+package com.worldline.taskboard.events;
+
+public enum BoardChangeType {
+    LIST_CREATED,
+    LIST_DELETED,
+    TASK_ADDED,
+    TASKS_IMPORTED,
+    TASKS_PURGED,
+    TASKS_REORDERED,
+    TASKS_CHANGED,
+    TASK_UPDATED,
+    TASK_MOVED,
+    TASK_DELETED,
+    BOARD_IMPORTED
+}
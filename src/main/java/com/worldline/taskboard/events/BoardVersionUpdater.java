@@ -0,0 +1,29 @@
+package com.worldline.taskboard.events;
+
+import com.worldline.taskboard.repository.BoardChangeRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Moves the board version forward with every local board change and records the change under that version in the
+ * change log, inside the changing transaction. Concurrent writers queue on the version row only for the rest of their
+ * transaction, as this runs right before commit.
+ */
+@Component
+@RequiredArgsConstructor
+public class BoardVersionUpdater {
+
+    private final BoardChangeRepository boardChangeRepository;
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onBoardChange(BoardChangeEvent event) {
+        boardChangeRepository.append(event);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onBoardChanges(BoardChangeBatchEvent batch) {
+        boardChangeRepository.appendAll(batch.changes());
+    }
+}
@@ -0,0 +1,19 @@
+package com.worldline.taskboard.events;
+
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Identifies this application instance among the replicas sharing the database, so that a node can ignore the
+ * change notifications it sent itself.
+ */
+@Component
+public class ClusterNode {
+
+    private final String id = UUID.randomUUID().toString();
+
+    public String id() {
+        return id;
+    }
+}
@@ -0,0 +1,10 @@
+package com.worldline.taskboard.events;
+
+/**
+ * A {@link BoardChangeEvent} committed by another node of the cluster, received through {@link BoardChangeListener}.
+ * It is published outside of any transaction and must only be used to refresh local state.
+ */
+public record RemoteBoardChangeEvent(
+        String originNodeId,
+        BoardChangeEvent event) {
+}
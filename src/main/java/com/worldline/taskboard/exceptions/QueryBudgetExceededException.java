@@ -0,0 +1,7 @@
+package com.worldline.taskboard.exceptions;
+
+public class QueryBudgetExceededException extends RuntimeException {
+    public QueryBudgetExceededException(String message) {
+        super(message);
+    }
+}
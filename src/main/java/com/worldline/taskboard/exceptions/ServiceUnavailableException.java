@@ -0,0 +1,7 @@
+package com.worldline.taskboard.exceptions;
+
+public class ServiceUnavailableException extends RuntimeException {
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+}
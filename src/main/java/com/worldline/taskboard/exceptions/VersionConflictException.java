@@ -0,0 +1,11 @@
+package com.worldline.taskboard.exceptions;
+
+public class VersionConflictException extends RuntimeException {
+    public VersionConflictException(String message) {
+        super(message);
+    }
+
+    public VersionConflictException(String message, RuntimeException e) {
+        super(message, e);
+    }
+}
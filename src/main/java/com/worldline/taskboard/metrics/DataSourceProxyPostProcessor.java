@@ -0,0 +1,36 @@
+package com.worldline.taskboard.metrics;
+
+import lombok.RequiredArgsConstructor;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the application's (pooled) {@link DataSource} so that every statement and result set row passes through
+ * {@link QueryStatisticsListener}. Pool metrics are unaffected: the proxy unwraps to the Hikari pool.
+ */
+@Component
+@RequiredArgsConstructor
+public class DataSourceProxyPostProcessor implements BeanPostProcessor {
+
+    // Looked up lazily: a bean post processor must not initialize regular beans while it is being created
+    private final ObjectProvider<QueryStatisticsListener> queryStatisticsListener;
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof DataSource dataSource) || bean instanceof ProxyDataSource) {
+            return bean;
+        }
+        var listener = queryStatisticsListener.getObject();
+        return ProxyDataSourceBuilder.create(dataSource)
+                .name(beanName)
+                .listener(listener)
+                .methodListener(listener)
+                .proxyResultSet()
+                .build();
+    }
+}
@@ -0,0 +1,26 @@
+package com.worldline.taskboard.metrics;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares the maximum number of statements a request to the annotated handler method may send to the database,
+ * including the change notification sent before commit.
+ * <p>
+ * Exceeding the budget is logged and counted in {@code taskboard.http.request.query.budget.exceeded}. With
+ * {@code taskboard.query-stats.budget.fail-on-exceeded=true} (as in the integration tests) the statement that exceeds
+ * the budget fails instead, so that a new N+1 query pattern breaks the build rather than production latency.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface QueryBudget {
+
+    /**
+     * The maximum number of statements per request.
+     */
+    int value();
+}
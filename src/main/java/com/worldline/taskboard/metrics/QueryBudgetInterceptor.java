@@ -0,0 +1,46 @@
+package com.worldline.taskboard.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Hands the {@link QueryBudget} of the handler method to the request's {@link RequestStatistics} and reports requests
+ * that exceeded it.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class QueryBudgetInterceptor implements HandlerInterceptor {
+
+    static final String BUDGET_EXCEEDED_METRIC = "taskboard.http.request.query.budget.exceeded";
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod handlerMethod && handlerMethod.hasMethodAnnotation(QueryBudget.class)) {
+            var budget = handlerMethod.getMethodAnnotation(QueryBudget.class);
+            var handlerName = handlerMethod.getBeanType().getSimpleName() + "#" + handlerMethod.getMethod().getName();
+            RequestStatistics.current().ifPresent(statistics -> statistics.budget(handlerName, budget.value()));
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        RequestStatistics.current()
+                .filter(RequestStatistics::budgetExceeded)
+                .ifPresent(statistics -> {
+                    log.warn("{} sent {} statements, exceeding its query budget of {}", statistics.handler(),
+                            statistics.queries(), statistics.queryBudget());
+                    meterRegistry.counter(BUDGET_EXCEEDED_METRIC, "handler", statistics.handler()).increment();
+                });
+    }
+}
@@ -0,0 +1,74 @@
+package com.worldline.taskboard.metrics;
+
+import com.worldline.taskboard.exceptions.QueryBudgetExceededException;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.listener.logging.DefaultQueryLogEntryCreator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Counts every statement execution (a JDBC batch counts once, it is one round trip) and every row read from a result
+ * set into the {@link RequestStatistics} of the current request, enforces the request's {@link QueryBudget} and logs
+ * statements slower than {@code taskboard.query-stats.slow-query-threshold} with their bound parameters.
+ */
+@Slf4j
+@Component
+public class QueryStatisticsListener implements QueryExecutionListener, MethodExecutionListener {
+
+    private static final int MAX_LOGGED_QUERY_LENGTH = 2_000;
+
+    private final DefaultQueryLogEntryCreator logEntryCreator = new DefaultQueryLogEntryCreator();
+
+    @Value("${taskboard.query-stats.slow-query-threshold:200ms}")
+    private Duration slowQueryThreshold;
+
+    @Value("${taskboard.query-stats.budget.fail-on-exceeded:false}")
+    private boolean failOnBudgetExceeded;
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (!failOnBudgetExceeded) {
+            return;
+        }
+        RequestStatistics.current()
+                .filter(RequestStatistics::budgetExhausted)
+                .ifPresent(statistics -> {
+                    throw new QueryBudgetExceededException(String.format(
+                            "%s exceeds its query budget of %d statements with: %s", statistics.handler(),
+                            statistics.queryBudget(), queryInfoList.getFirst().getQuery()));
+                });
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        RequestStatistics.current().ifPresent(statistics -> statistics.recordQuery(execInfo.getElapsedTime()));
+        if (execInfo.getElapsedTime() >= slowQueryThreshold.toMillis()) {
+            var entry = logEntryCreator.getLogEntry(execInfo, queryInfoList, false, false, false);
+            log.warn("Slow query ({} ms): {}", execInfo.getElapsedTime(), entry.length() > MAX_LOGGED_QUERY_LENGTH
+                    ? entry.substring(0, MAX_LOGGED_QUERY_LENGTH) + "..."
+                    : entry);
+        }
+    }
+
+    @Override
+    public void beforeMethod(MethodExecutionContext executionContext) {
+    }
+
+    @Override
+    public void afterMethod(MethodExecutionContext executionContext) {
+        if (executionContext.getTarget() instanceof ResultSet
+                && "next".equals(executionContext.getMethod().getName())
+                && Boolean.TRUE.equals(executionContext.getResult())) {
+            RequestStatistics.current().ifPresent(RequestStatistics::recordRow);
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.worldline.taskboard.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+
+/**
+ * Records, per request and tagged with the matched URI template, how many statements were sent to the database
+ * ({@value #QUERIES_METRIC}), how many rows were read ({@value #ROWS_METRIC}) and how many bytes the response body had
+ * ({@value #RESPONSE_SIZE_METRIC}).
+ * <p>
+ * A read path that queries once per list or task (N+1) shows up as a growing {@value #QUERIES_METRIC} for its URI.
+ * <p>
+ * With {@code taskboard.query-stats.headers.enabled=true} the same numbers are also returned to the caller in the
+ * {@value #QUERY_COUNT_HEADER}, {@value #QUERY_TIME_HEADER} and {@value #QUERY_ROWS_HEADER} headers, as counted
+ * until the response body starts. Meant for debugging and tests, not for production traffic.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@RequiredArgsConstructor
+public class RequestMetricsFilter extends OncePerRequestFilter {
+
+    static final String QUERIES_METRIC = "taskboard.http.request.queries";
+    static final String ROWS_METRIC = "taskboard.http.request.rows";
+    static final String RESPONSE_SIZE_METRIC = "taskboard.http.response.size";
+
+    static final String QUERY_COUNT_HEADER = "X-Query-Count";
+    static final String QUERY_TIME_HEADER = "X-Query-Time-Ms";
+    static final String QUERY_ROWS_HEADER = "X-Query-Rows";
+
+    private static final String UNKNOWN_URI = "UNKNOWN";
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${taskboard.query-stats.headers.enabled:false}")
+    private boolean headersEnabled;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        var statistics = RequestStatistics.start();
+        var countingResponse = new CountingResponse(response,
+                headersEnabled ? () -> addHeaders(response, statistics) : () -> {
+                });
+        try {
+            filterChain.doFilter(request, countingResponse);
+        } finally {
+            // Responses without a body never asked for the output stream
+            countingResponse.bodyStarting();
+            RequestStatistics.clear();
+            if (request.isAsyncStarted()) {
+                // Streamed bodies are written after this filter returned: record once the response is complete
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        record(request, statistics, countingResponse.bytesWritten());
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+            } else {
+                record(request, statistics, countingResponse.bytesWritten());
+            }
+        }
+    }
+
+    private static void addHeaders(HttpServletResponse response, RequestStatistics statistics) {
+        if (!response.isCommitted()) {
+            response.setHeader(QUERY_COUNT_HEADER, String.valueOf(statistics.queries()));
+            response.setHeader(QUERY_TIME_HEADER, String.valueOf(statistics.queryMillis()));
+            response.setHeader(QUERY_ROWS_HEADER, String.valueOf(statistics.rows()));
+        }
+    }
+
+    private void record(HttpServletRequest request, RequestStatistics statistics, long responseBytes) {
+        var uri = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE) instanceof String pattern
+                ? pattern
+                : UNKNOWN_URI;
+        summary(QUERIES_METRIC, "Statements sent to the database per request", null, request, uri)
+                .record(statistics.queries());
+        summary(ROWS_METRIC, "Rows read from the database per request", "rows", request, uri)
+                .record(statistics.rows());
+        summary(RESPONSE_SIZE_METRIC, "Response body size", "bytes", request, uri)
+                .record(responseBytes);
+    }
+
+    private DistributionSummary summary(String name, String description, String baseUnit, HttpServletRequest request,
+                                        String uri) {
+        return DistributionSummary.builder(name)
+                .description(description)
+                .baseUnit(baseUnit)
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private static class CountingResponse extends HttpServletResponseWrapper {
+
+        private final Runnable onBodyStart;
+        private boolean bodyStarted;
+        private long bytesWritten;
+        private ServletOutputStream outputStream;
+
+        CountingResponse(HttpServletResponse response, Runnable onBodyStart) {
+            super(response);
+            this.onBodyStart = onBodyStart;
+        }
+
+        long bytesWritten() {
+            return bytesWritten;
+        }
+
+        void bodyStarting() {
+            if (!bodyStarted) {
+                bodyStarted = true;
+                onBodyStart.run();
+            }
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            bodyStarting();
+            return super.getWriter();
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            bodyStarting();
+            if (outputStream == null) {
+                var delegate = super.getOutputStream();
+                outputStream = new ServletOutputStream() {
+                    @Override
+                    public void write(int b) throws IOException {
+                        delegate.write(b);
+                        bytesWritten++;
+                    }
+
+                    @Override
+                    public void write(byte[] b, int off, int len) throws IOException {
+                        delegate.write(b, off, len);
+                        bytesWritten += len;
+                    }
+
+                    @Override
+                    public void flush() throws IOException {
+                        delegate.flush();
+                    }
+
+                    @Override
+                    public void close() throws IOException {
+                        delegate.close();
+                    }
+
+                    @Override
+                    public boolean isReady() {
+                        return delegate.isReady();
+                    }
+
+                    @Override
+                    public void setWriteListener(WriteListener writeListener) {
+                        delegate.setWriteListener(writeListener);
+                    }
+                };
+            }
+            return outputStream;
+        }
+    }
+}
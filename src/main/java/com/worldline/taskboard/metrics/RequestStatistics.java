@@ -0,0 +1,83 @@
+package com.worldline.taskboard.metrics;
+
+import java.util.Optional;
+
+/**
+ * Database work done on behalf of the current HTTP request: statements sent, rows read and time spent in the database,
+ * and the {@link QueryBudget} of the handling controller method, if it declares one.
+ * <p>
+ * Bound to the request thread by {@link RequestMetricsFilter} and filled by {@link QueryStatisticsListener}. Work done
+ * outside of the request thread, e.g. by streamed responses written asynchronously, is not attributed to the request.
+ */
+final class RequestStatistics {
+
+    private static final ThreadLocal<RequestStatistics> CURRENT = new ThreadLocal<>();
+
+    private int queries;
+    private long rows;
+    private long queryMillis;
+    private String handler;
+    private int queryBudget = Integer.MAX_VALUE;
+
+    private RequestStatistics() {
+    }
+
+    static RequestStatistics start() {
+        var statistics = new RequestStatistics();
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+
+    static Optional<RequestStatistics> current() {
+        return Optional.ofNullable(CURRENT.get());
+    }
+
+    void recordQuery(long elapsedMillis) {
+        queries++;
+        queryMillis += elapsedMillis;
+    }
+
+    void recordRow() {
+        rows++;
+    }
+
+    void budget(String handler, int queryBudget) {
+        this.handler = handler;
+        this.queryBudget = queryBudget;
+    }
+
+    /**
+     * Whether sending one more statement would exceed the budget.
+     */
+    boolean budgetExhausted() {
+        return queries >= queryBudget;
+    }
+
+    boolean budgetExceeded() {
+        return queries > queryBudget;
+    }
+
+    int queries() {
+        return queries;
+    }
+
+    long rows() {
+        return rows;
+    }
+
+    long queryMillis() {
+        return queryMillis;
+    }
+
+    String handler() {
+        return handler;
+    }
+
+    int queryBudget() {
+        return queryBudget;
+    }
+}
@@ -0,0 +1,9 @@
+package com.worldline.taskboard.model.dtos;
+
+import java.util.List;
+
+public record BatchImportResultDto(
+        int received,
+        int imported,
+        List<BatchItemFailureDto> failures) {
+}
@@ -0,0 +1,12 @@
+package com.worldline.taskboard.model.dtos;
+
+/**
+ * An item of a batch request that was not applied.
+ *
+ * @param index position of the item in the request, starting at 0
+ */
+public record BatchItemFailureDto(
+        int index,
+        String name,
+        String reason) {
+}
@@ -0,0 +1,28 @@
+package com.worldline.taskboard.model.dtos;
+
+import java.util.List;
+
+/**
+ * What changed on the board between the version a client has and {@code version}. Lists and tasks are given in their
+ * state at {@code version}; deleted ones only by id. The tasks of a deleted list are deleted with it and are not
+ * listed separately.
+ *
+ * @param resync true when the changes are no longer known (the client's version is too old, or not a version of this
+ *               board); the client then has to reload the whole board, which is at least {@code version}
+ */
+public record BoardChangesDto(
+        long version,
+        boolean resync,
+        List<ChangedListDto> lists,
+        List<ChangedTaskDto> tasks,
+        List<Long> deletedListIds,
+        List<Long> deletedTaskIds) {
+
+    public static BoardChangesDto unchanged(long version) {
+        return new BoardChangesDto(version, false, List.of(), List.of(), List.of(), List.of());
+    }
+
+    public static BoardChangesDto resync(long version) {
+        return new BoardChangesDto(version, true, List.of(), List.of(), List.of(), List.of());
+    }
+}
@@ -0,0 +1,31 @@
+package com.worldline.taskboard.model.dtos;
+
+import java.util.List;
+
+/**
+ * All lists of the board with their tasks, together with the board version they were read at.
+ *
+ * @param writeSequence the last task write still pending in the write-behind journal that the lists include, or 0:
+ *                      the same board version then has a different content than once these writes are flushed
+ */
+public record BoardDto(long version, long writeSequence, List<TaskListDto> lists) {
+
+    public BoardDto(long version, List<TaskListDto> lists) {
+        this(version, 0, lists);
+    }
+
+    public String etag() {
+        return etag(version, writeSequence);
+    }
+
+    /**
+     * The strong entity tag of this board version, as sent in {@code ETag} headers.
+     */
+    public static String etag(long version) {
+        return etag(version, 0);
+    }
+
+    public static String etag(long version, long writeSequence) {
+        return writeSequence == 0 ? "\"v" + version + "\"" : "\"v" + version + "+" + writeSequence + "\"";
+    }
+}
@@ -0,0 +1,6 @@
+package com.worldline.taskboard.model.dtos;
+
+public record BoardImportResultDto(
+        long importedLists,
+        long importedTasks) {
+}
@@ -0,0 +1,91 @@
+package com.worldline.taskboard.model.dtos;
+
+import com.worldline.taskboard.model.json.BoardFormat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The board as the JSON array of its lists, serialized once per board version, together with the version it was read
+ * at. Its other representations are derived from the JSON the first time they are asked for and kept with it, so a
+ * cached payload is encoded and compressed at most once per representation.
+ */
+public final class BoardPayload {
+
+    private final long version;
+    private final long writeSequence;
+    private final byte[] json;
+    private final Map<Representation, byte[]> bodies = new ConcurrentHashMap<>();
+
+    /**
+     * @param writeSequence as in {@link BoardDto#writeSequence()}
+     */
+    public BoardPayload(long version, long writeSequence, byte[] json) {
+        this.version = version;
+        this.writeSequence = writeSequence;
+        this.json = json;
+    }
+
+    public long version() {
+        return version;
+    }
+
+    public long writeSequence() {
+        return writeSequence;
+    }
+
+    public byte[] json() {
+        return json;
+    }
+
+    public String etag() {
+        return BoardDto.etag(version, writeSequence);
+    }
+
+    public byte[] body(BoardFormat format, boolean gzip) {
+        if (format == BoardFormat.JSON && !gzip) {
+            return json;
+        }
+        return bodies.computeIfAbsent(new Representation(format, gzip), this::encode);
+    }
+
+    /**
+     * The entity tag of a representation of the board with entity tag {@code etag}: each format and content coding
+     * has its own, as strong entity tags have to.
+     */
+    public static String etag(String etag, BoardFormat format, boolean gzip) {
+        if (format == BoardFormat.JSON && !gzip) {
+            return etag;
+        }
+        var suffix = new StringBuilder();
+        if (format != BoardFormat.JSON) {
+            suffix.append('-').append(format.name().toLowerCase());
+        }
+        if (gzip) {
+            suffix.append("-gzip");
+        }
+        return etag.substring(0, etag.length() - 1) + suffix + "\"";
+    }
+
+    private byte[] encode(Representation representation) {
+        var encoded = representation.format().fromJson(json);
+        return representation.gzip() ? gzip(encoded) : encoded;
+    }
+
+    private static byte[] gzip(byte[] body) {
+        var out = new ByteArrayOutputStream(body.length / 4);
+        try (var gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private record Representation(BoardFormat format, boolean gzip) {
+    }
+}
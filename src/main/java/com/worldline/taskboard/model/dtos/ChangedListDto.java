@@ -0,0 +1,12 @@
+package com.worldline.taskboard.model.dtos;
+
+import com.worldline.taskboard.model.entities.TaskList;
+
+public record ChangedListDto(
+        Long listId,
+        String name) {
+
+    public static ChangedListDto of(TaskList entity) {
+        return new ChangedListDto(entity.id(), entity.name());
+    }
+}
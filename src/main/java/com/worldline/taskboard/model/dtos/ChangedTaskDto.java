@@ -0,0 +1,24 @@
+package com.worldline.taskboard.model.dtos;
+
+import com.worldline.taskboard.model.entities.Task;
+
+/**
+ * The current state of a task that was added, updated or moved; {@code listId} is the list it is in now and
+ * {@code rank} its position there (ascending).
+ */
+public record ChangedTaskDto(
+        Long taskId,
+        Long listId,
+        TaskDetailsDto taskDetails,
+        Long version,
+        Long rank) {
+
+    public static ChangedTaskDto of(Task entity) {
+        var taskDetails = TaskDetailsDto.builder()
+                .name(entity.getName())
+                .description(entity.getDescription())
+                .build();
+        return new ChangedTaskDto(entity.getId(), entity.getListId(), taskDetails, entity.getVersion(),
+                entity.getRank());
+    }
+}
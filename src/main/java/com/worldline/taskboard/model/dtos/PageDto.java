@@ -0,0 +1,24 @@
+package com.worldline.taskboard.model.dtos;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset-paginated result. {@code nextCursor} is the id to pass as the {@code after...} parameter to
+ * fetch the following page, or {@code null} when this is the last page.
+ */
+public record PageDto<T>(
+        List<T> items,
+        Long nextCursor) {
+
+    /**
+     * Builds a page from rows fetched with {@code limit + 1}, the extra row only signalling that there is a next page.
+     */
+    public static <T> PageDto<T> of(List<T> rows, int limit, Function<T, Long> idExtractor) {
+        if (rows.size() <= limit) {
+            return new PageDto<>(rows, null);
+        }
+        var items = rows.subList(0, limit);
+        return new PageDto<>(items, idExtractor.apply(items.getLast()));
+    }
+}
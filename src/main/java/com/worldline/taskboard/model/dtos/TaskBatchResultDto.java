@@ -0,0 +1,13 @@
+package com.worldline.taskboard.model.dtos;
+
+import java.util.List;
+
+/**
+ * @param tasks the updated and moved tasks at their new version, in the order of their operations
+ */
+public record TaskBatchResultDto(
+        int received,
+        int applied,
+        List<TaskDto> tasks,
+        List<TaskOperationFailureDto> failures) {
+}
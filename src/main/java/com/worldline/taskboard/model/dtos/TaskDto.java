@@ -10,7 +10,16 @@ import java.time.LocalDateTime;
 public record TaskDto(
         Long taskId,
         @NotNull
-        TaskDetailsDto taskDetails) {
+        TaskDetailsDto taskDetails,
+        Long version,
+        Long rank) {
+
+    /**
+     * The strong entity tag of a task version, as sent in {@code ETag} and expected in {@code If-Match} headers.
+     */
+    public static String etag(long version) {
+        return "\"" + version + "\"";
+    }
 
     public static Task toEntity(TaskDetailsDto taskDetailsDto) {
         return Task.builder()
@@ -28,6 +37,8 @@ public record TaskDto(
         return TaskDto.builder()
                 .taskId(entity.getId())
                 .taskDetails(taskRequest)
+                .version(entity.getVersion())
+                .rank(entity.getRank())
                 .build();
     }
 }
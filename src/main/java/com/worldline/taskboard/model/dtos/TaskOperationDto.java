@@ -0,0 +1,27 @@
+package com.worldline.taskboard.model.dtos;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import lombok.Builder;
+
+/**
+ * One operation of a batch on tasks: {@code UPDATE} sets the {@code taskDetails} of the task, {@code MOVE} moves it to
+ * the end of the list {@code listId}, {@code DELETE} deletes it.
+ *
+ * @param version the version the task is expected at, as sent in {@code If-Match}; null: any version
+ */
+@Builder
+public record TaskOperationDto(
+        @NotNull(message = "Operation type must not be null")
+        Type type,
+        @NotNull(message = "Task id must not be null")
+        Long taskId,
+        Long version,
+        Long listId,
+        @Valid
+        TaskDetailsDto taskDetails) {
+
+    public enum Type {
+        UPDATE, MOVE, DELETE
+    }
+}
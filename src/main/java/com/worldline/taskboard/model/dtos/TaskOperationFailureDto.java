@@ -0,0 +1,12 @@
+package com.worldline.taskboard.model.dtos;
+
+/**
+ * An operation of a batch on tasks that was not applied.
+ *
+ * @param index position of the operation in the request, starting at 0
+ */
+public record TaskOperationFailureDto(
+        int index,
+        Long taskId,
+        String reason) {
+}
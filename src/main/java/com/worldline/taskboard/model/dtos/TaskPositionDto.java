@@ -0,0 +1,14 @@
+package com.worldline.taskboard.model.dtos;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Builder;
+
+/**
+ * Where to place a task: in {@code listId}, right after the task {@code afterTaskId}, or first when it is null.
+ */
+@Builder
+public record TaskPositionDto(
+        @NotNull(message = "Task list id must not be null")
+        Long listId,
+        Long afterTaskId) {
+}
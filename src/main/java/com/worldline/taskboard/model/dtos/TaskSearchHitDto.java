@@ -0,0 +1,23 @@
+package com.worldline.taskboard.model.dtos;
+
+import com.worldline.taskboard.repository.TaskSearchRepository.TaskHit;
+
+/**
+ * A task matching a search, with the list it is in and its relevance ({@code score}, higher is better).
+ */
+public record TaskSearchHitDto(
+        Long taskId,
+        Long listId,
+        TaskDetailsDto taskDetails,
+        Long version,
+        Long rank,
+        float score) {
+
+    public static TaskSearchHitDto of(TaskHit hit) {
+        var taskDetails = TaskDetailsDto.builder()
+                .name(hit.name())
+                .description(hit.description())
+                .build();
+        return new TaskSearchHitDto(hit.id(), hit.listId(), taskDetails, hit.version(), hit.rank(), hit.score());
+    }
+}
@@ -0,0 +1,12 @@
+package com.worldline.taskboard.model.dtos;
+
+import java.util.List;
+
+/**
+ * One page of search hits, best first. {@code nextCursor} is an opaque value to pass as the {@code after} parameter
+ * to fetch the following page, or {@code null} when this is the last page.
+ */
+public record TaskSearchResultDto(
+        List<TaskSearchHitDto> items,
+        String nextCursor) {
+}
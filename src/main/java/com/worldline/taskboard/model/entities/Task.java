@@ -5,6 +5,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.ReadOnlyProperty;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.relational.core.mapping.Table;
 
 import java.time.LocalDateTime;
@@ -24,4 +26,11 @@ public class Task {
     private String description;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
-}
\ No newline at end of file
+
+    // Assigned by the column default on insert and only changed by the positioning queries of TaskRepository
+    @ReadOnlyProperty
+    private Long rank;
+
+    @Version
+    private Long version;
+}
@@ -2,6 +2,7 @@ package com.worldline.taskboard.model.entities;
 
 import lombok.Builder;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.relational.core.mapping.Table;
 
 import java.time.LocalDateTime;
@@ -12,10 +13,12 @@ public record TaskList(@Id
                        Long id,
                        String name,
                        LocalDateTime createdAt,
-                       LocalDateTime updatedAt) {
+                       LocalDateTime updatedAt,
+                       @Version
+                       Long version) {
 
     // No-arg constructor for Spring Data JDBC
     public TaskList() {
-        this(null, null, null, null);
+        this(null, null, null, null, null);
     }
 }
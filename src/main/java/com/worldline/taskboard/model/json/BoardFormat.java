@@ -0,0 +1,56 @@
+package com.worldline.taskboard.model.json;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.http.MediaType;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * The representations of the board. The binary ones carry the same data model as the JSON: CBOR is the standard one,
+ * Smile in addition refers back to field names it has already written instead of repeating them for every task.
+ */
+public enum BoardFormat {
+    JSON(MediaType.APPLICATION_JSON, new JsonFactory()),
+    CBOR(MediaType.APPLICATION_CBOR, new CBORFactory()),
+    SMILE(new MediaType("application", "x-jackson-smile"), new SmileFactory());
+
+    public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+
+    private final MediaType mediaType;
+    private final JsonFactory factory;
+
+    BoardFormat(MediaType mediaType, JsonFactory factory) {
+        this.mediaType = mediaType;
+        this.factory = factory;
+    }
+
+    public MediaType mediaType() {
+        return mediaType;
+    }
+
+    public JsonFactory factory() {
+        return factory;
+    }
+
+    /**
+     * Re-encodes a board written as JSON, token by token, without building a tree or DTOs.
+     */
+    public byte[] fromJson(byte[] json) {
+        if (this == JSON) {
+            return json;
+        }
+        var out = new ByteArrayOutputStream(json.length / 2);
+        try (var parser = JSON.factory.createParser(json); var generator = factory.createGenerator(out)) {
+            while (parser.nextToken() != null) {
+                generator.copyCurrentEvent(parser);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,130 @@
+package com.worldline.taskboard.model.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.worldline.taskboard.model.dtos.TaskDto;
+import com.worldline.taskboard.model.dtos.TaskListDto;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Writes the board in the JSON shape of {@link TaskListDto} and {@link TaskDto} straight from the column values, one
+ * list and task at a time, without building the DTOs first. Lists are written either as one JSON array or as one
+ * list per line (NDJSON).
+ * <p>
+ * Callers announce a list with {@link #list(long, String)}, then each of its tasks in list order, and end the board
+ * with {@link #finish()}.
+ */
+public final class BoardJsonWriter {
+
+    private static final int INITIAL_BUFFER_SIZE = 8192;
+
+    private final JsonGenerator generator;
+    private final boolean lineDelimited;
+    private boolean inList;
+
+    private BoardJsonWriter(JsonGenerator generator, boolean lineDelimited) {
+        this.generator = generator;
+        this.lineDelimited = lineDelimited;
+    }
+
+    public static BoardJsonWriter array(JsonGenerator generator) {
+        try {
+            generator.writeStartArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new BoardJsonWriter(generator, false);
+    }
+
+    public static BoardJsonWriter lines(JsonGenerator generator) {
+        generator.setRootValueSeparator(null);
+        return new BoardJsonWriter(generator, true);
+    }
+
+    /**
+     * The board written by {@code board}, as a JSON array.
+     */
+    public static byte[] toBytes(Consumer<BoardJsonWriter> board) {
+        var out = new ByteArrayOutputStream(INITIAL_BUFFER_SIZE);
+        // Only field names, strings and numbers are written, so none of the ObjectMapper settings apply
+        try (var generator = BoardFormat.JSON.factory().createGenerator(out)) {
+            var writer = array(generator);
+            board.accept(writer);
+            writer.finish();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Already mapped lists as a JSON array, e.g. lists that include writes not in the database yet.
+     */
+    public static byte[] toBytes(List<TaskListDto> lists) {
+        return toBytes(writer -> lists.forEach(writer::list));
+    }
+
+    public void list(long listId, String name) {
+        try {
+            endList();
+            generator.writeStartObject();
+            generator.writeNumberField("listId", listId);
+            generator.writeStringField("name", name);
+            generator.writeArrayFieldStart("tasks");
+            inList = true;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void task(long taskId, String name, String description, long version, long rank) {
+        try {
+            generator.writeStartObject();
+            generator.writeNumberField("taskId", taskId);
+            generator.writeObjectFieldStart("taskDetails");
+            generator.writeStringField("name", name);
+            generator.writeStringField("description", description);
+            generator.writeEndObject();
+            generator.writeNumberField("version", version);
+            generator.writeNumberField("rank", rank);
+            generator.writeEndObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void list(TaskListDto taskListDto) {
+        list(taskListDto.getListId(), taskListDto.getName());
+        if (taskListDto.getTasks() != null) {
+            taskListDto.getTasks().forEach(task -> task(task.taskId(), task.taskDetails().name(),
+                    task.taskDetails().description(), task.version(), task.rank()));
+        }
+    }
+
+    public void finish() {
+        try {
+            endList();
+            if (!lineDelimited) {
+                generator.writeEndArray();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void endList() throws IOException {
+        if (!inList) {
+            return;
+        }
+        generator.writeEndArray();
+        generator.writeEndObject();
+        if (lineDelimited) {
+            generator.writeRaw('\n');
+        }
+        inList = false;
+    }
+}
@@ -0,0 +1,83 @@
+package com.worldline.taskboard.repository;
+
+import com.worldline.taskboard.events.BoardChangeEvent;
+import com.worldline.taskboard.events.BoardChangeType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * The change log in {@code board_change}: one row per board version, naming the list or task that changed. Deleted
+ * lists and tasks are kept as rows of their deletion, so the log doubles as the tombstones of hard-deleted rows.
+ */
+@Repository
+@RequiredArgsConstructor
+public class BoardChangeRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Increments the board version and logs the change under the new version, in one statement. Has to run inside the
+     * changing transaction: the row lock on {@code board_version} then makes versions commit in ascending order, so a
+     * reader never sees version n + 1 without version n.
+     */
+    public void append(BoardChangeEvent event) {
+        jdbcTemplate.update("""
+                        WITH next AS (UPDATE board_version SET version = version + 1 WHERE id = 1 RETURNING version)
+                        INSERT INTO board_change (version, type, list_id, task_id)
+                        SELECT version, ?, ?, ? FROM next
+                        """,
+                event.type().name(), event.listId(), event.taskId());
+    }
+
+    /**
+     * Increments the board version by the number of changes and logs each of them under its own version, in order, in
+     * one statement whatever their number.
+     */
+    public void appendAll(List<BoardChangeEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update(con -> {
+            var ps = con.prepareStatement("""
+                    WITH next AS (UPDATE board_version SET version = version + ? WHERE id = 1 RETURNING version)
+                    INSERT INTO board_change (version, type, list_id, task_id)
+                    SELECT next.version - ? + c.position, c.type, c.list_id, c.task_id
+                    FROM next, unnest(CAST(? AS TEXT[]), CAST(? AS BIGINT[]), CAST(? AS BIGINT[]))
+                               WITH ORDINALITY AS c(type, list_id, task_id, position)
+                    """);
+            ps.setInt(1, events.size());
+            ps.setInt(2, events.size());
+            ps.setArray(3, con.createArrayOf("text",
+                    events.stream().map(event -> event.type().name()).toArray(String[]::new)));
+            ps.setArray(4, con.createArrayOf("bigint", events.stream().map(BoardChangeEvent::listId).toArray(Long[]::new)));
+            ps.setArray(5, con.createArrayOf("bigint", events.stream().map(BoardChangeEvent::taskId).toArray(Long[]::new)));
+            return ps;
+        });
+    }
+
+    /**
+     * The first {@code limit} changes after {@code version}, oldest first.
+     */
+    public List<BoardChange> findAfter(long version, int limit) {
+        return jdbcTemplate.query(
+                "SELECT version, type, list_id, task_id FROM board_change WHERE version > ? ORDER BY version LIMIT ?",
+                (rs, rowNum) -> new BoardChange(
+                        rs.getLong("version"),
+                        BoardChangeType.valueOf(rs.getString("type")),
+                        rs.getObject("list_id", Long.class),
+                        rs.getObject("task_id", Long.class)),
+                version, limit);
+    }
+
+    public int deleteOlderThan(Duration age) {
+        return jdbcTemplate.update("DELETE FROM board_change WHERE changed_at < CURRENT_TIMESTAMP - make_interval(secs => ?)",
+                age.toSeconds());
+    }
+
+    public record BoardChange(long version, BoardChangeType type, Long listId, Long taskId) {
+    }
+}
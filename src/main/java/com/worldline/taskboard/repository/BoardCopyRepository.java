@@ -0,0 +1,127 @@
+package com.worldline.taskboard.repository;
+
+import com.worldline.taskboard.model.dtos.BoardImportResultDto;
+import lombok.RequiredArgsConstructor;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.springframework.jdbc.UncategorizedSQLException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.support.SQLStateSQLExceptionTranslator;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.SQLException;
+
+/**
+ * Moves whole tables between the database and a stream with PostgreSQL {@code COPY}, in CSV with a header row,
+ * without mapping rows to entities.
+ * <p>
+ * Imports go through staging tables: {@link #createStagingTables()}, then {@code copyIn...}, then
+ * {@link #mergeStagingTables()}, which gives every imported list a new id and points its tasks to it. All methods
+ * must run in the caller's transaction so that they share its connection.
+ * <p>
+ * Tasks are exported in their order within their list and imported in file order, so that imported tasks are ranked
+ * like the exported ones without the ranks being part of the format.
+ */
+@Repository
+@RequiredArgsConstructor
+@Transactional(propagation = Propagation.MANDATORY)
+public class BoardCopyRepository {
+
+    private static final String EXPORT_TASK_LISTS = """
+            COPY (SELECT id, name, created_at, updated_at FROM task_list ORDER BY id)
+            TO STDOUT WITH (FORMAT csv, HEADER)
+            """;
+    private static final String EXPORT_TASKS = """
+            COPY (SELECT id, list_id, name, description, created_at, updated_at FROM task ORDER BY list_id, rank, id)
+            TO STDOUT WITH (FORMAT csv, HEADER)
+            """;
+    private static final String IMPORT_TASK_LISTS = "COPY import_task_list FROM STDIN WITH (FORMAT csv, HEADER)";
+    private static final String IMPORT_TASKS = """
+            COPY import_task (id, list_id, name, description, created_at, updated_at)
+            FROM STDIN WITH (FORMAT csv, HEADER)
+            """;
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+
+    public long copyOutTaskLists(OutputStream out) {
+        return copy(EXPORT_TASK_LISTS, copyManager -> copyManager.copyOut(EXPORT_TASK_LISTS, out));
+    }
+
+    public long copyOutTasks(OutputStream out) {
+        return copy(EXPORT_TASKS, copyManager -> copyManager.copyOut(EXPORT_TASKS, out));
+    }
+
+    public void createStagingTables() {
+        jdbcTemplate.execute("""
+                CREATE TEMP TABLE import_task_list (
+                    id BIGINT, name VARCHAR(100), created_at TIMESTAMP, updated_at TIMESTAMP
+                ) ON COMMIT DROP
+                """);
+        jdbcTemplate.execute("""
+                CREATE TEMP TABLE import_task (
+                    id BIGINT, list_id BIGINT, name VARCHAR(100), description TEXT,
+                    created_at TIMESTAMP, updated_at TIMESTAMP,
+                    line BIGSERIAL
+                ) ON COMMIT DROP
+                """);
+    }
+
+    public long copyInTaskLists(InputStream in) {
+        return copy(IMPORT_TASK_LISTS, copyManager -> copyManager.copyIn(IMPORT_TASK_LISTS, in));
+    }
+
+    public long copyInTasks(InputStream in) {
+        return copy(IMPORT_TASKS, copyManager -> copyManager.copyIn(IMPORT_TASKS, in));
+    }
+
+    /**
+     * Inserts the staged rows with fresh ids, keeping their timestamps.
+     */
+    public BoardImportResultDto mergeStagingTables() {
+        jdbcTemplate.execute("""
+                CREATE TEMP TABLE import_list_id_map ON COMMIT DROP AS
+                SELECT id AS old_id, nextval(pg_get_serial_sequence('task_list', 'id')) AS new_id
+                FROM import_task_list
+                """);
+        var lists = jdbcTemplate.update("""
+                INSERT INTO task_list (id, name, created_at, updated_at)
+                SELECT m.new_id, l.name, l.created_at, l.updated_at
+                FROM import_task_list l
+                JOIN import_list_id_map m ON m.old_id = l.id
+                """);
+        var tasks = jdbcTemplate.update("""
+                INSERT INTO task (list_id, name, description, created_at, updated_at)
+                SELECT m.new_id, t.name, t.description, t.created_at, t.updated_at
+                FROM import_task t
+                LEFT JOIN import_list_id_map m ON m.old_id = t.list_id
+                ORDER BY t.line
+                """);
+        return new BoardImportResultDto(lists, tasks);
+    }
+
+    private long copy(String sql, CopyOperation operation) {
+        try {
+            var connection = DataSourceUtils.getConnection(dataSource);
+            return operation.execute(connection.unwrap(PGConnection.class).getCopyAPI());
+        } catch (SQLException e) {
+            var translated = new SQLStateSQLExceptionTranslator().translate("COPY", sql, e);
+            throw translated != null ? translated : new UncategorizedSQLException("COPY", sql, e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface CopyOperation {
+        long execute(CopyManager copyManager) throws SQLException, IOException;
+    }
+}
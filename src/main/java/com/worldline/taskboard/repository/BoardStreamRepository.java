@@ -0,0 +1,71 @@
+package com.worldline.taskboard.repository;
+
+import com.worldline.taskboard.model.json.BoardJsonWriter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Reads the whole board through a server-side cursor and writes it row by row, so that memory usage does not depend on
+ * the size of the board and no entity or DTO is built on the way.
+ * <p>
+ * PostgreSQL only honours the fetch size inside a transaction, so callers that stream must run in one (read-only is
+ * enough). Outside of one the whole result is read at once, which is fine for a board that is buffered anyway.
+ */
+@Repository
+@RequiredArgsConstructor
+public class BoardStreamRepository {
+
+    static final int FETCH_SIZE = 500;
+
+    private static final String BOARD_QUERY = """
+            SELECT l.id AS list_id, l.name AS list_name,
+                   t.id AS task_id, t.name AS task_name, t.description, t.version, t.rank
+            FROM task_list l
+            LEFT JOIN task t ON t.list_id = l.id
+            ORDER BY l.id, t.rank, t.id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void writeBoard(BoardJsonWriter writer) {
+        jdbcTemplate.query(connection -> {
+            var statement = connection.prepareStatement(BOARD_QUERY, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(FETCH_SIZE);
+            return statement;
+        }, new ListWriter(writer));
+    }
+
+    /**
+     * Starts a new list whenever the join moves on to the next one; lists without tasks come as a single row without
+     * task columns.
+     */
+    private static final class ListWriter implements RowCallbackHandler {
+        private final BoardJsonWriter writer;
+        private boolean started;
+        private long currentListId;
+
+        private ListWriter(BoardJsonWriter writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            var listId = rs.getLong("list_id");
+            if (!started || currentListId != listId) {
+                writer.list(listId, rs.getString("list_name"));
+                started = true;
+                currentListId = listId;
+            }
+            var taskId = rs.getLong("task_id");
+            if (!rs.wasNull()) {
+                writer.task(taskId, rs.getString("task_name"), rs.getString("description"), rs.getLong("version"),
+                        rs.getLong("rank"));
+            }
+        }
+    }
+}
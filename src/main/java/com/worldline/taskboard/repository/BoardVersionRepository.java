@@ -0,0 +1,21 @@
+package com.worldline.taskboard.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * The board version: a counter in the single row of {@code board_version} that every board-changing transaction
+ * increments before it commits, so that the new version becomes visible atomically with the change. It is incremented
+ * together with the change log by {@link BoardChangeRepository#append}.
+ */
+@Repository
+@RequiredArgsConstructor
+public class BoardVersionRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public long currentVersion() {
+        return jdbcTemplate.queryForObject("SELECT version FROM board_version WHERE id = 1", Long.class);
+    }
+}
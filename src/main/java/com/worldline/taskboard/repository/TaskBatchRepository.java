@@ -0,0 +1,230 @@
+package com.worldline.taskboard.repository;
+
+import com.worldline.taskboard.model.dtos.TaskDetailsDto;
+import com.worldline.taskboard.model.dtos.TaskOperationDto;
+import com.worldline.taskboard.model.entities.Task;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static com.worldline.taskboard.repository.TaskRankRepository.RANK_GAP;
+import static com.worldline.taskboard.repository.TaskRepository.TASK_COLUMNS;
+
+/**
+ * Inserts many tasks with a single JDBC batch instead of one {@code save} per task, and deletes them in chunks.
+ * Updates, moves and deletes of many given tasks take one statement each, whatever the number of tasks: the values of
+ * the tasks are passed as arrays and joined in with {@code unnest}.
+ */
+@Repository
+@RequiredArgsConstructor
+public class TaskBatchRepository {
+
+    private static final String INSERT_TASK = """
+            INSERT INTO task (list_id, name, description, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?)
+            ON CONFLICT (list_id, name) DO NOTHING
+            """;
+
+    private static final String DELETE_TASKS_OF_LIST = """
+            DELETE FROM task
+            WHERE id IN (SELECT id FROM task WHERE list_id = ? LIMIT ?)
+            """;
+
+    // Same conditions as TaskRepository.updateDetails, per task. A name already taken in the list skips the task
+    // instead of failing the statement; only names taken by another task of the same statement still fail it
+    private static final String UPDATE_TASKS = """
+            UPDATE task t SET name = u.new_name, description = u.new_description, updated_at = ?, version = t.version + 1
+            FROM unnest(CAST(? AS BIGINT[]), CAST(? AS TEXT[]), CAST(? AS TEXT[]), CAST(? AS BIGINT[]))
+                 AS u(task_id, new_name, new_description, expected_version)
+            WHERE t.id = u.task_id AND (u.expected_version IS NULL OR t.version = u.expected_version)
+              AND NOT EXISTS (SELECT 1 FROM task d WHERE d.list_id = t.list_id AND d.name = u.new_name AND d.id <> t.id)
+            RETURNING\s""" + TASK_COLUMNS;
+
+    // Same conditions as TaskRepository.moveToList, per task, and the name check of UPDATE_TASKS in the target list.
+    // The ranks are taken in the subquery, which unnest feeds in the order of the moves, so tasks moved to the same
+    // list keep that order at its end
+    private static final String MOVE_TASKS = """
+            UPDATE task t SET list_id = m.target_list_id, rank = m.new_rank, updated_at = ?, version = t.version + 1
+            FROM (SELECT o.task_id, o.target_list_id, o.expected_version, nextval('task_rank_seq') * ? AS new_rank
+                  FROM unnest(CAST(? AS BIGINT[]), CAST(? AS BIGINT[]), CAST(? AS BIGINT[]))
+                       AS o(task_id, target_list_id, expected_version)) m
+            WHERE t.id = m.task_id AND (m.expected_version IS NULL OR t.version = m.expected_version)
+              AND EXISTS (SELECT 1 FROM task_list l WHERE l.id = m.target_list_id)
+              AND NOT EXISTS (SELECT 1 FROM task d WHERE d.list_id = m.target_list_id AND d.name = t.name AND d.id <> t.id)
+            RETURNING\s""" + TASK_COLUMNS;
+
+    private static final String DELETE_TASKS = """
+            DELETE FROM task t
+            USING unnest(CAST(? AS BIGINT[]), CAST(? AS BIGINT[])) AS d(task_id, expected_version)
+            WHERE t.id = d.task_id AND (d.expected_version IS NULL OR t.version = d.expected_version)
+            RETURNING\s""" + TASK_COLUMNS;
+
+    private static final String FIND_TASK_STATES = """
+            SELECT o.task_id, t.version,
+                   EXISTS (SELECT 1 FROM task_list l WHERE l.id = o.target_list_id) AS target_list_exists
+            FROM unnest(CAST(? AS BIGINT[]), CAST(? AS BIGINT[])) AS o(task_id, target_list_id)
+            JOIN task t ON t.id = o.task_id
+            """;
+
+    private static final RowMapper<Task> TASK_ROW_MAPPER = (rs, rowNum) -> Task.builder()
+            .id(rs.getLong("id"))
+            .listId(rs.getObject("list_id", Long.class))
+            .name(rs.getString("name"))
+            .description(rs.getString("description"))
+            .createdAt(rs.getObject("created_at", LocalDateTime.class))
+            .updatedAt(rs.getObject("updated_at", LocalDateTime.class))
+            .version(rs.getLong("version"))
+            .rank(rs.getLong("rank"))
+            .build();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public List<String> findNamesByListId(Long listId) {
+        return jdbcTemplate.queryForList("SELECT name FROM task WHERE list_id = ?", String.class, listId);
+    }
+
+    /**
+     * Inserts all {@code tasks} into the list, skipping the ones whose name is already taken in the list.
+     *
+     * @return one entry per task: {@code 1} if it was inserted, {@code 0} if it was skipped as a duplicate
+     */
+    public int[] insertIgnoringDuplicates(Long listId, List<TaskDetailsDto> tasks) {
+        var now = Timestamp.valueOf(LocalDateTime.now());
+        return jdbcTemplate.batchUpdate(INSERT_TASK, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                var task = tasks.get(i);
+                ps.setLong(1, listId);
+                ps.setString(2, task.name());
+                ps.setString(3, task.description());
+                ps.setTimestamp(4, now);
+                ps.setTimestamp(5, now);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return tasks.size();
+            }
+        });
+    }
+
+    /**
+     * Deletes up to {@code limit} tasks of the list.
+     *
+     * @return the number of deleted tasks; less than {@code limit} once the list has no tasks left
+     */
+    public int deleteByListId(Long listId, int limit) {
+        return jdbcTemplate.update(DELETE_TASKS_OF_LIST, listId, limit);
+    }
+
+    /**
+     * Sets the details of every {@code UPDATE} operation in one statement, unless its task is no longer at the expected
+     * version or another task of its list has the new name.
+     *
+     * @return the updated tasks; tasks that do not exist, are at another version or whose new name is taken are missing
+     */
+    public List<Task> updateDetails(List<TaskOperationDto> updates) {
+        if (updates.isEmpty()) {
+            return List.of();
+        }
+        var now = Timestamp.valueOf(LocalDateTime.now());
+        return jdbcTemplate.query(con -> {
+            var ps = con.prepareStatement(UPDATE_TASKS);
+            ps.setTimestamp(1, now);
+            ps.setArray(2, bigints(con, updates, TaskOperationDto::taskId));
+            ps.setArray(3, texts(con, updates, update -> update.taskDetails().name()));
+            ps.setArray(4, texts(con, updates, update -> update.taskDetails().description()));
+            ps.setArray(5, bigints(con, updates, TaskOperationDto::version));
+            return ps;
+        }, TASK_ROW_MAPPER);
+    }
+
+    /**
+     * Moves the task of every {@code MOVE} operation to the end of its target list in one statement, unless the list
+     * does not exist or already has a task of that name, or the task is no longer at the expected version.
+     *
+     * @return the moved tasks; tasks that do not exist, are at another version, target a missing list or whose name is
+     * taken there are missing
+     */
+    public List<Task> moveToLists(List<TaskOperationDto> moves) {
+        if (moves.isEmpty()) {
+            return List.of();
+        }
+        var now = Timestamp.valueOf(LocalDateTime.now());
+        return jdbcTemplate.query(con -> {
+            var ps = con.prepareStatement(MOVE_TASKS);
+            ps.setTimestamp(1, now);
+            ps.setLong(2, RANK_GAP);
+            ps.setArray(3, bigints(con, moves, TaskOperationDto::taskId));
+            ps.setArray(4, bigints(con, moves, TaskOperationDto::listId));
+            ps.setArray(5, bigints(con, moves, TaskOperationDto::version));
+            return ps;
+        }, TASK_ROW_MAPPER);
+    }
+
+    /**
+     * Deletes the task of every {@code DELETE} operation in one statement, unless it is no longer at the expected
+     * version.
+     *
+     * @return the deleted tasks as they were; tasks that do not exist or are at another version are missing
+     */
+    public List<Task> delete(List<TaskOperationDto> deletes) {
+        if (deletes.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.query(con -> {
+            var ps = con.prepareStatement(DELETE_TASKS);
+            ps.setArray(1, bigints(con, deletes, TaskOperationDto::taskId));
+            ps.setArray(2, bigints(con, deletes, TaskOperationDto::version));
+            return ps;
+        }, TASK_ROW_MAPPER);
+    }
+
+    /**
+     * The current state of the task of each operation, for explaining why it was not applied, in one statement.
+     *
+     * @return the states by task id; tasks that do not exist are missing
+     */
+    public Map<Long, TaskState> findStates(List<TaskOperationDto> operations) {
+        var states = new HashMap<Long, TaskState>();
+        jdbcTemplate.query(con -> {
+            var ps = con.prepareStatement(FIND_TASK_STATES);
+            ps.setArray(1, bigints(con, operations, TaskOperationDto::taskId));
+            ps.setArray(2, bigints(con, operations, TaskOperationDto::listId));
+            return ps;
+        }, rs -> {
+            states.put(rs.getLong("task_id"),
+                    new TaskState(rs.getLong("version"), rs.getBoolean("target_list_exists")));
+        });
+        return states;
+    }
+
+    private static Array bigints(Connection con, List<TaskOperationDto> operations,
+                                 Function<TaskOperationDto, Long> value) throws SQLException {
+        return con.createArrayOf("bigint", operations.stream().map(value).toArray(Long[]::new));
+    }
+
+    private static Array texts(Connection con, List<TaskOperationDto> operations,
+                               Function<TaskOperationDto, String> value) throws SQLException {
+        return con.createArrayOf("text", operations.stream().map(value).toArray(String[]::new));
+    }
+
+    /**
+     * @param targetListExists whether the list the operation moves the task to exists; false for other operations
+     */
+    public record TaskState(long version, boolean targetListExists) {
+    }
+}
@@ -1,12 +1,26 @@
 package com.worldline.taskboard.repository;
 
 import com.worldline.taskboard.model.entities.TaskList;
+import org.springframework.data.jdbc.repository.query.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface TaskListRepository extends CrudRepository<TaskList, Long> {
     Optional<TaskList> findByName(String name);
+
+    @Query("SELECT * FROM task_list WHERE id > :afterListId ORDER BY id LIMIT :limit")
+    List<TaskList> findPageAfterId(@Param("afterListId") Long afterListId, @Param("limit") int limit);
+
+    /**
+     * Deletes the list and, through the cascading foreign key, all its tasks in one statement.
+     *
+     * @return the deleted list, or empty if it did not exist
+     */
+    @Query("DELETE FROM task_list WHERE id = :id RETURNING *")
+    Optional<TaskList> deleteReturning(@Param("id") Long id);
 }
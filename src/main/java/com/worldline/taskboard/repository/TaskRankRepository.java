@@ -0,0 +1,101 @@
+package com.worldline.taskboard.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Maintains the gap-based {@code rank} that orders the tasks of a list. New tasks get ranks {@value #RANK_GAP} apart
+ * from the column default, so a task is placed between two others by writing its own row only, with the rank halfway
+ * between theirs. Only when two neighbours are adjacent numbers does the list get renumbered, by {@link #rebalance}.
+ * <p>
+ * Placing a task locks its target list (not its tasks) until the transaction ends, so that placements in one list,
+ * which read their neighbours before writing, and rebalancing do not interleave. Appending needs no lock: it takes the
+ * next value of the rank sequence, which is after every rank placed so far.
+ */
+@Repository
+@RequiredArgsConstructor
+public class TaskRankRepository {
+
+    /**
+     * Spacing of the ranks assigned on insert and by {@link #rebalance}; the rank column default uses the same step.
+     */
+    public static final long RANK_GAP = 65_536;
+
+    private static final String FIND_NEIGHBOURS = """
+            SELECT a.id AS after_id, a.rank AS after_rank,
+                   (SELECT min(t.rank) FROM task t
+                    WHERE t.list_id = l.id AND t.id <> ? AND (a.rank IS NULL OR t.rank > a.rank)) AS before_rank
+            FROM task_list l
+            LEFT JOIN task a ON a.id = ? AND a.list_id = l.id
+            WHERE l.id = ?
+            FOR NO KEY UPDATE OF l
+            """;
+
+    private static final String REBALANCE = """
+            UPDATE task SET rank = ranked.rank
+            FROM (SELECT id, row_number() OVER (ORDER BY rank, id) * ? AS rank FROM task WHERE list_id = ?) ranked
+            WHERE task.id = ranked.id AND task.rank <> ranked.rank
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Locks the list and reads the ranks around the place of {@code taskId} right after {@code afterTaskId}, or at the
+     * start of the list when it is null. {@code taskId} itself is skipped, it is the task being placed.
+     *
+     * @return the neighbours, or empty if the list does not exist
+     */
+    public Optional<Neighbours> lockAndFindNeighbours(Long listId, Long afterTaskId, Long taskId) {
+        return jdbcTemplate.query(FIND_NEIGHBOURS, rs -> rs.next()
+                        ? Optional.of(new Neighbours(
+                                rs.getObject("after_id", Long.class),
+                                rs.getObject("after_rank", Long.class),
+                                rs.getObject("before_rank", Long.class)))
+                        : Optional.empty(),
+                taskId, afterTaskId, listId);
+    }
+
+    /**
+     * Renumbers the tasks of the list {@value #RANK_GAP} apart, keeping their order, in one statement.
+     *
+     * @return the number of tasks that got a new rank
+     */
+    public int rebalance(Long listId) {
+        return jdbcTemplate.update(REBALANCE, RANK_GAP, listId);
+    }
+
+    /**
+     * The ranks a task is placed between.
+     *
+     * @param afterTaskId the task to place it after, if it exists in the list
+     * @param afterRank   the rank of that task; null to place the task first
+     * @param beforeRank  the rank of the task that will follow it; null to place the task last
+     */
+    public record Neighbours(Long afterTaskId, Long afterRank, Long beforeRank) {
+
+        /**
+         * Whether the task goes last; the rank is then taken from the rank sequence like for a new task.
+         */
+        public boolean atEnd() {
+            return beforeRank == null;
+        }
+
+        /**
+         * Whether there is a free rank between the neighbours; if not, the list has to be rebalanced first.
+         */
+        public boolean hasRoom() {
+            return atEnd() || afterRank == null || beforeRank - afterRank > 1;
+        }
+
+        /**
+         * The rank halfway between the neighbours, or one gap before the first task. Only valid if
+         * {@link #hasRoom()} and not {@link #atEnd()}.
+         */
+        public long rank() {
+            return afterRank == null ? beforeRank - RANK_GAP : afterRank + (beforeRank - afterRank) / 2;
+        }
+    }
+}
@@ -1,12 +1,104 @@
 package com.worldline.taskboard.repository;
 
 import com.worldline.taskboard.model.entities.Task;
+import org.springframework.data.jdbc.repository.query.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface TaskRepository extends CrudRepository<Task, Long> {
+
+    /**
+     * The mapped columns of {@link Task}: the search vector of the table is only read by {@link TaskSearchRepository}.
+     */
+    String TASK_COLUMNS = "id, list_id, name, description, created_at, updated_at, version, rank";
+
     List<Task> findByListId(Long listId);
+
+    /**
+     * Loads every task that belongs to a list in a single round trip, grouped by list, so that the whole board can be
+     * assembled without querying tasks once per list.
+     */
+    @Query("SELECT " + TASK_COLUMNS + " FROM task WHERE list_id IS NOT NULL ORDER BY list_id, rank, id")
+    List<Task> findAllAssignedOrderByListId();
+
+    @Query("SELECT " + TASK_COLUMNS + " FROM task WHERE list_id IN (:listIds) ORDER BY list_id, rank, id")
+    List<Task> findAllByListIds(@Param("listIds") Collection<Long> listIds);
+
+    /**
+     * A page of the list in rank order, after the task {@code afterTaskId} (0: from the start). Paging ends early if
+     * that task was deleted or moved to another list meanwhile.
+     */
+    @Query("SELECT " + TASK_COLUMNS + """
+             FROM task
+            WHERE list_id = :listId
+              AND (:afterTaskId = 0
+                   OR (rank, id) > (SELECT c.rank, c.id FROM task c WHERE c.id = :afterTaskId AND c.list_id = :listId))
+            ORDER BY rank, id
+            LIMIT :limit
+            """)
+    List<Task> findPageByListIdAfterId(@Param("listId") Long listId,
+                                       @Param("afterTaskId") Long afterTaskId,
+                                       @Param("limit") int limit);
+
+    /**
+     * Renames the task in one statement, unless it is no longer at {@code expectedVersion} (null: any version).
+     *
+     * @return the updated task, or empty if it does not exist or is at another version
+     */
+    @Query("""
+            UPDATE task SET name = :name, description = :description, updated_at = :updatedAt, version = version + 1
+            WHERE id = :id AND (CAST(:expectedVersion AS BIGINT) IS NULL OR version = :expectedVersion)
+            RETURNING\s""" + TASK_COLUMNS)
+    Optional<Task> updateDetails(@Param("id") Long id,
+                                 @Param("name") String name,
+                                 @Param("description") String description,
+                                 @Param("updatedAt") LocalDateTime updatedAt,
+                                 @Param("expectedVersion") Long expectedVersion);
+
+    /**
+     * Moves the task to the end of the list in one statement, unless the target list does not exist or the task is no
+     * longer at {@code expectedVersion} (null: any version).
+     *
+     * @return the moved task, or empty if the task or the list does not exist or the task is at another version
+     */
+    @Query("""
+            UPDATE task SET list_id = :listId, rank = DEFAULT, updated_at = :updatedAt, version = version + 1
+            WHERE id = :id AND (CAST(:expectedVersion AS BIGINT) IS NULL OR version = :expectedVersion)
+              AND EXISTS (SELECT 1 FROM task_list WHERE id = :listId)
+            RETURNING\s""" + TASK_COLUMNS)
+    Optional<Task> moveToList(@Param("id") Long id,
+                              @Param("listId") Long listId,
+                              @Param("updatedAt") LocalDateTime updatedAt,
+                              @Param("expectedVersion") Long expectedVersion);
+
+    /**
+     * Moves the task to {@code rank} in the list, computed from its new neighbours by {@link TaskRankRepository}.
+     *
+     * @return the moved task, or empty if the task does not exist or is at another version
+     */
+    @Query("""
+            UPDATE task SET list_id = :listId, rank = :rank, updated_at = :updatedAt, version = version + 1
+            WHERE id = :id AND (CAST(:expectedVersion AS BIGINT) IS NULL OR version = :expectedVersion)
+            RETURNING\s""" + TASK_COLUMNS)
+    Optional<Task> moveToRank(@Param("id") Long id,
+                              @Param("listId") Long listId,
+                              @Param("rank") long rank,
+                              @Param("updatedAt") LocalDateTime updatedAt,
+                              @Param("expectedVersion") Long expectedVersion);
+
+    /**
+     * @return the deleted task, or empty if it did not exist
+     */
+    @Query("DELETE FROM task WHERE id = :id RETURNING " + TASK_COLUMNS)
+    Optional<Task> deleteReturning(@Param("id") Long id);
+
+    @Query("SELECT version FROM task WHERE id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
 }
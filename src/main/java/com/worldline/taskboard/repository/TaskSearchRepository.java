@@ -0,0 +1,57 @@
+package com.worldline.taskboard.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Full-text search over the generated {@code task.search_vector} column, served by its GIN index. Queries use the
+ * web search syntax of PostgreSQL ({@code "quoted phrases"}, {@code or}, {@code -excluded}); hits are ordered by
+ * {@code ts_rank}, matches in the name weighing more than matches in the description.
+ * <p>
+ * Results are paginated by keyset on {@code (score, id)}, both descending, so a page costs the same wherever it
+ * starts. Ranking has to score every match, though: very common terms cost in proportion to their number of matches,
+ * which the list filter narrows down.
+ */
+@Repository
+@RequiredArgsConstructor
+public class TaskSearchRepository {
+
+    private static final String SEARCH = """
+            SELECT id, list_id, name, description, version, rank, score
+            FROM (SELECT t.id, t.list_id, t.name, t.description, t.version, t.rank,
+                         ts_rank(t.search_vector, q.query) AS score
+                  FROM task t, websearch_to_tsquery('english', ?) AS q(query)
+                  WHERE t.search_vector @@ q.query
+                    AND (CAST(? AS BIGINT) IS NULL OR t.list_id = ?)) hits
+            WHERE CAST(? AS REAL) IS NULL OR (score, id) < (?, ?)
+            ORDER BY score DESC, id DESC
+            LIMIT ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * @param listId     only search this list; null for the whole board
+     * @param afterScore the score of the last hit of the previous page, or null for the first page
+     * @param afterId    the id of the last hit of the previous page
+     */
+    public List<TaskHit> search(String query, Long listId, Float afterScore, Long afterId, int limit) {
+        return jdbcTemplate.query(SEARCH,
+                (rs, rowNum) -> new TaskHit(
+                        rs.getLong("id"),
+                        rs.getObject("list_id", Long.class),
+                        rs.getString("name"),
+                        rs.getString("description"),
+                        rs.getLong("version"),
+                        rs.getLong("rank"),
+                        rs.getFloat("score")),
+                query, listId, listId, afterScore, afterScore, afterId, limit);
+    }
+
+    public record TaskHit(long id, Long listId, String name, String description, long version, long rank,
+                          float score) {
+    }
+}
@@ -0,0 +1,136 @@
+package com.worldline.taskboard.repository;
+
+import com.worldline.taskboard.model.entities.Task;
+import com.worldline.taskboard.writebehind.TaskWrite;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static com.worldline.taskboard.repository.TaskRankRepository.RANK_GAP;
+
+/**
+ * The database side of the write-behind mode: one read that validates a task write before it is journaled, and the
+ * batched write of the journaled task states.
+ */
+@Repository
+@RequiredArgsConstructor
+public class TaskWriteBehindRepository {
+
+    private static final String CHECK = """
+            SELECT t.id, t.list_id, t.name, t.description, t.created_at, t.updated_at, t.version, t.rank,
+                   EXISTS (SELECT 1 FROM task_list l WHERE l.id = COALESCE(CAST(? AS BIGINT), t.list_id)) AS list_exists,
+                   EXISTS (SELECT 1 FROM task d
+                           WHERE d.list_id = COALESCE(CAST(? AS BIGINT), t.list_id)
+                             AND d.name = COALESCE(CAST(? AS TEXT), t.name)
+                             AND d.id <> t.id) AS name_taken,
+                   CASE WHEN ? THEN nextval('task_rank_seq') * ? END AS next_rank
+            FROM task t
+            WHERE t.id = ?
+            """;
+
+    // The database may still be at the base version or at any of the versions flushed since, never beyond
+    private static final String APPLY = """
+            UPDATE task SET list_id = ?, name = ?, description = ?, rank = ?, updated_at = ?, version = ?
+            WHERE id = ? AND version >= ? AND version < ?
+            """;
+
+    private static final String FIND_VERSIONS = "SELECT id, version FROM task WHERE id = ANY(?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Reads the task as it is in the database, and whether the write is possible there: {@code listId} exists and
+     * has no other task named {@code name}. Null values stand for the task's list and name in the database.
+     *
+     * @param allocateRank whether to take a rank at the end of the list from the rank sequence, for a move
+     * @return empty if the task does not exist
+     */
+    public Optional<WriteCheck> check(Long taskId, Long listId, String name, boolean allocateRank) {
+        return jdbcTemplate.query(CHECK, rs -> rs.next()
+                        ? Optional.of(new WriteCheck(
+                                Task.builder()
+                                        .id(rs.getLong("id"))
+                                        .listId(rs.getObject("list_id", Long.class))
+                                        .name(rs.getString("name"))
+                                        .description(rs.getString("description"))
+                                        .createdAt(toLocalDateTime(rs.getTimestamp("created_at")))
+                                        .updatedAt(toLocalDateTime(rs.getTimestamp("updated_at")))
+                                        .version(rs.getLong("version"))
+                                        .rank(rs.getLong("rank"))
+                                        .build(),
+                                rs.getBoolean("list_exists"),
+                                rs.getBoolean("name_taken"),
+                                rs.getObject("next_rank", Long.class)))
+                        : Optional.empty(),
+                listId, listId, name, allocateRank, RANK_GAP, taskId);
+    }
+
+    /**
+     * Writes the state of every task in one JDBC batch, unless the task changed in the database independently of its
+     * pending writes or was deleted.
+     *
+     * @return one entry per write: {@code 1} if it was applied, {@code 0} if the task was changed or deleted
+     */
+    public int[] apply(List<TaskWrite> writes) {
+        return jdbcTemplate.batchUpdate(APPLY, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                var write = writes.get(i);
+                if (write.listId() != null) {
+                    ps.setLong(1, write.listId());
+                } else {
+                    ps.setNull(1, Types.BIGINT);
+                }
+                ps.setString(2, write.name());
+                ps.setString(3, write.description());
+                ps.setLong(4, write.rank());
+                ps.setTimestamp(5, Timestamp.valueOf(write.updatedAt()));
+                ps.setLong(6, write.version());
+                ps.setLong(7, write.taskId());
+                ps.setLong(8, write.baseVersion());
+                ps.setLong(9, write.version());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return writes.size();
+            }
+        });
+    }
+
+    /**
+     * The current version of each of the tasks that still exists.
+     */
+    public Map<Long, Long> findVersions(List<Long> taskIds) {
+        var versions = new HashMap<Long, Long>();
+        jdbcTemplate.query(con -> {
+            var ps = con.prepareStatement(FIND_VERSIONS);
+            ps.setArray(1, con.createArrayOf("bigint", taskIds.toArray(Long[]::new)));
+            return ps;
+        }, rs -> {
+            versions.put(rs.getLong("id"), rs.getLong("version"));
+        });
+        return versions;
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+
+    /**
+     * @param nextRank the rank at the end of the list, if one was allocated
+     */
+    public record WriteCheck(Task task, boolean listExists, boolean nameTaken, Long nextRank) {
+    }
+}
@@ -0,0 +1,298 @@
+package com.worldline.taskboard.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.worldline.taskboard.events.BoardChangeBatchEvent;
+import com.worldline.taskboard.events.BoardChangeEvent;
+import com.worldline.taskboard.events.RemoteBoardChangeEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Pushes committed {@link BoardChangeEvent}s, local ones and those of other nodes, to the subscribers of
+ * {@code GET /api/taskboard/events} as Server-Sent Events.
+ * <p>
+ * Subscriptions are asynchronous servlet requests: an idle subscriber holds a socket but no thread. Every event is
+ * serialized once; each subscriber then gets its own bounded queue, drained on a virtual thread of the fan-out
+ * executor, so a client that stops reading only parks its own drain and is disconnected once its queue is full.
+ * <p>
+ * The last {@code taskboard.events.buffer-size} events are kept in a ring buffer. A client reconnecting with a
+ * {@code Last-Event-ID} gets the events it missed replayed; when they are no longer buffered, or the id was issued by
+ * another node or before a restart, it gets a {@value #RESET_EVENT} event and has to reload the board.
+ */
+@Slf4j
+@Component
+public class BoardEventBroadcaster implements SmartLifecycle {
+
+    static final String RESET_EVENT = "RESET";
+    static final String SUBSCRIBERS_METRIC = "taskboard.events.subscribers";
+    static final String DISCONNECTED_METRIC = "taskboard.events.subscribers.disconnected";
+
+    private static final String RESET_DATA = "{\"type\":\"" + RESET_EVENT + "\"}";
+    private static final FeedEvent HEARTBEAT = new FeedEvent(null, null, null);
+
+    private final ObjectMapper objectMapper;
+    private final Counter slowSubscribers;
+    private final Duration timeout;
+    private final Duration heartbeatInterval;
+    private final int subscriberQueueSize;
+
+    // Ids are only meaningful within one run of one node
+    private final String epoch = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final FeedEvent[] buffer;
+    private long lastSequence;
+
+    private final ExecutorService fanout = Executors.newThreadPerTaskExecutor(Thread.ofVirtual()
+            .name("board-events-", 0)
+            .factory());
+    private ScheduledExecutorService heartbeat;
+
+    public BoardEventBroadcaster(ObjectMapper objectMapper,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${taskboard.events.buffer-size:1024}") int bufferSize,
+                                 @Value("${taskboard.events.subscriber-queue-size:256}") int subscriberQueueSize,
+                                 @Value("${taskboard.events.timeout:30m}") Duration timeout,
+                                 @Value("${taskboard.events.heartbeat-interval:15s}") Duration heartbeatInterval) {
+        this.objectMapper = objectMapper;
+        this.buffer = new FeedEvent[bufferSize];
+        this.subscriberQueueSize = subscriberQueueSize;
+        this.timeout = timeout;
+        this.heartbeatInterval = heartbeatInterval;
+        this.slowSubscribers = Counter.builder(DISCONNECTED_METRIC)
+                .description("Subscribers disconnected because they did not keep up with the events")
+                .register(meterRegistry);
+        Gauge.builder(SUBSCRIBERS_METRIC, subscribers, Set::size)
+                .description("Open board event subscriptions")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Opens a subscription, replaying the buffered events after {@code lastEventId} if there is one.
+     */
+    public SseEmitter subscribe(String lastEventId) {
+        var subscriber = new Subscriber(new SseEmitter(timeout.toMillis()));
+        subscriber.emitter.onCompletion(() -> unsubscribe(subscriber));
+        subscriber.emitter.onTimeout(() -> unsubscribe(subscriber));
+        subscriber.emitter.onError(error -> unsubscribe(subscriber));
+
+        // Replaying and registering under the publishing lock neither loses nor duplicates a concurrent event
+        lock.lock();
+        try {
+            if (lastEventId != null) {
+                replay(subscriber, lastEventId);
+            }
+            subscribers.add(subscriber);
+        } finally {
+            lock.unlock();
+        }
+        return subscriber.emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBoardChange(BoardChangeEvent event) {
+        publish(event);
+    }
+
+    /**
+     * A batch is one event: hundreds of task events at once would overflow the queue of every subscriber.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBoardChanges(BoardChangeBatchEvent batch) {
+        publish(batch.summary());
+    }
+
+    @EventListener
+    public void onRemoteBoardChange(RemoteBoardChangeEvent event) {
+        publish(event.event());
+    }
+
+    private void publish(BoardChangeEvent change) {
+        String data;
+        try {
+            data = objectMapper.writeValueAsString(change);
+        } catch (JsonProcessingException e) {
+            log.error("Could not serialize board change {}", change, e);
+            return;
+        }
+        lock.lock();
+        try {
+            var sequence = ++lastSequence;
+            var event = new FeedEvent(eventId(sequence), change.type().name(), data);
+            buffer[slot(sequence)] = event;
+            subscribers.forEach(subscriber -> subscriber.offer(event));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void replay(Subscriber subscriber, String lastEventId) {
+        var seen = parseSequence(lastEventId);
+        var missed = lastSequence - seen;
+        if (seen < 0 || missed < 0 || missed > buffer.length || missed > subscriberQueueSize) {
+            subscriber.offer(new FeedEvent(eventId(lastSequence), RESET_EVENT, RESET_DATA));
+            return;
+        }
+        for (var sequence = seen + 1; sequence <= lastSequence; sequence++) {
+            subscriber.offer(buffer[slot(sequence)]);
+        }
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        subscribers.remove(subscriber);
+    }
+
+    private String eventId(long sequence) {
+        return epoch + "-" + sequence;
+    }
+
+    /**
+     * The sequence number of an event id issued by this node since it started, or -1.
+     */
+    private long parseSequence(String eventId) {
+        var separator = eventId.lastIndexOf('-');
+        if (separator < 0 || !epoch.equals(eventId.substring(0, separator))) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(eventId.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private int slot(long sequence) {
+        return (int) (sequence % buffer.length);
+    }
+
+    @Override
+    public void start() {
+        heartbeat = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                .name("board-events-heartbeat")
+                .daemon()
+                .factory());
+        // Comments keep idle connections open through proxies and reveal subscribers that went away
+        heartbeat.scheduleAtFixedRate(() -> subscribers.forEach(subscriber -> subscriber.offer(HEARTBEAT)),
+                heartbeatInterval.toMillis(), heartbeatInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        heartbeat.shutdownNow();
+        // Open subscriptions would otherwise hold up a graceful shutdown until they time out
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+        fanout.shutdown();
+        heartbeat = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return heartbeat != null;
+    }
+
+    /**
+     * One event of the feed, already serialized; the {@link #HEARTBEAT} has neither id nor name.
+     */
+    private record FeedEvent(String id, String name, String data) {
+
+        SseEmitter.SseEventBuilder toSse() {
+            if (this == HEARTBEAT) {
+                return SseEmitter.event().comment("heartbeat");
+            }
+            return SseEmitter.event()
+                    .id(id)
+                    .name(name)
+                    .data(data, MediaType.APPLICATION_JSON);
+        }
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final BlockingQueue<FeedEvent> queue = new ArrayBlockingQueue<>(subscriberQueueSize);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean overrun = new AtomicBoolean();
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void offer(FeedEvent event) {
+            if (overrun.get()) {
+                return;
+            }
+            if (!queue.offer(event)) {
+                // Too slow: the client reconnects with its Last-Event-ID and catches up from the buffer or resets.
+                // Called under the publishing lock, so the drain completes the emitter, which may block on the client
+                if (overrun.compareAndSet(false, true)) {
+                    log.debug("Disconnecting board event subscriber that fell {} events behind", queue.size());
+                    slowSubscribers.increment();
+                    unsubscribe(this);
+                }
+            }
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    fanout.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    // Shutting down
+                    draining.set(false);
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                FeedEvent event;
+                while (!overrun.get() && (event = queue.poll()) != null) {
+                    emitter.send(event.toSse());
+                }
+                if (overrun.get()) {
+                    queue.clear();
+                    emitter.complete();
+                    return;
+                }
+            } catch (IOException | IllegalStateException e) {
+                // The client went away or the subscription already completed; the container reports the error
+                unsubscribe(this);
+                queue.clear();
+                return;
+            } finally {
+                draining.set(false);
+            }
+            // An event offered, or an overrun, after the last poll but before the flag was reset would otherwise wait
+            // for the next event
+            if (!queue.isEmpty() || overrun.get()) {
+                scheduleDrain();
+            }
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.worldline.taskboard.service;
+
+import com.worldline.taskboard.model.dtos.BoardChangesDto;
+
+public interface BoardSyncService {
+
+    /**
+     * The lists and tasks created, changed or deleted after board version {@code version}.
+     */
+    BoardChangesDto getChangesSince(long version);
+
+    /**
+     * Drops the change log entries older than the configured retention; clients behind them have to resync.
+     */
+    void pruneChanges();
+}
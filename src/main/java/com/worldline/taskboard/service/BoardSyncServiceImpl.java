@@ -0,0 +1,123 @@
+package com.worldline.taskboard.service;
+
+import com.worldline.taskboard.model.dtos.BoardChangesDto;
+import com.worldline.taskboard.model.dtos.ChangedListDto;
+import com.worldline.taskboard.model.dtos.ChangedTaskDto;
+import com.worldline.taskboard.model.entities.Task;
+import com.worldline.taskboard.model.entities.TaskList;
+import com.worldline.taskboard.repository.BoardChangeRepository;
+import com.worldline.taskboard.repository.BoardVersionRepository;
+import com.worldline.taskboard.repository.TaskListRepository;
+import com.worldline.taskboard.repository.TaskRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+@Service
+@Timed(value = "taskboard.service", histogram = true)
+@Slf4j
+@RequiredArgsConstructor
+public class BoardSyncServiceImpl implements BoardSyncService {
+
+    private final BoardVersionRepository boardVersionRepository;
+    private final BoardChangeRepository boardChangeRepository;
+    private final TaskListRepository taskListRepository;
+    private final TaskRepository taskRepository;
+
+    @Value("${taskboard.changes.retention:7d}")
+    private Duration retention;
+
+    @Value("${taskboard.changes.max-changes:1000}")
+    private int maxChanges;
+
+    /**
+     * Reads the version, the change log and the changed rows from one snapshot, so that the returned state is exactly
+     * the state at the returned version. More than {@code taskboard.changes.max-changes} changes are answered with a
+     * resync: reloading the board is then cheaper than reading the log and the changed rows.
+     */
+    @Override
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public BoardChangesDto getChangesSince(long version) {
+        var currentVersion = boardVersionRepository.currentVersion();
+        if (version == currentVersion) {
+            return BoardChangesDto.unchanged(currentVersion);
+        }
+        // Versions are logged without gaps, one change each: the distance is the number of changes
+        if (version > currentVersion || currentVersion - version > maxChanges) {
+            return BoardChangesDto.resync(currentVersion);
+        }
+        var changes = boardChangeRepository.findAfter(version, maxChanges + 1);
+        // A missing successor means it was pruned or never existed
+        if (changes.isEmpty() || changes.size() > maxChanges || changes.getFirst().version() != version + 1) {
+            return BoardChangesDto.resync(currentVersion);
+        }
+
+        var listIds = new LinkedHashSet<Long>();
+        var taskIds = new LinkedHashSet<Long>();
+        var reloadedListIds = new LinkedHashSet<Long>();
+        for (var change : changes) {
+            switch (change.type()) {
+                case LIST_CREATED, LIST_DELETED -> listIds.add(change.listId());
+                case TASK_ADDED, TASK_UPDATED, TASK_MOVED, TASK_DELETED -> taskIds.add(change.taskId());
+                // The tasks of these lists are not logged individually: all current tasks of the list are returned
+                case TASKS_IMPORTED, TASKS_REORDERED -> reloadedListIds.add(change.listId());
+                case TASKS_PURGED, BOARD_IMPORTED, TASKS_CHANGED -> {
+                    // Bulk imports and purges do not log the individual rows; batches log theirs, never this summary
+                    return BoardChangesDto.resync(currentVersion);
+                }
+            }
+        }
+
+        // Whatever no longer exists was deleted since, whichever changes it went through before
+        var lists = new ArrayList<TaskList>();
+        if (!listIds.isEmpty()) {
+            taskListRepository.findAllById(listIds).forEach(lists::add);
+        }
+        var tasks = new LinkedHashMap<Long, Task>();
+        if (!taskIds.isEmpty()) {
+            taskRepository.findAllById(taskIds).forEach(task -> tasks.put(task.getId(), task));
+        }
+        if (!reloadedListIds.isEmpty()) {
+            taskRepository.findAllByListIds(reloadedListIds).forEach(task -> tasks.put(task.getId(), task));
+        }
+
+        var existingListIds = new LinkedHashSet<Long>();
+        lists.forEach(taskList -> existingListIds.add(taskList.id()));
+        return new BoardChangesDto(
+                currentVersion,
+                false,
+                lists.stream().map(ChangedListDto::of).toList(),
+                tasks.values().stream().map(ChangedTaskDto::of).toList(),
+                deleted(listIds, existingListIds),
+                deleted(taskIds, tasks.keySet()));
+    }
+
+    @Override
+    @Transactional
+    @Scheduled(fixedDelayString = "${taskboard.changes.prune-interval:PT1H}",
+            initialDelayString = "${taskboard.changes.prune-interval:PT1H}")
+    public void pruneChanges() {
+        var pruned = boardChangeRepository.deleteOlderThan(retention);
+        if (pruned > 0) {
+            log.info("Pruned {} board changes older than {}", pruned, retention);
+        }
+    }
+
+    private static List<Long> deleted(Set<Long> changedIds, Set<Long> existingIds) {
+        return changedIds.stream()
+                .filter(id -> !existingIds.contains(id))
+                .toList();
+    }
+}
@@ -0,0 +1,21 @@
+package com.worldline.taskboard.service;
+
+import com.worldline.taskboard.model.dtos.BoardImportResultDto;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Backup and cloning of whole boards. A board archive is a zip file with one CSV file per table,
+ * {@value BoardTransferServiceImpl#TASK_LISTS_ENTRY} and {@value BoardTransferServiceImpl#TASKS_ENTRY}.
+ */
+public interface BoardTransferService {
+
+    void exportBoard(OutputStream out);
+
+    /**
+     * Adds all lists and tasks of a board archive to the current board. Imported rows get new ids; their
+     * timestamps are kept. Nothing is imported if any row conflicts with the existing board.
+     */
+    BoardImportResultDto importBoard(InputStream in);
+}
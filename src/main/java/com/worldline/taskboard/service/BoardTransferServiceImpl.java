@@ -0,0 +1,81 @@
+package com.worldline.taskboard.service;
+
+import com.worldline.taskboard.events.BoardChangeEvent;
+import com.worldline.taskboard.exceptions.DuplicateEntityException;
+import com.worldline.taskboard.model.dtos.BoardImportResultDto;
+import com.worldline.taskboard.repository.BoardCopyRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+@Service
+@Timed(value = "taskboard.service", histogram = true)
+@Slf4j
+@RequiredArgsConstructor
+public class BoardTransferServiceImpl implements BoardTransferService {
+
+    static final String TASK_LISTS_ENTRY = "task_list.csv";
+    static final String TASKS_ENTRY = "task.csv";
+
+    private final BoardCopyRepository boardCopyRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    // Repeatable read so that both tables are exported from the same snapshot
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public void exportBoard(OutputStream out) {
+        try (var zip = new ZipOutputStream(out)) {
+            zip.putNextEntry(new ZipEntry(TASK_LISTS_ENTRY));
+            var lists = boardCopyRepository.copyOutTaskLists(zip);
+            zip.closeEntry();
+            zip.putNextEntry(new ZipEntry(TASKS_ENTRY));
+            var tasks = boardCopyRepository.copyOutTasks(zip);
+            zip.closeEntry();
+            log.info("Exported {} task lists and {} tasks", lists, tasks);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    @Transactional
+    public BoardImportResultDto importBoard(InputStream in) {
+        boardCopyRepository.createStagingTables();
+        try (var zip = new ZipInputStream(in)) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                switch (entry.getName()) {
+                    case TASK_LISTS_ENTRY -> boardCopyRepository.copyInTaskLists(zip);
+                    case TASKS_ENTRY -> boardCopyRepository.copyInTasks(zip);
+                    default -> throw new IllegalArgumentException(
+                            String.format("Unexpected entry '%s' in board archive", entry.getName()));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        BoardImportResultDto result;
+        try {
+            result = boardCopyRepository.mergeStagingTables();
+        } catch (DataIntegrityViolationException e) {
+            throw new DuplicateEntityException("Board import conflicts with existing task lists or tasks!", e);
+        }
+        eventPublisher.publishEvent(BoardChangeEvent.boardImported());
+        log.info("Imported {} task lists and {} tasks", result.importedLists(), result.importedTasks());
+        return result;
+    }
+}
@@ -0,0 +1,16 @@
+package com.worldline.taskboard.service;
+
+import com.worldline.taskboard.model.dtos.TaskBatchResultDto;
+import com.worldline.taskboard.model.dtos.TaskOperationDto;
+
+import java.util.List;
+
+public interface TaskBatchService {
+
+    /**
+     * Applies the update, move and delete operations in one transaction, with one statement per kind of operation.
+     * An operation that fails, e.g. on a missing task or a version conflict, is reported in the result with the message
+     * of the single-task operation instead of failing the whole batch.
+     */
+    TaskBatchResultDto applyOperations(List<TaskOperationDto> operations);
+}
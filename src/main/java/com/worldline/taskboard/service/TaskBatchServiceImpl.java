@@ -0,0 +1,241 @@
+package com.worldline.taskboard.service;
+
+import com.worldline.taskboard.events.BoardChangeBatchEvent;
+import com.worldline.taskboard.events.BoardChangeEvent;
+import com.worldline.taskboard.model.dtos.TaskBatchResultDto;
+import com.worldline.taskboard.model.dtos.TaskDto;
+import com.worldline.taskboard.model.dtos.TaskOperationDto;
+import com.worldline.taskboard.model.dtos.TaskOperationFailureDto;
+import com.worldline.taskboard.model.entities.Task;
+import com.worldline.taskboard.repository.TaskBatchRepository;
+import com.worldline.taskboard.repository.TaskBatchRepository.TaskState;
+import com.worldline.taskboard.writebehind.TaskWriteBehind;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static com.worldline.taskboard.model.dtos.TaskOperationDto.Type.DELETE;
+import static com.worldline.taskboard.model.dtos.TaskOperationDto.Type.MOVE;
+import static com.worldline.taskboard.model.dtos.TaskOperationDto.Type.UPDATE;
+import static com.worldline.taskboard.service.TaskBoardServiceImpl.DUPLICATE_TASK_NAME_IN_TARGET_LIST_MESSAGE;
+import static com.worldline.taskboard.service.TaskBoardServiceImpl.DUPLICATE_TASK_NAME_OF_TASK_MESSAGE;
+import static com.worldline.taskboard.service.TaskBoardServiceImpl.TASK_LIST_NOT_FOUND_MESSAGE;
+import static com.worldline.taskboard.service.TaskBoardServiceImpl.TASK_NOT_FOUND_MESSAGE;
+import static com.worldline.taskboard.service.TaskBoardServiceImpl.TASK_VERSION_CONFLICT_MESSAGE;
+
+@Service
+@Timed(value = "taskboard.service", histogram = true)
+@Slf4j
+@RequiredArgsConstructor
+public class TaskBatchServiceImpl implements TaskBatchService {
+
+    static final String TOO_MANY_OPERATIONS_MESSAGE = "A batch must not have more than %d operations";
+    static final String OPERATION_REQUIRED_MESSAGE = "Operation must not be null";
+    static final String TASK_DETAILS_REQUIRED_MESSAGE = "Task details are required to update a task";
+    static final String TARGET_LIST_REQUIRED_MESSAGE = "A target list id is required to move a task";
+    static final String DUPLICATE_TASK_IN_BATCH_MESSAGE = "Task with id=%d appears more than once in the batch";
+
+    private final TaskBatchRepository taskBatchRepository;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectProvider<TaskWriteBehind> taskWriteBehind;
+
+    @Value("${taskboard.batch.max-operations:1000}")
+    private int maxOperations;
+
+    @Override
+    public TaskBatchResultDto applyOperations(List<TaskOperationDto> operations) {
+        if (operations.size() > maxOperations) {
+            throw new IllegalArgumentException(String.format(TOO_MANY_OPERATIONS_MESSAGE, maxOperations));
+        }
+        var failures = new ArrayList<TaskOperationFailureDto>();
+        var valid = new ArrayList<IndexedOperation>(operations.size());
+        var taskIds = new HashSet<Long>();
+        for (var index = 0; index < operations.size(); index++) {
+            var operation = operations.get(index);
+            var reason = invalidReason(operation);
+            // Each task once: the outcome of an operation must not depend on another one of the same batch
+            if (reason == null && !taskIds.add(operation.taskId())) {
+                reason = String.format(DUPLICATE_TASK_IN_BATCH_MESSAGE, operation.taskId());
+            }
+            if (reason != null) {
+                failures.add(new TaskOperationFailureDto(index, operation != null ? operation.taskId() : null, reason));
+            } else {
+                valid.add(new IndexedOperation(index, operation));
+            }
+        }
+
+        Map<Integer, Task> applied = Map.of();
+        if (!valid.isEmpty()) {
+            // Pending writes of the write-behind mode go first: the batch sees them and they cannot overwrite it later
+            taskWriteBehind.ifAvailable(TaskWriteBehind::flush);
+            applied = transactionTemplate.execute(status -> apply(status, valid, failures));
+        }
+
+        var tasks = new ArrayList<TaskDto>();
+        for (var operation : valid) {
+            var task = applied.get(operation.index());
+            if (task != null && operation.operation().type() != DELETE) {
+                tasks.add(TaskDto.of(task));
+            }
+        }
+        failures.sort(Comparator.comparingInt(TaskOperationFailureDto::index));
+        log.info("Applied {} of {} task operations", applied.size(), operations.size());
+        return new TaskBatchResultDto(operations.size(), applied.size(), tasks, failures);
+    }
+
+    /**
+     * Writes all operations, then explains the ones that matched no row and publishes the changes of the applied ones as
+     * one event.
+     *
+     * @return the written tasks by operation index, as returned by their statement
+     */
+    private Map<Integer, Task> apply(TransactionStatus status, List<IndexedOperation> operations,
+                                     List<TaskOperationFailureDto> failures) {
+        var applied = new HashMap<Integer, Task>();
+        var rejected = new HashSet<Integer>();
+        var savepoint = status.createSavepoint();
+        try {
+            applied.putAll(write(operations));
+            status.releaseSavepoint(savepoint);
+        } catch (DataIntegrityViolationException e) {
+            // Two of them take the same name in a list: write them one by one to fail only the second one
+            status.rollbackToSavepoint(savepoint);
+            for (var operation : operations) {
+                var single = status.createSavepoint();
+                try {
+                    applied.putAll(write(List.of(operation)));
+                    status.releaseSavepoint(single);
+                } catch (DataIntegrityViolationException duplicate) {
+                    status.rollbackToSavepoint(single);
+                    rejected.add(operation.index());
+                    failures.add(failure(operation, duplicateNameReason(operation.operation())));
+                }
+            }
+        }
+
+        var notApplied = operations.stream()
+                .filter(operation -> !applied.containsKey(operation.index()) && !rejected.contains(operation.index()))
+                .toList();
+        if (!notApplied.isEmpty()) {
+            // One lookup for all of them, only on that failure path
+            var states = taskBatchRepository.findStates(notApplied.stream().map(IndexedOperation::operation).toList());
+            notApplied.forEach(operation -> failures.add(failure(operation,
+                    notAppliedReason(operation.operation(), states.get(operation.operation().taskId())))));
+        }
+
+        // One change log statement and one notification for the whole batch, not one each per task
+        var changes = new ArrayList<BoardChangeEvent>(applied.size());
+        for (var operation : operations) {
+            var task = applied.get(operation.index());
+            if (task != null) {
+                changes.add(switch (operation.operation().type()) {
+                    case UPDATE -> BoardChangeEvent.taskUpdated(task);
+                    case MOVE -> BoardChangeEvent.taskMoved(task);
+                    case DELETE -> BoardChangeEvent.taskDeleted(task);
+                });
+            }
+        }
+        if (!changes.isEmpty()) {
+            eventPublisher.publishEvent(new BoardChangeBatchEvent(changes));
+        }
+        return applied;
+    }
+
+    /**
+     * One statement per kind of operation. Deletes go first, so that names they free can be taken by the updates and
+     * moves of the same batch, and updates before moves for the same reason.
+     */
+    private Map<Integer, Task> write(List<IndexedOperation> operations) {
+        var indexByTaskId = new HashMap<Long, Integer>();
+        var deletes = new ArrayList<TaskOperationDto>();
+        var updates = new ArrayList<TaskOperationDto>();
+        var moves = new ArrayList<TaskOperationDto>();
+        for (var operation : operations) {
+            indexByTaskId.put(operation.operation().taskId(), operation.index());
+            switch (operation.operation().type()) {
+                case DELETE -> deletes.add(operation.operation());
+                case UPDATE -> updates.add(operation.operation());
+                case MOVE -> moves.add(operation.operation());
+            }
+        }
+
+        var written = new HashMap<Integer, Task>();
+        taskBatchRepository.delete(deletes).forEach(task -> written.put(indexByTaskId.get(task.getId()), task));
+        taskBatchRepository.updateDetails(updates).forEach(task -> written.put(indexByTaskId.get(task.getId()), task));
+        taskBatchRepository.moveToLists(moves).forEach(task -> written.put(indexByTaskId.get(task.getId()), task));
+        return written;
+    }
+
+    private String invalidReason(TaskOperationDto operation) {
+        if (operation == null) {
+            return OPERATION_REQUIRED_MESSAGE;
+        }
+        var violations = validator.validate(operation);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+        }
+        if (operation.type() == UPDATE && operation.taskDetails() == null) {
+            return TASK_DETAILS_REQUIRED_MESSAGE;
+        }
+        if (operation.type() == MOVE && operation.listId() == null) {
+            return TARGET_LIST_REQUIRED_MESSAGE;
+        }
+        return null;
+    }
+
+    private static String duplicateNameReason(TaskOperationDto operation) {
+        return operation.type() == MOVE
+                ? String.format(DUPLICATE_TASK_NAME_IN_TARGET_LIST_MESSAGE, operation.taskId(), operation.listId())
+                : String.format(DUPLICATE_TASK_NAME_OF_TASK_MESSAGE, operation.taskDetails().name(), operation.taskId());
+    }
+
+    /**
+     * Why a write matched no row, with the messages of the single-task operations: the task does not exist or is at
+     * another version than expected, the target list of a move does not exist, or else the name is taken.
+     */
+    private static String notAppliedReason(TaskOperationDto operation, TaskState state) {
+        if (state == null) {
+            return String.format(TASK_NOT_FOUND_MESSAGE, operation.taskId());
+        }
+        if (operation.version() != null && operation.version() != state.version()) {
+            return String.format(TASK_VERSION_CONFLICT_MESSAGE, operation.taskId(), state.version(), operation.version());
+        }
+        if (operation.type() == DELETE) {
+            // Deleted concurrently after all
+            return String.format(TASK_NOT_FOUND_MESSAGE, operation.taskId());
+        }
+        if (operation.type() == MOVE && !state.targetListExists()) {
+            return String.format(TASK_LIST_NOT_FOUND_MESSAGE, operation.listId());
+        }
+        return duplicateNameReason(operation);
+    }
+
+    private static TaskOperationFailureDto failure(IndexedOperation operation, String reason) {
+        return new TaskOperationFailureDto(operation.index(), operation.operation().taskId(), reason);
+    }
+
+    private record IndexedOperation(int index, TaskOperationDto operation) {
+    }
+}
@@ -0,0 +1,108 @@
+package com.worldline.taskboard.service;
+
+import com.worldline.taskboard.events.BoardChangeBatchEvent;
+import com.worldline.taskboard.events.BoardChangeEvent;
+import com.worldline.taskboard.events.RemoteBoardChangeEvent;
+import com.worldline.taskboard.model.dtos.BoardDto;
+import com.worldline.taskboard.model.dtos.BoardPayload;
+import com.worldline.taskboard.model.entities.TaskList;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache in front of the board reads of {@link TaskBoardServiceImpl}. Entries are evicted precisely from
+ * the {@link BoardChangeEvent}s of the mutating service methods, once their transaction has committed, and from the
+ * {@link RemoteBoardChangeEvent}s of the other nodes.
+ * <p>
+ * Size, TTL and statistics are configured with {@code spring.cache.caffeine.spec}; hit, miss and eviction counters
+ * are published as {@code cache.*} metrics on the actuator.
+ */
+@Component
+public class TaskBoardCache {
+
+    public static final String BOARD_CACHE = "board";
+    public static final String BOARD_PAYLOAD_CACHE = "boardPayload";
+    public static final String TASK_LISTS_BY_NAME_CACHE = "taskListsByName";
+
+    private static final String BOARD_KEY = "all";
+
+    private final Cache board;
+    private final Cache boardPayload;
+    private final Cache taskListsByName;
+
+    public TaskBoardCache(CacheManager cacheManager) {
+        this.board = getCache(cacheManager, BOARD_CACHE);
+        this.boardPayload = getCache(cacheManager, BOARD_PAYLOAD_CACHE);
+        this.taskListsByName = getCache(cacheManager, TASK_LISTS_BY_NAME_CACHE);
+    }
+
+    public BoardDto getBoard(Supplier<BoardDto> loader) {
+        return board.get(BOARD_KEY, loader::get);
+    }
+
+    public Optional<BoardDto> getCachedBoard() {
+        return Optional.ofNullable(board.get(BOARD_KEY, BoardDto.class));
+    }
+
+    public BoardPayload getBoardPayload(Supplier<BoardPayload> loader) {
+        return boardPayload.get(BOARD_KEY, loader::get);
+    }
+
+    public Optional<BoardPayload> getCachedBoardPayload() {
+        return Optional.ofNullable(boardPayload.get(BOARD_KEY, BoardPayload.class));
+    }
+
+    public Optional<TaskList> findListByName(String name, Function<String, Optional<TaskList>> loader) {
+        return Optional.ofNullable(taskListsByName.get(name, () -> loader.apply(name).orElse(null)));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBoardChange(BoardChangeEvent event) {
+        evict(event);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBoardChanges(BoardChangeBatchEvent batch) {
+        evict(batch.summary());
+    }
+
+    @EventListener
+    public void onRemoteBoardChange(RemoteBoardChangeEvent event) {
+        evict(event.event());
+    }
+
+    /**
+     * Evicts exactly the entries affected by {@code event}. The board entries hold every list, so they are always
+     * evicted.
+     */
+    public void evict(BoardChangeEvent event) {
+        board.evict(BOARD_KEY);
+        boardPayload.evict(BOARD_KEY);
+        switch (event.type()) {
+            case LIST_CREATED, LIST_DELETED -> taskListsByName.evict(event.listName());
+            case TASK_ADDED, TASKS_IMPORTED, TASKS_PURGED, TASKS_REORDERED, TASKS_CHANGED, TASK_UPDATED, TASK_MOVED,
+                 TASK_DELETED -> {
+                // Task changes do not change any list
+            }
+            case BOARD_IMPORTED -> taskListsByName.clear();
+        }
+    }
+
+    public void evictAll() {
+        board.clear();
+        boardPayload.clear();
+        taskListsByName.clear();
+    }
+
+    private static Cache getCache(CacheManager cacheManager, String name) {
+        return Objects.requireNonNull(cacheManager.getCache(name), () -> "Cache '" + name + "' is not configured");
+    }
+}
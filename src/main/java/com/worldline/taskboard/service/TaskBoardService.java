@@ -1,14 +1,46 @@
 package com.worldline.taskboard.service;
 
+import com.worldline.taskboard.model.dtos.BoardDto;
+import com.worldline.taskboard.model.dtos.BoardPayload;
+import com.worldline.taskboard.model.dtos.PageDto;
 import com.worldline.taskboard.model.dtos.TaskDto;
 import com.worldline.taskboard.model.dtos.TaskListDto;
 import com.worldline.taskboard.model.dtos.TaskDetailsDto;
+import com.worldline.taskboard.model.json.BoardJsonWriter;
 
 import java.util.List;
 
 public interface TaskBoardService {
     List<TaskListDto> getAllLists();
 
+    BoardDto getBoard();
+
+    /**
+     * The board already serialized as {@link #getAllLists()} would be, for responses that send it as is.
+     */
+    BoardPayload getBoardPayload();
+
+    /**
+     * The current board version, without reading the board itself.
+     */
+    long getBoardVersion();
+
+    /**
+     * The entity tag of the current board, without reading the board itself.
+     */
+    default String getBoardEtag() {
+        return BoardDto.etag(getBoardVersion());
+    }
+
+    PageDto<TaskListDto> getListsPage(Long afterListId, int limit);
+
+    PageDto<TaskDto> getTasksPage(Long listId, Long afterTaskId, int limit);
+
+    /**
+     * Writes the board to {@code writer} one row at a time, reading it through a database cursor.
+     */
+    void streamAllLists(BoardJsonWriter writer);
+
     TaskListDto createList(String name);
 
     //TODO: Might be needed in future, so created in advance
@@ -16,11 +48,34 @@ public interface TaskBoardService {
 
     void addTaskToList(String taskListName, TaskDetailsDto taskDetailsDto);
 
-    void updateTask(Long taskId, TaskDetailsDto taskDetailsDto);
+    /**
+     * @param expectedVersion the version the caller last saw, or null to update whatever the current version is
+     * @return the task at its new version
+     */
+    TaskDto updateTask(Long taskId, TaskDetailsDto taskDetailsDto, Long expectedVersion);
 
     void deleteTask(Long taskId);
 
+    /**
+     * Deletes the list and all its tasks in a single statement. Lists with very many tasks are better purged with
+     * {@link TaskListPurgeService#purgeList(Long)}.
+     */
     void deleteList(Long listId);
 
-    void moveTaskToList(Long taskId, Long newListId);
+    /**
+     * Moves the task to the end of {@code newListId}.
+     *
+     * @param expectedVersion the version the caller last saw, or null to move whatever the current version is
+     * @return the task at its new version
+     */
+    TaskDto moveTaskToList(Long taskId, Long newListId, Long expectedVersion);
+
+    /**
+     * Places the task in {@code listId} right after {@code afterTaskId}, or first when it is null. Only the row of the
+     * task is written, unless the ranks around the new place are used up and the list is renumbered first.
+     *
+     * @param expectedVersion the version the caller last saw, or null to place whatever the current version is
+     * @return the task at its new version
+     */
+    TaskDto positionTask(Long taskId, Long listId, Long afterTaskId, Long expectedVersion);
 }
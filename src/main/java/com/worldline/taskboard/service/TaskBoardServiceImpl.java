@@ -1,55 +1,158 @@
 package com.worldline.taskboard.service;
 
+import com.worldline.taskboard.events.BoardChangeEvent;
 import com.worldline.taskboard.exceptions.DuplicateEntityException;
 import com.worldline.taskboard.exceptions.EntityNotFoundException;
+import com.worldline.taskboard.exceptions.VersionConflictException;
+import com.worldline.taskboard.model.dtos.BoardDto;
+import com.worldline.taskboard.model.dtos.BoardPayload;
+import com.worldline.taskboard.model.dtos.PageDto;
 import com.worldline.taskboard.model.dtos.TaskDto;
 import com.worldline.taskboard.model.dtos.TaskListDto;
 import com.worldline.taskboard.model.dtos.TaskDetailsDto;
 import com.worldline.taskboard.model.entities.Task;
 import com.worldline.taskboard.model.entities.TaskList;
+import com.worldline.taskboard.model.json.BoardJsonWriter;
+import com.worldline.taskboard.repository.BoardStreamRepository;
+import com.worldline.taskboard.repository.BoardVersionRepository;
 import com.worldline.taskboard.repository.TaskListRepository;
+import com.worldline.taskboard.repository.TaskRankRepository;
+import com.worldline.taskboard.repository.TaskRankRepository.Neighbours;
 import com.worldline.taskboard.repository.TaskRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.logging.log4j.util.Strings;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Optional;
 
 @Service
+@Timed(value = "taskboard.service", histogram = true)
 @Slf4j
 @RequiredArgsConstructor
 public class TaskBoardServiceImpl implements TaskBoardService {
 
     static final String TASK_NOT_FOUND_MESSAGE = "Task not found for id=%d";
     static final String TASK_LIST_NOT_FOUND_MESSAGE = "Task List not found with id=%d";
+    static final String DUPLICATE_TASK_NAME_MESSAGE = "A task with name '%s' already exists for the task list '%s'.";
+    static final String DUPLICATE_TASK_NAME_IN_TARGET_LIST_MESSAGE = "Task with id=%d cannot be moved: the task list with id=%d already has a task with its name.";
+    static final String DUPLICATE_TASK_NAME_OF_TASK_MESSAGE = "A task with name '%s' already exists in the task list of the task with id=%d.";
+    static final String TASK_VERSION_CONFLICT_MESSAGE = "Task with id=%d is at version %d, not at the expected version %d.";
+    static final String TASK_NOT_IN_LIST_MESSAGE = "Task with id=%d not found in the task list with id=%d";
+    static final String TASK_AFTER_ITSELF_MESSAGE = "Task with id=%d cannot be placed after itself.";
 
     private final TaskListRepository taskListRepository;
     private final TaskRepository taskRepository;
+    private final TaskRankRepository taskRankRepository;
+    private final BoardStreamRepository boardStreamRepository;
+    private final BoardVersionRepository boardVersionRepository;
+    private final TaskBoardCache taskBoardCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public List<TaskListDto> getAllLists() {
-        var taskLists = new ArrayList<TaskList>();
-        taskListRepository.findAll().forEach(taskLists::add);
+        return getBoard().lists();
+    }
+
+    @Override
+    public BoardDto getBoard() {
+        return taskBoardCache.getBoard(this::loadBoard);
+    }
+
+    @Override
+    public BoardPayload getBoardPayload() {
+        return taskBoardCache.getBoardPayload(this::loadBoardPayload);
+    }
+
+    @Override
+    public long getBoardVersion() {
+        return taskBoardCache.getCachedBoardPayload()
+                .map(BoardPayload::version)
+                .or(() -> taskBoardCache.getCachedBoard().map(BoardDto::version))
+                .orElseGet(boardVersionRepository::currentVersion);
+    }
+
+    private BoardPayload loadBoardPayload() {
+        // Same order as loadBoard(): the version first. The rows are written as JSON as they are read, so a board
+        // served from this cache is mapped and serialized once per version instead of once per response
+        var version = boardVersionRepository.currentVersion();
+        return new BoardPayload(version, 0, BoardJsonWriter.toBytes(boardStreamRepository::writeBoard));
+    }
+
+    private BoardDto loadBoard() {
+        // The version is read before the board: it can be older than the board read after it, never newer, so an
+        // ETag never claims a state the response does not contain
+        var version = boardVersionRepository.currentVersion();
+        return new BoardDto(version, loadAllLists());
+    }
+
+    private List<TaskListDto> loadAllLists() {
+        // Two queries for the whole board instead of one per list: tasks are grouped by list id in a single pass
+        var tasksByListId = new HashMap<Long, List<TaskDto>>();
+        taskRepository.findAllAssignedOrderByListId()
+                .forEach(task -> tasksByListId.computeIfAbsent(task.getListId(), listId -> new ArrayList<>())
+                        .add(TaskDto.of(task)));
 
         var taskListDtos = new ArrayList<TaskListDto>();
-        taskLists.forEach(taskList -> {
+        taskListRepository.findAll().forEach(taskList -> {
             var taskListDto = TaskListDto.of(taskList);
-            var taskDtos = taskRepository.findByListId(taskList.id())
-                    .stream()
-                    .map(TaskDto::of)
-                    .toList();
-            taskListDto.setTasks(taskDtos);
+            taskListDto.setTasks(tasksByListId.getOrDefault(taskList.id(), List.of()));
             taskListDtos.add(taskListDto);
         });
 
         return taskListDtos.isEmpty() ? List.of() : taskListDtos;
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public PageDto<TaskListDto> getListsPage(Long afterListId, int limit) {
+        var taskLists = taskListRepository.findPageAfterId(afterListId, limit + 1);
+        var page = PageDto.of(taskLists, limit, TaskList::id);
+        if (page.items().isEmpty()) {
+            return new PageDto<>(List.of(), null);
+        }
+
+        var tasksByListId = new HashMap<Long, List<TaskDto>>();
+        taskRepository.findAllByListIds(page.items().stream().map(TaskList::id).toList())
+                .forEach(task -> tasksByListId.computeIfAbsent(task.getListId(), listId -> new ArrayList<>())
+                        .add(TaskDto.of(task)));
+
+        var taskListDtos = page.items().stream()
+                .map(taskList -> {
+                    var taskListDto = TaskListDto.of(taskList);
+                    taskListDto.setTasks(tasksByListId.getOrDefault(taskList.id(), List.of()));
+                    return taskListDto;
+                })
+                .toList();
+        return new PageDto<>(taskListDtos, page.nextCursor());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageDto<TaskDto> getTasksPage(Long listId, Long afterTaskId, int limit) {
+        var tasks = taskRepository.findPageByListIdAfterId(listId, afterTaskId, limit + 1);
+        if (tasks.isEmpty() && !taskListRepository.existsById(listId)) {
+            throw new EntityNotFoundException(String.format(TASK_LIST_NOT_FOUND_MESSAGE, listId));
+        }
+        var page = PageDto.of(tasks, limit, Task::getId);
+        return new PageDto<>(page.items().stream().map(TaskDto::of).toList(), page.nextCursor());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAllLists(BoardJsonWriter writer) {
+        boardStreamRepository.writeBoard(writer);
+    }
+
     @Override
     @Transactional
     public TaskListDto createList(String name) {
@@ -63,6 +166,7 @@ public class TaskBoardServiceImpl implements TaskBoardService {
         } catch (DataIntegrityViolationException e) {
             throw new DuplicateEntityException("Task list name already exists!", e);
         }
+        eventPublisher.publishEvent(BoardChangeEvent.listCreated(taskListEntity));
         return TaskListDto.of(taskListEntity);
     }
 
@@ -83,64 +187,127 @@ public class TaskBoardServiceImpl implements TaskBoardService {
         if (Strings.isBlank(taskListName)) {
             throw new IllegalArgumentException("List name must not be blank!");
         }
-        var taskListEntity = taskListRepository.findByName(taskListName)
+        var taskListEntity = taskBoardCache.findListByName(taskListName, taskListRepository::findByName)
                 .orElseThrow(() ->
                         new EntityNotFoundException(String.format("Task list with name %s not found", taskListName)));
-        if (taskRepository.findByListId(taskListEntity.id()).stream()
-                .map(Task::getName)
-                .anyMatch(taskDetailsDto.name()::equals)) {
-            throw new IllegalArgumentException(String.format("A task with name '%s' already exists for the task list '%s'.", taskDetailsDto.name(), taskListName));
-        } else {
-            var taskEntity = TaskDto.toEntity(taskDetailsDto)
-                    .toBuilder()
-                    .listId(taskListEntity.id())
-                    .build();
-            taskRepository.save(taskEntity);
+        var taskEntity = TaskDto.toEntity(taskDetailsDto)
+                .toBuilder()
+                .listId(taskListEntity.id())
+                .build();
+        // The unique index on (list_id, name) is the duplicate check: no need to load the list's tasks first
+        Task savedTask;
+        try {
+            savedTask = taskRepository.save(taskEntity);
+        } catch (DuplicateKeyException e) {
+            throw new IllegalArgumentException(String.format(DUPLICATE_TASK_NAME_MESSAGE, taskDetailsDto.name(), taskListName), e);
         }
+        eventPublisher.publishEvent(BoardChangeEvent.taskAdded(savedTask));
     }
 
     @Override
     @Transactional
-    public void updateTask(Long taskId, TaskDetailsDto taskDetailsDto) {
-        var task = taskRepository.findById(taskId)
-                .orElseThrow(() -> new EntityNotFoundException(String.format(TASK_NOT_FOUND_MESSAGE, taskId)));
-        var taskToSave = task.toBuilder()
-                .name(taskDetailsDto.name())
-                .description(taskDetailsDto.description())
-                .updatedAt(LocalDateTime.now())
-                .build();
-        taskRepository.save(taskToSave);
+    public TaskDto updateTask(Long taskId, TaskDetailsDto taskDetailsDto, Long expectedVersion) {
+        Optional<Task> updatedTask;
+        try {
+            updatedTask = taskRepository.updateDetails(taskId, taskDetailsDto.name(), taskDetailsDto.description(),
+                    LocalDateTime.now(), expectedVersion);
+        } catch (DuplicateKeyException e) {
+            throw new IllegalArgumentException(String.format(DUPLICATE_TASK_NAME_OF_TASK_MESSAGE, taskDetailsDto.name(), taskId), e);
+        }
+        var task = updatedTask.orElseThrow(() -> taskNotChanged(taskId, expectedVersion));
+        eventPublisher.publishEvent(BoardChangeEvent.taskUpdated(task));
+        return TaskDto.of(task);
     }
 
     @Override
     @Transactional
     public void deleteTask(Long taskId) {
-        var task = taskRepository.findById(taskId)
+        var task = taskRepository.deleteReturning(taskId)
                 .orElseThrow(() -> new EntityNotFoundException(String.format(TASK_NOT_FOUND_MESSAGE, taskId)));
-        taskRepository.delete(task);
+        eventPublisher.publishEvent(BoardChangeEvent.taskDeleted(task));
     }
 
 
     @Override
     @Transactional
     public void deleteList(Long listId) {
-        var taskList = taskListRepository.findById(listId)
+        // The tasks go with the list in the same statement (ON DELETE CASCADE)
+        var taskList = taskListRepository.deleteReturning(listId)
                 .orElseThrow(() -> new EntityNotFoundException(String.format(TASK_LIST_NOT_FOUND_MESSAGE, listId)));
-        taskListRepository.delete(taskList);
+        eventPublisher.publishEvent(BoardChangeEvent.listDeleted(taskList));
     }
 
     @Override
     @Transactional
-    public void moveTaskToList(Long taskId, Long newListId) {
-        var task = taskRepository.findById(taskId)
-                .orElseThrow(() -> new EntityNotFoundException(String.format(TASK_NOT_FOUND_MESSAGE, taskId)));
-        if (!taskListRepository.existsById(newListId)) {
-            throw new EntityNotFoundException(String.format(TASK_LIST_NOT_FOUND_MESSAGE, newListId));
+    public TaskDto moveTaskToList(Long taskId, Long newListId, Long expectedVersion) {
+        Optional<Task> movedTask;
+        try {
+            movedTask = taskRepository.moveToList(taskId, newListId, LocalDateTime.now(), expectedVersion);
+        } catch (DuplicateKeyException e) {
+            throw new IllegalArgumentException(String.format(DUPLICATE_TASK_NAME_IN_TARGET_LIST_MESSAGE, taskId, newListId), e);
         }
-        var taskToSave = task.toBuilder()
-                .listId(newListId)
-                .updatedAt(LocalDateTime.now())
-                .build();
-        taskRepository.save(taskToSave);
+        var task = movedTask.orElseThrow(() -> taskNotMoved(taskId, newListId, expectedVersion));
+        eventPublisher.publishEvent(BoardChangeEvent.taskMoved(task));
+        return TaskDto.of(task);
+    }
+
+    @Override
+    @Transactional
+    public TaskDto positionTask(Long taskId, Long listId, Long afterTaskId, Long expectedVersion) {
+        if (taskId.equals(afterTaskId)) {
+            throw new IllegalArgumentException(String.format(TASK_AFTER_ITSELF_MESSAGE, taskId));
+        }
+        var neighbours = findNeighbours(listId, afterTaskId, taskId);
+        if (!neighbours.hasRoom()) {
+            // The gap is used up: renumber the list, which keeps its order, and look up the new neighbour ranks
+            taskRankRepository.rebalance(listId);
+            eventPublisher.publishEvent(BoardChangeEvent.tasksReordered(listId));
+            neighbours = findNeighbours(listId, afterTaskId, taskId);
+        }
+
+        Optional<Task> movedTask;
+        try {
+            movedTask = neighbours.atEnd()
+                    ? taskRepository.moveToList(taskId, listId, LocalDateTime.now(), expectedVersion)
+                    : taskRepository.moveToRank(taskId, listId, neighbours.rank(), LocalDateTime.now(), expectedVersion);
+        } catch (DuplicateKeyException e) {
+            throw new IllegalArgumentException(String.format(DUPLICATE_TASK_NAME_IN_TARGET_LIST_MESSAGE, taskId, listId), e);
+        }
+        var task = movedTask.orElseThrow(() -> taskNotMoved(taskId, listId, expectedVersion));
+        eventPublisher.publishEvent(BoardChangeEvent.taskMoved(task));
+        return TaskDto.of(task);
+    }
+
+    private Neighbours findNeighbours(Long listId, Long afterTaskId, Long taskId) {
+        var neighbours = taskRankRepository.lockAndFindNeighbours(listId, afterTaskId, taskId)
+                .orElseThrow(() -> new EntityNotFoundException(String.format(TASK_LIST_NOT_FOUND_MESSAGE, listId)));
+        if (afterTaskId != null && neighbours.afterTaskId() == null) {
+            throw new EntityNotFoundException(String.format(TASK_NOT_IN_LIST_MESSAGE, afterTaskId, listId));
+        }
+        return neighbours;
+    }
+
+    private RuntimeException taskNotMoved(Long taskId, Long listId, Long expectedVersion) {
+        var taskNotChanged = taskNotChanged(taskId, expectedVersion);
+        // The task exists at the expected version, so the target list is what is missing
+        return taskNotChanged != null
+                ? taskNotChanged
+                : new EntityNotFoundException(String.format(TASK_LIST_NOT_FOUND_MESSAGE, listId));
+    }
+
+    /**
+     * Explains why a conditional single-statement write matched no row: the task does not exist or is at another
+     * version than expected. Returns null when neither is the case. Only runs on that failure path.
+     */
+    private RuntimeException taskNotChanged(Long taskId, Long expectedVersion) {
+        var version = taskRepository.findVersionById(taskId);
+        if (version.isEmpty()) {
+            return new EntityNotFoundException(String.format(TASK_NOT_FOUND_MESSAGE, taskId));
+        }
+        if (expectedVersion != null && !expectedVersion.equals(version.get())) {
+            return new VersionConflictException(
+                    String.format(TASK_VERSION_CONFLICT_MESSAGE, taskId, version.get(), expectedVersion));
+        }
+        return null;
     }
 }
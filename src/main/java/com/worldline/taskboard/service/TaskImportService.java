@@ -0,0 +1,15 @@
+package com.worldline.taskboard.service;
+
+import com.worldline.taskboard.model.dtos.BatchImportResultDto;
+import com.worldline.taskboard.model.dtos.TaskDetailsDto;
+
+import java.util.Iterator;
+
+public interface TaskImportService {
+
+    /**
+     * Adds all {@code tasks} to the list, reading them lazily and writing them in chunks, each in its own transaction.
+     * Invalid or duplicate tasks are reported in the result instead of failing the whole import.
+     */
+    BatchImportResultDto importTasks(String taskListName, Iterator<TaskDetailsDto> tasks);
+}
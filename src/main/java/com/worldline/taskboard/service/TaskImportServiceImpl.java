@@ -0,0 +1,152 @@
+package com.worldline.taskboard.service;
+
+import com.worldline.taskboard.events.BoardChangeEvent;
+import com.worldline.taskboard.exceptions.EntityNotFoundException;
+import com.worldline.taskboard.model.dtos.BatchImportResultDto;
+import com.worldline.taskboard.model.dtos.BatchItemFailureDto;
+import com.worldline.taskboard.model.dtos.TaskDetailsDto;
+import com.worldline.taskboard.model.entities.TaskList;
+import com.worldline.taskboard.repository.TaskBatchRepository;
+import com.worldline.taskboard.repository.TaskListRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.logging.log4j.util.Strings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+@Timed(value = "taskboard.service", histogram = true)
+@Slf4j
+@RequiredArgsConstructor
+public class TaskImportServiceImpl implements TaskImportService {
+
+    static final String DUPLICATE_IN_BATCH_MESSAGE = "Task name '%s' appears more than once in the batch";
+    static final String DUPLICATE_IN_LIST_MESSAGE = "A task with name '%s' already exists for the task list '%s'.";
+    static final String CONFLICT_MESSAGE = "A task with name '%s' already exists.";
+    static final String MISSING_TASK_MESSAGE = "Task must not be null";
+    static final String CHUNK_FAILED_MESSAGE = "Task '%s' was not imported: writing its chunk of the batch failed";
+
+    private final TaskListRepository taskListRepository;
+    private final TaskBatchRepository taskBatchRepository;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${taskboard.import.chunk-size:500}")
+    private int chunkSize;
+
+    @Override
+    public BatchImportResultDto importTasks(String taskListName, Iterator<TaskDetailsDto> tasks) {
+        if (Strings.isBlank(taskListName)) {
+            throw new IllegalArgumentException("List name must not be blank!");
+        }
+        var taskList = taskListRepository.findByName(taskListName)
+                .orElseThrow(() ->
+                        new EntityNotFoundException(String.format("Task list with name %s not found", taskListName)));
+
+        var seenNames = new HashSet<>(taskBatchRepository.findNamesByListId(taskList.id()));
+        var existingNames = Set.copyOf(seenNames);
+        var failures = new ArrayList<BatchItemFailureDto>();
+        var chunk = new ArrayList<IndexedTask>(chunkSize);
+        var received = 0;
+        var imported = 0;
+
+        while (true) {
+            TaskDetailsDto task;
+            try {
+                if (!tasks.hasNext()) {
+                    break;
+                }
+                task = tasks.next();
+            } catch (RuntimeException e) {
+                // The input itself is broken (e.g. malformed JSON): keep what was read so far and stop reading
+                failures.add(new BatchItemFailureDto(received, null, "Malformed input: " + e.getMessage()));
+                break;
+            }
+            var index = received++;
+            if (task == null) {
+                failures.add(new BatchItemFailureDto(index, null, MISSING_TASK_MESSAGE));
+                continue;
+            }
+
+            var violations = validator.validate(task);
+            if (!violations.isEmpty()) {
+                failures.add(new BatchItemFailureDto(index, task.name(), violations.stream()
+                        .map(ConstraintViolation::getMessage)
+                        .sorted()
+                        .collect(Collectors.joining("; "))));
+            } else if (!seenNames.add(task.name())) {
+                var reason = existingNames.contains(task.name())
+                        ? String.format(DUPLICATE_IN_LIST_MESSAGE, task.name(), taskListName)
+                        : String.format(DUPLICATE_IN_BATCH_MESSAGE, task.name());
+                failures.add(new BatchItemFailureDto(index, task.name(), reason));
+            } else {
+                chunk.add(new IndexedTask(index, task));
+                if (chunk.size() == chunkSize) {
+                    imported += writeChunk(taskList, chunk, failures);
+                    chunk.clear();
+                }
+            }
+        }
+        if (!chunk.isEmpty()) {
+            imported += writeChunk(taskList, chunk, failures);
+        }
+
+        failures.sort(Comparator.comparingInt(BatchItemFailureDto::index));
+        log.info("Imported {} of {} tasks into task list '{}'", imported, received, taskListName);
+        return new BatchImportResultDto(received, imported, failures);
+    }
+
+    /**
+     * Writes one chunk in its own transaction, so a large import never holds locks or grows a transaction unboundedly.
+     * A chunk that fails is rolled back and reported item by item, so the result still tells which chunks committed.
+     *
+     * @return the number of inserted tasks
+     */
+    private int writeChunk(TaskList taskList, List<IndexedTask> chunk, List<BatchItemFailureDto> failures) {
+        int[] counts;
+        try {
+            counts = transactionTemplate.execute(status -> {
+                var insertCounts = taskBatchRepository.insertIgnoringDuplicates(taskList.id(),
+                        chunk.stream().map(IndexedTask::task).toList());
+                eventPublisher.publishEvent(BoardChangeEvent.tasksImported(taskList));
+                return insertCounts;
+            });
+        } catch (DataAccessException | TransactionException e) {
+            log.warn("Could not import a chunk of {} tasks into task list '{}'", chunk.size(), taskList.name(), e);
+            chunk.forEach(task -> failures.add(new BatchItemFailureDto(task.index(), task.task().name(),
+                    String.format(CHUNK_FAILED_MESSAGE, task.task().name()))));
+            return 0;
+        }
+
+        var inserted = 0;
+        for (var i = 0; i < chunk.size(); i++) {
+            if (counts[i] == 0) {
+                var task = chunk.get(i);
+                failures.add(new BatchItemFailureDto(task.index(), task.task().name(),
+                        String.format(CONFLICT_MESSAGE, task.task().name())));
+            } else {
+                inserted++;
+            }
+        }
+        return inserted;
+    }
+
+    private record IndexedTask(int index, TaskDetailsDto task) {
+    }
+}
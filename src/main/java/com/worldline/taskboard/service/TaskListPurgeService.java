@@ -0,0 +1,11 @@
+package com.worldline.taskboard.service;
+
+public interface TaskListPurgeService {
+
+    /**
+     * Deletes the list and all its tasks in the background: first the tasks, in chunks that each commit in their own
+     * transaction, then the list itself. Returns as soon as the purge is scheduled; purging a list that is already
+     * being purged does nothing.
+     */
+    void purgeList(Long listId);
+}
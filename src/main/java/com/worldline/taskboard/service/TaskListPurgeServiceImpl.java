@@ -0,0 +1,111 @@
+package com.worldline.taskboard.service;
+
+import com.worldline.taskboard.events.BoardChangeEvent;
+import com.worldline.taskboard.exceptions.EntityNotFoundException;
+import com.worldline.taskboard.model.entities.TaskList;
+import com.worldline.taskboard.repository.TaskBatchRepository;
+import com.worldline.taskboard.repository.TaskListRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Purges lists too large to delete in one transaction: a single cascading delete of hundreds of thousands of tasks
+ * holds its row locks and its snapshot until it commits. Purged chunk by chunk, every transaction stays short and
+ * vacuum can reclaim the deleted rows while the purge goes on.
+ * <p>
+ * The list stays on the board, losing its tasks, until its last chunk is deleted. A purge interrupted by a shutdown
+ * is not resumed; purging the list again finishes it.
+ */
+@Service
+@Timed(value = "taskboard.service", histogram = true)
+@Slf4j
+@RequiredArgsConstructor
+public class TaskListPurgeServiceImpl implements TaskListPurgeService {
+
+    static final String TASK_LIST_NOT_FOUND_MESSAGE = "Task List not found with id=%d";
+
+    private final TaskListRepository taskListRepository;
+    private final TaskBatchRepository taskBatchRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${taskboard.purge.chunk-size:5000}")
+    private int chunkSize;
+
+    private final Set<Long> purging = ConcurrentHashMap.newKeySet();
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual()
+            .name("list-purge-", 0)
+            .factory());
+
+    @Override
+    public void purgeList(Long listId) {
+        var taskList = taskListRepository.findById(listId)
+                .orElseThrow(() -> new EntityNotFoundException(String.format(TASK_LIST_NOT_FOUND_MESSAGE, listId)));
+        if (!purging.add(listId)) {
+            log.debug("Task list with id={} is already being purged", listId);
+            return;
+        }
+        try {
+            executor.execute(() -> purge(taskList));
+        } catch (RuntimeException e) {
+            purging.remove(listId);
+            throw e;
+        }
+    }
+
+    void purge(TaskList taskList) {
+        var purged = 0L;
+        try {
+            int deleted;
+            do {
+                deleted = deleteChunk(taskList);
+                purged += deleted;
+            } while (deleted == chunkSize && !executor.isShutdown());
+            if (deleted == chunkSize) {
+                log.warn("Purge of task list '{}' stopped by shutdown after {} tasks", taskList.name(), purged);
+                return;
+            }
+            // Tasks added meanwhile are deleted with the list by the cascading foreign key
+            transactionTemplate.executeWithoutResult(status -> taskListRepository.deleteReturning(taskList.id())
+                    .ifPresent(deletedList -> eventPublisher.publishEvent(BoardChangeEvent.listDeleted(deletedList))));
+            log.info("Purged task list '{}' and {} tasks", taskList.name(), purged);
+        } catch (RuntimeException e) {
+            log.error("Purge of task list '{}' failed after {} tasks", taskList.name(), purged, e);
+        } finally {
+            purging.remove(taskList.id());
+        }
+    }
+
+    /**
+     * Deletes one chunk of tasks in its own transaction.
+     *
+     * @return the number of deleted tasks
+     */
+    private int deleteChunk(TaskList taskList) {
+        var deleted = transactionTemplate.execute(status -> {
+            var count = taskBatchRepository.deleteByListId(taskList.id(), chunkSize);
+            if (count > 0) {
+                eventPublisher.publishEvent(BoardChangeEvent.tasksPurged(taskList));
+            }
+            return count;
+        });
+        return deleted == null ? 0 : deleted;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        // Running purges stop after their current chunk
+        executor.shutdown();
+    }
+}
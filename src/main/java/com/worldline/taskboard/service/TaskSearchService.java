@@ -0,0 +1,14 @@
+package com.worldline.taskboard.service;
+
+import com.worldline.taskboard.model.dtos.TaskSearchResultDto;
+
+public interface TaskSearchService {
+
+    /**
+     * Full-text search over task names and descriptions, best matches first.
+     *
+     * @param listId only search this list; null for the whole board
+     * @param after  the {@code nextCursor} of the previous page, or null for the first page
+     */
+    TaskSearchResultDto searchTasks(String query, Long listId, String after, int limit);
+}
@@ -0,0 +1,57 @@
+package com.worldline.taskboard.service;
+
+import com.worldline.taskboard.model.dtos.TaskSearchHitDto;
+import com.worldline.taskboard.model.dtos.TaskSearchResultDto;
+import com.worldline.taskboard.repository.TaskSearchRepository;
+import com.worldline.taskboard.repository.TaskSearchRepository.TaskHit;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.apache.logging.log4j.util.Strings;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@Timed(value = "taskboard.service", histogram = true)
+@RequiredArgsConstructor
+public class TaskSearchServiceImpl implements TaskSearchService {
+
+    static final String INVALID_CURSOR_MESSAGE = "Invalid search cursor '%s': pass the nextCursor of the previous page";
+
+    private static final char CURSOR_SEPARATOR = '_';
+
+    private final TaskSearchRepository taskSearchRepository;
+
+    @Override
+    @Transactional(readOnly = true)
+    public TaskSearchResultDto searchTasks(String query, Long listId, String after, int limit) {
+        if (Strings.isBlank(query)) {
+            throw new IllegalArgumentException("Search query must not be blank!");
+        }
+        Float afterScore = null;
+        Long afterId = null;
+        if (after != null) {
+            var separator = after.lastIndexOf(CURSOR_SEPARATOR);
+            try {
+                afterScore = Float.parseFloat(after.substring(0, separator));
+                afterId = Long.parseLong(after.substring(separator + 1));
+            } catch (IndexOutOfBoundsException | NumberFormatException e) {
+                throw new IllegalArgumentException(String.format(INVALID_CURSOR_MESSAGE, after), e);
+            }
+        }
+
+        var hits = taskSearchRepository.search(query, listId, afterScore, afterId, limit + 1);
+        if (hits.size() <= limit) {
+            return new TaskSearchResultDto(hits.stream().map(TaskSearchHitDto::of).toList(), null);
+        }
+        var page = hits.subList(0, limit);
+        return new TaskSearchResultDto(page.stream().map(TaskSearchHitDto::of).toList(), cursor(page.getLast()));
+    }
+
+    /**
+     * The keyset position after {@code hit}; the score survives the round trip exactly as Java and PostgreSQL both
+     * use single precision for it.
+     */
+    static String cursor(TaskHit hit) {
+        return Float.toString(hit.score()) + CURSOR_SEPARATOR + hit.id();
+    }
+}
@@ -0,0 +1,249 @@
+package com.worldline.taskboard.service;
+
+import com.worldline.taskboard.exceptions.EntityNotFoundException;
+import com.worldline.taskboard.exceptions.VersionConflictException;
+import com.worldline.taskboard.model.dtos.BoardDto;
+import com.worldline.taskboard.model.dtos.BoardPayload;
+import com.worldline.taskboard.model.dtos.PageDto;
+import com.worldline.taskboard.model.dtos.TaskDetailsDto;
+import com.worldline.taskboard.model.dtos.TaskDto;
+import com.worldline.taskboard.model.dtos.TaskListDto;
+import com.worldline.taskboard.model.entities.Task;
+import com.worldline.taskboard.model.json.BoardJsonWriter;
+import com.worldline.taskboard.repository.TaskWriteBehindRepository;
+import com.worldline.taskboard.writebehind.TaskWrite;
+import com.worldline.taskboard.writebehind.TaskWriteBehind;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+import static com.worldline.taskboard.service.TaskBoardServiceImpl.DUPLICATE_TASK_NAME_IN_TARGET_LIST_MESSAGE;
+import static com.worldline.taskboard.service.TaskBoardServiceImpl.DUPLICATE_TASK_NAME_OF_TASK_MESSAGE;
+import static com.worldline.taskboard.service.TaskBoardServiceImpl.TASK_LIST_NOT_FOUND_MESSAGE;
+import static com.worldline.taskboard.service.TaskBoardServiceImpl.TASK_NOT_FOUND_MESSAGE;
+import static com.worldline.taskboard.service.TaskBoardServiceImpl.TASK_VERSION_CONFLICT_MESSAGE;
+
+/**
+ * The write-behind mode of the task board ({@code taskboard.write-behind.enabled}): task updates and moves are
+ * validated with one read, acknowledged once journaled by {@link TaskWriteBehind} and written to the database later
+ * in batches. Everything else is delegated to {@link TaskBoardServiceImpl}.
+ * <p>
+ * The board read by {@link #getBoard()} and {@link #getBoardPayload()} includes the pending writes, and its entity tag
+ * changes with every one of them. The other reads and writes of the board flush the pending writes first, so that
+ * they neither miss nor overwrite them. Reads by other services (changes, search, export) and by other nodes see a
+ * write once it is flushed, when its board change event is published.
+ */
+@Service
+@Primary
+@ConditionalOnProperty(value = "taskboard.write-behind.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class WriteBehindTaskBoardService implements TaskBoardService {
+
+    private static final Comparator<TaskDto> LIST_ORDER = Comparator.comparing(TaskDto::rank)
+            .thenComparing(TaskDto::taskId);
+
+    private final TaskBoardServiceImpl taskBoardService;
+    private final TaskWriteBehind taskWriteBehind;
+    private final TaskWriteBehindRepository taskWriteBehindRepository;
+
+    private volatile OverlaidBoard overlaidBoard;
+
+    @Override
+    public List<TaskListDto> getAllLists() {
+        return getBoard().lists();
+    }
+
+    @Override
+    public BoardDto getBoard() {
+        var sequence = taskWriteBehind.pendingSequence();
+        var board = taskBoardService.getBoard();
+        if (sequence == 0) {
+            return board;
+        }
+        var overlaid = overlaidBoard;
+        if (overlaid != null && overlaid.base() == board && overlaid.board().writeSequence() == sequence) {
+            return overlaid.board();
+        }
+        var result = overlay(board, sequence, taskWriteBehind.pendingWrites());
+        overlaidBoard = new OverlaidBoard(board, result);
+        return result;
+    }
+
+    @Override
+    public BoardPayload getBoardPayload() {
+        if (taskWriteBehind.pendingSequence() == 0) {
+            return taskBoardService.getBoardPayload();
+        }
+        var board = getBoard();
+        return new BoardPayload(board.version(), board.writeSequence(), BoardJsonWriter.toBytes(board.lists()));
+    }
+
+    @Override
+    public long getBoardVersion() {
+        return taskBoardService.getBoardVersion();
+    }
+
+    @Override
+    public String getBoardEtag() {
+        var sequence = taskWriteBehind.pendingSequence();
+        return BoardDto.etag(taskBoardService.getBoardVersion(), sequence);
+    }
+
+    @Override
+    public PageDto<TaskListDto> getListsPage(Long afterListId, int limit) {
+        taskWriteBehind.flush();
+        return taskBoardService.getListsPage(afterListId, limit);
+    }
+
+    @Override
+    public PageDto<TaskDto> getTasksPage(Long listId, Long afterTaskId, int limit) {
+        taskWriteBehind.flush();
+        return taskBoardService.getTasksPage(listId, afterTaskId, limit);
+    }
+
+    @Override
+    public void streamAllLists(BoardJsonWriter writer) {
+        taskWriteBehind.flush();
+        taskBoardService.streamAllLists(writer);
+    }
+
+    @Override
+    public TaskListDto createList(String name) {
+        return taskBoardService.createList(name);
+    }
+
+    @Override
+    public TaskDto createTask(TaskDetailsDto taskDetailsDto) {
+        return taskBoardService.createTask(taskDetailsDto);
+    }
+
+    @Override
+    public void addTaskToList(String taskListName, TaskDetailsDto taskDetailsDto) {
+        taskWriteBehind.flush();
+        taskBoardService.addTaskToList(taskListName, taskDetailsDto);
+    }
+
+    @Override
+    public TaskDto updateTask(Long taskId, TaskDetailsDto taskDetailsDto, Long expectedVersion) {
+        var write = write(taskId, expectedVersion, null, taskDetailsDto.name(),
+                task -> task.toBuilder()
+                        .name(taskDetailsDto.name())
+                        .description(taskDetailsDto.description())
+                        .build(),
+                () -> new IllegalArgumentException(
+                        String.format(DUPLICATE_TASK_NAME_OF_TASK_MESSAGE, taskDetailsDto.name(), taskId)));
+        return TaskDto.of(write.toTask());
+    }
+
+    @Override
+    public void deleteTask(Long taskId) {
+        taskWriteBehind.flush();
+        taskBoardService.deleteTask(taskId);
+    }
+
+    @Override
+    public void deleteList(Long listId) {
+        taskWriteBehind.flush();
+        taskBoardService.deleteList(listId);
+    }
+
+    @Override
+    public TaskDto moveTaskToList(Long taskId, Long newListId, Long expectedVersion) {
+        var write = write(taskId, expectedVersion, newListId, null,
+                task -> task.toBuilder()
+                        .listId(newListId)
+                        .build(),
+                () -> new IllegalArgumentException(
+                        String.format(DUPLICATE_TASK_NAME_IN_TARGET_LIST_MESSAGE, taskId, newListId)));
+        return TaskDto.of(write.toTask());
+    }
+
+    @Override
+    public TaskDto positionTask(Long taskId, Long listId, Long afterTaskId, Long expectedVersion) {
+        taskWriteBehind.flush();
+        return taskBoardService.positionTask(taskId, listId, afterTaskId, expectedVersion);
+    }
+
+    /**
+     * Validates the write against the database and the pending writes, then journals it.
+     *
+     * @param newListId the list the task moves to, or null if it stays in its list
+     * @param newName   the name the task gets, or null if it keeps its name
+     */
+    private TaskWrite write(Long taskId, Long expectedVersion, Long newListId, String newName,
+                            UnaryOperator<Task> change, Supplier<RuntimeException> duplicateName) {
+        var moving = newListId != null;
+        while (true) {
+            var flushes = taskWriteBehind.flushes();
+            var pending = taskWriteBehind.pending(taskId);
+            var listId = moving ? newListId : pending.map(TaskWrite::listId).orElse(null);
+            var name = newName != null ? newName : pending.map(TaskWrite::name).orElse(null);
+            var check = taskWriteBehindRepository.check(taskId, listId, name, moving)
+                    .orElseThrow(() -> new EntityNotFoundException(String.format(TASK_NOT_FOUND_MESSAGE, taskId)));
+            var write = taskWriteBehind.append(taskId, flushes, current -> {
+                var task = current.map(TaskWrite::toTask).orElse(check.task());
+                if (expectedVersion != null && !expectedVersion.equals(task.getVersion())) {
+                    throw new VersionConflictException(
+                            String.format(TASK_VERSION_CONFLICT_MESSAGE, taskId, task.getVersion(), expectedVersion));
+                }
+                if (moving && !check.listExists()) {
+                    throw new EntityNotFoundException(String.format(TASK_LIST_NOT_FOUND_MESSAGE, newListId));
+                }
+                var changed = change.apply(task).toBuilder()
+                        .rank(moving ? check.nextRank() : task.getRank())
+                        .updatedAt(LocalDateTime.now())
+                        .version(task.getVersion() + 1)
+                        .build();
+                if (check.nameTaken()
+                        || taskWriteBehind.isNameTaken(changed.getListId(), changed.getName(), taskId)) {
+                    throw duplicateName.get();
+                }
+                return TaskWrite.of(changed,
+                        current.map(TaskWrite::baseVersion).orElse(check.task().getVersion()),
+                        moving || current.map(TaskWrite::moved).orElse(false));
+            });
+            if (write.isPresent()) {
+                return write.get();
+            }
+        }
+    }
+
+    /**
+     * A copy of the board with the pending writes applied: written tasks replaced, moved ones in their new list.
+     */
+    private static BoardDto overlay(BoardDto board, long sequence, Map<Long, TaskWrite> writes) {
+        var writesByListId = new HashMap<Long, List<TaskWrite>>();
+        writes.values().forEach(write ->
+                writesByListId.computeIfAbsent(write.listId(), listId -> new ArrayList<>()).add(write));
+
+        var lists = new ArrayList<TaskListDto>(board.lists().size());
+        for (var taskList : board.lists()) {
+            var listWrites = writesByListId.getOrDefault(taskList.getListId(), List.of());
+            var tasks = new ArrayList<TaskDto>(taskList.getTasks().size() + listWrites.size());
+            taskList.getTasks().stream()
+                    .filter(task -> !writes.containsKey(task.taskId()))
+                    .forEach(tasks::add);
+            if (tasks.size() == taskList.getTasks().size() && listWrites.isEmpty()) {
+                lists.add(taskList);
+                continue;
+            }
+            listWrites.forEach(write -> tasks.add(TaskDto.of(write.toTask())));
+            tasks.sort(LIST_ORDER);
+            lists.add(new TaskListDto(taskList.getListId(), taskList.getName(), tasks));
+        }
+        return new BoardDto(board.version(), sequence, lists);
+    }
+
+    private record OverlaidBoard(BoardDto base, BoardDto board) {
+    }
+}
@@ -0,0 +1,227 @@
+package com.worldline.taskboard.writebehind;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only journal of {@link TaskWrite}s in two memory-mapped segment files of fixed size, of which one is current.
+ * A segment starts with its generation, followed by records {@code [length][CRC32C][payload]}; an empty length marks
+ * the end of the journal. A record is forced to disk before {@link #append} returns.
+ * <p>
+ * {@link #compact} rewrites the writes still pending into the other segment and only then gives it the next
+ * generation, which makes it current: a crash while compacting leaves the previous segment current and complete.
+ * <p>
+ * Not thread-safe: {@link TaskWriteBehind} appends, compacts and resets under its lock.
+ */
+public class TaskJournal implements AutoCloseable {
+
+    private static final int GENERATION_BYTES = Long.BYTES;
+    private static final int HEADER_BYTES = 2 * Integer.BYTES;
+    private static final int NULL = -1;
+
+    private final FileChannel[] channels = new FileChannel[2];
+    private final MappedByteBuffer[] segments = new MappedByteBuffer[2];
+    private int current;
+    private int position = GENERATION_BYTES;
+
+    /**
+     * @param path the first segment; the second one is next to it, with a {@code .1} suffix
+     */
+    public TaskJournal(Path path, int size) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        var paths = List.of(path, path.resolveSibling(path.getFileName() + ".1"));
+        for (var i = 0; i < segments.length; i++) {
+            channels[i] = FileChannel.open(paths.get(i),
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            segments[i] = channels[i].map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+        current = generation(1) > generation(0) ? 1 : 0;
+    }
+
+    /**
+     * Reads the current segment from the start up to its end, or up to a record torn by a crash, and continues
+     * appending after the last complete record.
+     */
+    public List<TaskWrite> replay() {
+        var buffer = segments[current];
+        var writes = new ArrayList<TaskWrite>();
+        position = GENERATION_BYTES;
+        while (position + HEADER_BYTES <= buffer.capacity()) {
+            var length = buffer.getInt(position);
+            if (length <= 0 || position + HEADER_BYTES + length > buffer.capacity()) {
+                break;
+            }
+            var payload = new byte[length];
+            buffer.get(position + HEADER_BYTES, payload);
+            if (buffer.getInt(position + Integer.BYTES) != checksum(payload)) {
+                break;
+            }
+            writes.add(decode(payload));
+            position += HEADER_BYTES + length;
+        }
+        return writes;
+    }
+
+    /**
+     * @return false, without writing anything, if the journal has no room left for {@code write}
+     */
+    public boolean append(TaskWrite write) {
+        var buffer = segments[current];
+        var payload = encode(write);
+        var end = position + HEADER_BYTES + payload.length;
+        if (end + Integer.BYTES > buffer.capacity()) {
+            return false;
+        }
+        // The terminator goes first: a crash in between leaves a journal ending before this record
+        buffer.putInt(end, 0);
+        put(buffer, position, payload);
+        buffer.force(position, end + Integer.BYTES - position);
+        position = end;
+        return true;
+    }
+
+    /**
+     * Replaces the journal with {@code writes}, the ones not in the database yet, in the order given.
+     *
+     * @return false, leaving the journal as it was, if {@code writes} do not fit in a segment
+     */
+    public boolean compact(List<TaskWrite> writes) {
+        var next = 1 - current;
+        var buffer = segments[next];
+        var end = GENERATION_BYTES;
+        for (var write : writes) {
+            var payload = encode(write);
+            if (end + HEADER_BYTES + payload.length + Integer.BYTES > buffer.capacity()) {
+                return false;
+            }
+            put(buffer, end, payload);
+            end += HEADER_BYTES + payload.length;
+        }
+        buffer.putInt(end, 0);
+        buffer.force(GENERATION_BYTES, end + Integer.BYTES - GENERATION_BYTES);
+        // Switch over once the records are on disk, with a single write of a few bytes
+        buffer.putLong(0, generation(current) + 1);
+        buffer.force(0, GENERATION_BYTES);
+        current = next;
+        position = end;
+        return true;
+    }
+
+    /**
+     * Empties the journal, once all its writes are in the database.
+     */
+    public void reset() {
+        var buffer = segments[current];
+        buffer.putInt(GENERATION_BYTES, 0);
+        buffer.force(GENERATION_BYTES, Integer.BYTES);
+        position = GENERATION_BYTES;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            channels[0].close();
+        } finally {
+            channels[1].close();
+        }
+    }
+
+    private long generation(int segment) {
+        return segments[segment].getLong(0);
+    }
+
+    private static void put(MappedByteBuffer buffer, int position, byte[] payload) {
+        buffer.put(position + HEADER_BYTES, payload);
+        buffer.putInt(position + Integer.BYTES, checksum(payload));
+        buffer.putInt(position, payload.length);
+    }
+
+    private static int checksum(byte[] payload) {
+        var crc = new CRC32C();
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    private static byte[] encode(TaskWrite write) {
+        var bytes = new ByteArrayOutputStream(256);
+        try (var out = new DataOutputStream(bytes)) {
+            out.writeLong(write.sequence());
+            out.writeLong(write.taskId());
+            out.writeLong(write.baseVersion());
+            out.writeLong(write.version());
+            out.writeLong(write.rank());
+            out.writeBoolean(write.moved());
+            out.writeBoolean(write.listId() != null);
+            out.writeLong(write.listId() != null ? write.listId() : 0);
+            writeString(out, write.name());
+            writeString(out, write.description());
+            writeTimestamp(out, write.createdAt());
+            writeTimestamp(out, write.updatedAt());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static TaskWrite decode(byte[] payload) {
+        try (var in = new DataInputStream(new ByteArrayInputStream(payload))) {
+            var sequence = in.readLong();
+            var taskId = in.readLong();
+            var baseVersion = in.readLong();
+            var version = in.readLong();
+            var rank = in.readLong();
+            var moved = in.readBoolean();
+            var hasListId = in.readBoolean();
+            var listId = in.readLong();
+            return new TaskWrite(sequence, taskId, baseVersion, hasListId ? listId : null, readString(in),
+                    readString(in), readTimestamp(in), readTimestamp(in), version, rank, moved);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(NULL);
+            return;
+        }
+        var bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        var length = in.readInt();
+        return length == NULL ? null : new String(in.readNBytes(length), StandardCharsets.UTF_8);
+    }
+
+    private static void writeTimestamp(DataOutputStream out, LocalDateTime value) throws IOException {
+        out.writeBoolean(value != null);
+        out.writeLong(value != null ? value.toEpochSecond(ZoneOffset.UTC) : 0);
+        out.writeInt(value != null ? value.getNano() : 0);
+    }
+
+    private static LocalDateTime readTimestamp(DataInputStream in) throws IOException {
+        var present = in.readBoolean();
+        var epochSecond = in.readLong();
+        var nanos = in.readInt();
+        return present ? LocalDateTime.ofEpochSecond(epochSecond, nanos, ZoneOffset.UTC) : null;
+    }
+}
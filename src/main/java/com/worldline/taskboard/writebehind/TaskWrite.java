@@ -0,0 +1,49 @@
+package com.worldline.taskboard.writebehind;
+
+import com.worldline.taskboard.model.entities.Task;
+
+import java.time.LocalDateTime;
+
+/**
+ * The state of a task after an acknowledged write that is not in the database yet. Every write carries the whole
+ * resulting state of the task, so repeated writes of a task coalesce: only the latest one has to be flushed.
+ *
+ * @param sequence    orders the writes taken by this node
+ * @param baseVersion the version of the task in the database that the pending writes of the task build on
+ * @param moved       whether any of the coalesced writes moved the task
+ */
+public record TaskWrite(long sequence,
+                        long taskId,
+                        long baseVersion,
+                        Long listId,
+                        String name,
+                        String description,
+                        LocalDateTime createdAt,
+                        LocalDateTime updatedAt,
+                        long version,
+                        long rank,
+                        boolean moved) {
+
+    public static TaskWrite of(Task task, long baseVersion, boolean moved) {
+        return new TaskWrite(0, task.getId(), baseVersion, task.getListId(), task.getName(), task.getDescription(),
+                task.getCreatedAt(), task.getUpdatedAt(), task.getVersion(), task.getRank(), moved);
+    }
+
+    public Task toTask() {
+        return Task.builder()
+                .id(taskId)
+                .listId(listId)
+                .name(name)
+                .description(description)
+                .createdAt(createdAt)
+                .updatedAt(updatedAt)
+                .version(version)
+                .rank(rank)
+                .build();
+    }
+
+    TaskWrite withSequence(long sequence) {
+        return new TaskWrite(sequence, taskId, baseVersion, listId, name, description, createdAt, updatedAt, version,
+                rank, moved);
+    }
+}
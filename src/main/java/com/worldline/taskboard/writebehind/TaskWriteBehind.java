@@ -0,0 +1,278 @@
+package com.worldline.taskboard.writebehind;
+
+import com.worldline.taskboard.events.BoardChangeBatchEvent;
+import com.worldline.taskboard.events.BoardChangeEvent;
+import com.worldline.taskboard.exceptions.ServiceUnavailableException;
+import com.worldline.taskboard.repository.TaskWriteBehindRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * The pending task writes of the write-behind mode: acknowledged once they are in the {@link TaskJournal}, written to
+ * the database every {@code taskboard.write-behind.flush-interval} in batches of {@code taskboard.write-behind.batch-size},
+ * each batch in one transaction together with one {@link BoardChangeBatchEvent} of its changes.
+ * <p>
+ * Only the latest write of a task is kept, so a task dragged around ten times between two flushes is written once.
+ * A pending write is dropped, and counted in {@value #DROPPED_METRIC}, when the database rejects it at flush time:
+ * the task was deleted, changed by another node or by a synchronous write, or its name was taken meanwhile.
+ * <p>
+ * After every flush the journal is compacted down to the writes still pending, so it only fills up when the database
+ * falls behind; a write that finds it full even then is rejected with a 503.
+ * <p>
+ * On startup the journal left by a crash is replayed: its writes are pending again and flushed with the next batch.
+ * Those the database already has, flushed just before the crash, are not counted as dropped.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(value = "taskboard.write-behind.enabled", havingValue = "true")
+public class TaskWriteBehind {
+
+    static final String PENDING_METRIC = "taskboard.write-behind.pending";
+    static final String DROPPED_METRIC = "taskboard.write-behind.dropped";
+
+    private final TaskWriteBehindRepository taskWriteBehindRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TaskJournal journal;
+    private final int batchSize;
+    private final Counter dropped;
+
+    private final Map<Long, TaskWrite> pending = new ConcurrentHashMap<>();
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final AtomicLong flushes = new AtomicLong();
+    private volatile long lastSequence;
+
+    public TaskWriteBehind(TaskWriteBehindRepository taskWriteBehindRepository,
+                           TransactionTemplate transactionTemplate,
+                           ApplicationEventPublisher eventPublisher,
+                           MeterRegistry meterRegistry,
+                           @Value("${taskboard.write-behind.journal:data/task-writes.journal}") Path journalPath,
+                           @Value("${taskboard.write-behind.journal-size:64MB}") DataSize journalSize,
+                           @Value("${taskboard.write-behind.batch-size:500}") int batchSize) {
+        this.taskWriteBehindRepository = taskWriteBehindRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+        try {
+            this.journal = new TaskJournal(journalPath, Math.toIntExact(journalSize.toBytes()));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open the task write journal " + journalPath, e);
+        }
+        // Later writes of a task carry its whole state: replaying in order leaves the latest one
+        journal.replay().forEach(write -> {
+            pending.put(write.taskId(), write);
+            lastSequence = Math.max(lastSequence, write.sequence());
+        });
+        if (!pending.isEmpty()) {
+            log.info("Replayed {} pending task writes from {}", pending.size(), journalPath);
+        }
+        this.dropped = Counter.builder(DROPPED_METRIC)
+                .description("Acknowledged task writes the database rejected when they were flushed")
+                .register(meterRegistry);
+        Gauge.builder(PENDING_METRIC, pending, Map::size)
+                .description("Tasks with acknowledged writes that are not in the database yet")
+                .register(meterRegistry);
+    }
+
+    public Optional<TaskWrite> pending(long taskId) {
+        return Optional.ofNullable(pending.get(taskId));
+    }
+
+    public Map<Long, TaskWrite> pendingWrites() {
+        return Map.copyOf(pending);
+    }
+
+    /**
+     * The sequence of the latest write while any write is pending, otherwise 0.
+     */
+    public long pendingSequence() {
+        // Read before the writes: the sequence may be older than the writes read after it, never newer
+        var sequence = lastSequence;
+        return pending.isEmpty() ? 0 : sequence;
+    }
+
+    /**
+     * Counts the completed flushes. A write computed from the database state, not from a pending write, is only
+     * valid if no flush completed since that state was read.
+     */
+    public long flushes() {
+        return flushes.get();
+    }
+
+    /**
+     * Whether a pending write of another task gives it {@code name} in {@code listId}.
+     */
+    public boolean isNameTaken(Long listId, String name, long taskId) {
+        return pending.values().stream()
+                .anyMatch(write -> write.taskId() != taskId && name.equals(write.name())
+                        && listId != null && listId.equals(write.listId()));
+    }
+
+    /**
+     * Journals the write that {@code write} computes from the pending write of the task, or from the database state
+     * when there is none, and makes it the task's pending write. Exceptions thrown by {@code write} reject the write.
+     *
+     * @param flushes {@link #flushes()} from before the database state was read
+     * @return the journaled write, or empty if a flush completed meanwhile and the write has to be computed again
+     * @throws ServiceUnavailableException if the journal is still full after a flush
+     */
+    public Optional<TaskWrite> append(long taskId, long flushes, Function<Optional<TaskWrite>, TaskWrite> write) {
+        for (var attempt = 0; attempt < 2; attempt++) {
+            appendLock.lock();
+            try {
+                var current = pending(taskId);
+                if (current.isEmpty() && this.flushes.get() != flushes) {
+                    return Optional.empty();
+                }
+                var next = write.apply(current).withSequence(lastSequence + 1);
+                if (journal.append(next)) {
+                    pending.put(taskId, next);
+                    lastSequence = next.sequence();
+                    return Optional.of(next);
+                }
+            } finally {
+                appendLock.unlock();
+            }
+            // The journal is full: write everything to the database, which compacts it
+            flush();
+        }
+        throw new ServiceUnavailableException("The task write journal is full, the database does not keep up; "
+                + "retry later");
+    }
+
+    /**
+     * Writes all writes pending when called to the database.
+     */
+    @Scheduled(fixedDelayString = "${taskboard.write-behind.flush-interval:PT0.2S}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            var writes = pending.values().stream()
+                    .sorted(Comparator.comparingLong(TaskWrite::sequence))
+                    .toList();
+            for (var from = 0; from < writes.size(); from += batchSize) {
+                flushBatch(writes.subList(from, Math.min(from + batchSize, writes.size())));
+            }
+            if (!writes.isEmpty()) {
+                compactJournal();
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        flush();
+        journal.close();
+    }
+
+    private void compactJournal() {
+        appendLock.lock();
+        try {
+            if (pending.isEmpty()) {
+                journal.reset();
+                return;
+            }
+            // Only the writes that came in during the flush stay in the journal
+            var stillPending = pending.values().stream()
+                    .sorted(Comparator.comparingLong(TaskWrite::sequence))
+                    .toList();
+            if (!journal.compact(stillPending)) {
+                log.warn("Could not compact the task write journal to its {} pending writes", stillPending.size());
+            }
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    private void flushBatch(List<TaskWrite> writes) {
+        int[] applied;
+        try {
+            applied = transactionTemplate.execute(status -> apply(writes));
+        } catch (DataIntegrityViolationException e) {
+            // One of them broke a constraint, e.g. a name taken meanwhile: write them one by one to drop only that one
+            writes.forEach(write -> {
+                try {
+                    completed(List.of(write), transactionTemplate.execute(status -> apply(List.of(write))));
+                } catch (DataIntegrityViolationException rejected) {
+                    completed(List.of(write), new int[]{0});
+                }
+            });
+            return;
+        }
+        completed(writes, applied);
+    }
+
+    private int[] apply(List<TaskWrite> writes) {
+        var applied = taskWriteBehindRepository.apply(writes);
+        // One change log statement and one notification for the whole batch, not one each per task
+        var changes = new ArrayList<BoardChangeEvent>(writes.size());
+        for (var i = 0; i < writes.size(); i++) {
+            if (applied[i] != 0) {
+                var task = writes.get(i).toTask();
+                changes.add(writes.get(i).moved()
+                        ? BoardChangeEvent.taskMoved(task)
+                        : BoardChangeEvent.taskUpdated(task));
+            }
+        }
+        if (!changes.isEmpty()) {
+            eventPublisher.publishEvent(new BoardChangeBatchEvent(changes));
+        }
+        return applied;
+    }
+
+    private void completed(List<TaskWrite> writes, int[] applied) {
+        // Counted before the writes are removed, so that a write computed from the database state read before this
+        // flush is recomputed
+        flushes.incrementAndGet();
+        var rejected = new ArrayList<Long>();
+        for (var i = 0; i < writes.size(); i++) {
+            if (applied[i] == 0) {
+                rejected.add(writes.get(i).taskId());
+            }
+        }
+        var versions = rejected.isEmpty() ? Map.<Long, Long>of() : taskWriteBehindRepository.findVersions(rejected);
+        for (var i = 0; i < writes.size(); i++) {
+            var write = writes.get(i);
+            if (applied[i] == 0) {
+                if (versions.containsKey(write.taskId()) && versions.get(write.taskId()) == write.version()) {
+                    // Flushed before a crash that left it in the journal, and replayed since
+                    log.debug("The pending write of task {} at version {} was already flushed", write.taskId(),
+                            write.version());
+                } else {
+                    log.warn("Dropped the pending write of task {} at version {}: the task was deleted or changed "
+                            + "otherwise, or its name is taken", write.taskId(), write.version());
+                    dropped.increment();
+                }
+            }
+            // Unless a later write of the task came in meanwhile
+            pending.remove(write.taskId(), write);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.worldline.taskboard.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ReplicaRoutingDataSourceTest {
+
+    private static final String SERVICE_TRANSACTION = "com.worldline.taskboard.service.TaskBoardServiceImpl.getListsPage";
+    private static final String REPOSITORY_TRANSACTION =
+            "org.springframework.data.jdbc.repository.support.SimpleJdbcRepository.findAll";
+
+    private final Replica first = new Replica("replica-1", mock(HikariDataSource.class));
+    private final Replica second = new Replica("replica-2", mock(HikariDataSource.class));
+    private ReplicaRoutingDataSource routingDataSource;
+
+    @BeforeEach
+    void setUp() {
+        routingDataSource = new ReplicaRoutingDataSource(mock(DataSource.class), List.of(first, second));
+        first.update(Duration.ZERO, true);
+        second.update(Duration.ZERO, true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clear();
+        ReplicaRoutingDataSource.unpin();
+    }
+
+    @Test
+    void readOnlyServiceTransactions_areSpreadOverTheAvailableReplicas() {
+        beginTransaction(SERVICE_TRANSACTION, true);
+
+        assertEquals("replica-1", routingDataSource.determineCurrentLookupKey());
+        assertEquals("replica-2", routingDataSource.determineCurrentLookupKey());
+
+        second.update(Duration.ofMinutes(1), false);
+        assertEquals("replica-1", routingDataSource.determineCurrentLookupKey());
+        assertEquals("replica-1", routingDataSource.determineCurrentLookupKey());
+    }
+
+    @Test
+    void writesAndReadsOutsideServiceTransactions_goToThePrimary() {
+        assertEquals(ReplicaRoutingDataSource.PRIMARY, routingDataSource.determineCurrentLookupKey());
+
+        beginTransaction(SERVICE_TRANSACTION, false);
+        assertEquals(ReplicaRoutingDataSource.PRIMARY, routingDataSource.determineCurrentLookupKey());
+
+        TransactionSynchronizationManager.clear();
+        beginTransaction(REPOSITORY_TRANSACTION, true);
+        assertEquals(ReplicaRoutingDataSource.PRIMARY, routingDataSource.determineCurrentLookupKey());
+    }
+
+    @Test
+    void readOnlyServiceTransactions_goToThePrimary_whenPinnedOrWithoutAvailableReplica() {
+        beginTransaction(SERVICE_TRANSACTION, true);
+
+        ReplicaRoutingDataSource.pinToPrimary();
+        assertEquals(ReplicaRoutingDataSource.PRIMARY, routingDataSource.determineCurrentLookupKey());
+
+        ReplicaRoutingDataSource.unpin();
+        first.update(null, false);
+        second.update(Duration.ofMinutes(1), false);
+        assertEquals(ReplicaRoutingDataSource.PRIMARY, routingDataSource.determineCurrentLookupKey());
+    }
+
+    private static void beginTransaction(String name, boolean readOnly) {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionName(name);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(readOnly);
+    }
+}
@@ -0,0 +1,42 @@
+package com.worldline.taskboard.model.dtos;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.worldline.taskboard.model.json.BoardFormat;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoardPayloadTest {
+
+    private static final byte[] JSON = """
+            [{"listId":1,"name":"Work","tasks":[{"taskId":2,"taskDetails":{"name":"Test Task","description":null},\
+            "version":1,"rank":65536}]}]""".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    void body_encodesTheJsonOncePerRepresentation() throws IOException {
+        var payload = new BoardPayload(7, 0, JSON);
+
+        var smile = payload.body(BoardFormat.SMILE, true);
+
+        assertSame(smile, payload.body(BoardFormat.SMILE, true));
+        assertSame(JSON, payload.body(BoardFormat.JSON, false));
+        try (var body = new GZIPInputStream(new ByteArrayInputStream(smile))) {
+            assertEquals(new ObjectMapper().readTree(JSON), new SmileMapper().readTree(body.readAllBytes()));
+        }
+    }
+
+    @Test
+    void etag_differsPerRepresentation() {
+        var payload = new BoardPayload(7, 12, JSON);
+
+        assertEquals("\"v7+12\"", BoardPayload.etag(payload.etag(), BoardFormat.JSON, false));
+        assertEquals("\"v7+12-gzip\"", BoardPayload.etag(payload.etag(), BoardFormat.JSON, true));
+        assertEquals("\"v7+12-cbor-gzip\"", BoardPayload.etag(payload.etag(), BoardFormat.CBOR, true));
+    }
+}
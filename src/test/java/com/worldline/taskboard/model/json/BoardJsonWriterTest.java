@@ -0,0 +1,54 @@
+package com.worldline.taskboard.model.json;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.worldline.taskboard.model.dtos.TaskDetailsDto;
+import com.worldline.taskboard.model.dtos.TaskDto;
+import com.worldline.taskboard.model.dtos.TaskListDto;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static com.worldline.taskboard.TestConstants.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoardJsonWriterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void toBytes_writesTheSameJsonAsTheDtos() throws JsonProcessingException {
+        var lists = board();
+
+        var json = new String(BoardJsonWriter.toBytes(lists), StandardCharsets.UTF_8);
+
+        assertEquals(objectMapper.writeValueAsString(lists), json);
+    }
+
+    @Test
+    void lines_writesOneListPerLine() throws IOException {
+        var lists = board();
+        var out = new StringWriter();
+        try (var generator = new JsonFactory().createGenerator(out)) {
+            var writer = BoardJsonWriter.lines(generator);
+            lists.forEach(writer::list);
+            writer.finish();
+        }
+
+        assertEquals(objectMapper.writeValueAsString(lists.getFirst()) + "\n"
+                + objectMapper.writeValueAsString(lists.get(1)) + "\n", out.toString());
+    }
+
+    private static List<TaskListDto> board() {
+        var described = new TaskDto(TEST_TASK_ID_1, new TaskDetailsDto(TASK_NAME_TEST, TASK_DESCRIPTION_TEST), 3L,
+                65_536L);
+        var undescribed = new TaskDto(TEST_TASK_ID_2, new TaskDetailsDto("Quote \" and é", null), 1L, 131_072L);
+        return List.of(
+                new TaskListDto(TEST_TASK_LIST_ID, TASK_LIST_PERSONAL, List.of(described, undescribed)),
+                new TaskListDto(TEST_TASK_LIST_ID + 1, TASK_LIST_WORK, List.of()));
+    }
+}
@@ -0,0 +1,122 @@
+package com.worldline.taskboard.service;
+
+import com.worldline.taskboard.events.BoardChangeType;
+import com.worldline.taskboard.model.dtos.ChangedTaskDto;
+import com.worldline.taskboard.model.entities.Task;
+import com.worldline.taskboard.model.entities.TaskList;
+import com.worldline.taskboard.repository.BoardChangeRepository;
+import com.worldline.taskboard.repository.BoardChangeRepository.BoardChange;
+import com.worldline.taskboard.repository.BoardVersionRepository;
+import com.worldline.taskboard.repository.TaskListRepository;
+import com.worldline.taskboard.repository.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Set;
+
+import static com.worldline.taskboard.TestConstants.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BoardSyncServiceImplTest {
+    private static final int MAX_CHANGES = 10;
+
+    @Mock
+    private BoardVersionRepository boardVersionRepository;
+    @Mock
+    private BoardChangeRepository boardChangeRepository;
+    @Mock
+    private TaskListRepository taskListRepository;
+    @Mock
+    private TaskRepository taskRepository;
+    @InjectMocks
+    private BoardSyncServiceImpl boardSyncService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(boardSyncService, "maxChanges", MAX_CHANGES);
+    }
+
+    @Test
+    void getChangesSince_currentVersion_returnsNoChangesWithoutReadingTheLog() {
+        when(boardVersionRepository.currentVersion()).thenReturn(7L);
+
+        var changes = boardSyncService.getChangesSince(7L);
+
+        assertEquals(7L, changes.version());
+        assertFalse(changes.resync());
+        assertTrue(changes.tasks().isEmpty());
+        verifyNoInteractions(boardChangeRepository, taskListRepository, taskRepository);
+    }
+
+    @Test
+    void getChangesSince_shouldReturnCurrentStateOfChangedRows_andTombstonesOfDeletedOnes() {
+        var taskList = TaskList.builder()
+                .id(TEST_TASK_LIST_ID)
+                .name(TASK_LIST_PERSONAL)
+                .build();
+        var task = Task.builder()
+                .id(TEST_TASK_ID_1)
+                .listId(TEST_TASK_LIST_ID)
+                .name(TASK_NAME_TEST)
+                .description(TASK_DESCRIPTION_TEST)
+                .build();
+        when(boardVersionRepository.currentVersion()).thenReturn(8L);
+        when(boardChangeRepository.findAfter(4L, MAX_CHANGES + 1)).thenReturn(List.of(
+                new BoardChange(5L, BoardChangeType.LIST_CREATED, TEST_TASK_LIST_ID, null),
+                new BoardChange(6L, BoardChangeType.TASK_ADDED, TEST_TASK_LIST_ID, TEST_TASK_ID_1),
+                new BoardChange(7L, BoardChangeType.TASK_UPDATED, TEST_TASK_LIST_ID, TEST_TASK_ID_1),
+                new BoardChange(8L, BoardChangeType.TASK_DELETED, TEST_TASK_LIST_ID, TEST_TASK_ID_2)));
+        when(taskListRepository.findAllById(Set.of(TEST_TASK_LIST_ID))).thenReturn(List.of(taskList));
+        when(taskRepository.findAllById(Set.of(TEST_TASK_ID_1, TEST_TASK_ID_2))).thenReturn(List.of(task));
+
+        var changes = boardSyncService.getChangesSince(4L);
+
+        assertEquals(8L, changes.version());
+        assertFalse(changes.resync());
+        assertEquals(TASK_LIST_PERSONAL, changes.lists().getFirst().name());
+        assertEquals(List.of(ChangedTaskDto.of(task)), changes.tasks());
+        assertEquals(List.of(), changes.deletedListIds());
+        assertEquals(List.of(TEST_TASK_ID_2), changes.deletedTaskIds());
+    }
+
+    @Test
+    void getChangesSince_prunedVersion_asksForResync() {
+        when(boardVersionRepository.currentVersion()).thenReturn(8L);
+        when(boardChangeRepository.findAfter(2L, MAX_CHANGES + 1)).thenReturn(List.of(
+                new BoardChange(6L, BoardChangeType.TASK_DELETED, TEST_TASK_LIST_ID, TEST_TASK_ID_2)));
+
+        var changes = boardSyncService.getChangesSince(2L);
+
+        assertTrue(changes.resync());
+        assertEquals(8L, changes.version());
+        verifyNoInteractions(taskListRepository, taskRepository);
+    }
+
+    @Test
+    void getChangesSince_unknownVersion_asksForResync() {
+        when(boardVersionRepository.currentVersion()).thenReturn(8L);
+
+        assertTrue(boardSyncService.getChangesSince(9L).resync());
+
+        verifyNoInteractions(boardChangeRepository);
+    }
+
+    @Test
+    void getChangesSince_moreChangesThanMaxChanges_asksForResyncWithoutReadingTheLog() {
+        when(boardVersionRepository.currentVersion()).thenReturn(20L);
+
+        var changes = boardSyncService.getChangesSince(2L);
+
+        assertTrue(changes.resync());
+        assertEquals(20L, changes.version());
+        verifyNoInteractions(boardChangeRepository, taskListRepository, taskRepository);
+    }
+}
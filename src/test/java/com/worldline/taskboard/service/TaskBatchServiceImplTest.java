@@ -0,0 +1,188 @@
+package com.worldline.taskboard.service;
+
+import com.worldline.taskboard.events.BoardChangeBatchEvent;
+import com.worldline.taskboard.events.BoardChangeEvent;
+import com.worldline.taskboard.model.dtos.TaskDetailsDto;
+import com.worldline.taskboard.model.dtos.TaskDto;
+import com.worldline.taskboard.model.dtos.TaskOperationDto;
+import com.worldline.taskboard.model.dtos.TaskOperationFailureDto;
+import com.worldline.taskboard.model.entities.Task;
+import com.worldline.taskboard.repository.TaskBatchRepository;
+import com.worldline.taskboard.repository.TaskBatchRepository.TaskState;
+import com.worldline.taskboard.writebehind.TaskWriteBehind;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static com.worldline.taskboard.TestConstants.*;
+import static com.worldline.taskboard.model.dtos.TaskOperationDto.Type.DELETE;
+import static com.worldline.taskboard.model.dtos.TaskOperationDto.Type.MOVE;
+import static com.worldline.taskboard.model.dtos.TaskOperationDto.Type.UPDATE;
+import static com.worldline.taskboard.service.TaskBatchServiceImpl.DUPLICATE_TASK_IN_BATCH_MESSAGE;
+import static com.worldline.taskboard.service.TaskBatchServiceImpl.TASK_DETAILS_REQUIRED_MESSAGE;
+import static com.worldline.taskboard.service.TaskBoardServiceImpl.DUPLICATE_TASK_NAME_IN_TARGET_LIST_MESSAGE;
+import static com.worldline.taskboard.service.TaskBoardServiceImpl.TASK_LIST_NOT_FOUND_MESSAGE;
+import static com.worldline.taskboard.service.TaskBoardServiceImpl.TASK_NOT_FOUND_MESSAGE;
+import static com.worldline.taskboard.service.TaskBoardServiceImpl.TASK_VERSION_CONFLICT_MESSAGE;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskBatchServiceImplTest {
+    private static final Long TARGET_LIST_ID = TEST_TASK_LIST_ID + 1;
+
+    @Mock
+    private TaskBatchRepository taskBatchRepository;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    @Mock
+    private TransactionStatus transactionStatus;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private ObjectProvider<TaskWriteBehind> taskWriteBehind;
+
+    private TaskBatchServiceImpl taskBatchService;
+
+    @BeforeEach
+    void setUp() {
+        var validator = Validation.buildDefaultValidatorFactory().getValidator();
+        taskBatchService = new TaskBatchServiceImpl(taskBatchRepository, validator, transactionTemplate,
+                eventPublisher, taskWriteBehind);
+        ReflectionTestUtils.setField(taskBatchService, "maxOperations", 10);
+    }
+
+    @Test
+    void applyOperations_shouldWriteEachTypeInOneStatement_andExplainTheOperationsNotApplied() {
+        inTransaction();
+        var updated = task(1L, TEST_TASK_LIST_ID, 2L);
+        var moved = task(2L, TARGET_LIST_ID, 4L);
+        var deleted = task(3L, TEST_TASK_LIST_ID, 1L);
+        when(taskBatchRepository.delete(anyList())).thenReturn(List.of(deleted));
+        when(taskBatchRepository.updateDetails(anyList())).thenReturn(List.of(updated));
+        when(taskBatchRepository.moveToLists(anyList())).thenReturn(List.of(moved));
+        when(taskBatchRepository.findStates(List.of(update(4L, 5L), move(5L, 99L), move(7L, TARGET_LIST_ID),
+                TaskOperationDto.builder().type(DELETE).taskId(8L).build())))
+                .thenReturn(Map.of(4L, new TaskState(6L, false), 5L, new TaskState(1L, false),
+                        7L, new TaskState(1L, true)));
+
+        var result = taskBatchService.applyOperations(List.of(
+                update(1L, null),
+                move(2L, TARGET_LIST_ID),
+                TaskOperationDto.builder().type(DELETE).taskId(3L).build(),
+                update(4L, 5L),
+                move(5L, 99L),
+                TaskOperationDto.builder().type(UPDATE).taskId(6L).build(),
+                update(1L, null),
+                move(7L, TARGET_LIST_ID),
+                TaskOperationDto.builder().type(DELETE).taskId(8L).build()));
+
+        assertEquals(9, result.received());
+        assertEquals(3, result.applied());
+        assertEquals(List.of(TaskDto.of(updated), TaskDto.of(moved)), result.tasks());
+        assertEquals(List.of(3, 4, 5, 6, 7, 8),
+                result.failures().stream().map(TaskOperationFailureDto::index).toList());
+        assertEquals(List.of(
+                String.format(TASK_VERSION_CONFLICT_MESSAGE, 4L, 6L, 5L),
+                String.format(TASK_LIST_NOT_FOUND_MESSAGE, 99L),
+                TASK_DETAILS_REQUIRED_MESSAGE,
+                String.format(DUPLICATE_TASK_IN_BATCH_MESSAGE, 1L),
+                String.format(DUPLICATE_TASK_NAME_IN_TARGET_LIST_MESSAGE, 7L, TARGET_LIST_ID),
+                String.format(TASK_NOT_FOUND_MESSAGE, 8L)),
+                result.failures().stream().map(TaskOperationFailureDto::reason).toList());
+        verify(taskBatchRepository).updateDetails(List.of(update(1L, null), update(4L, 5L)));
+        verify(taskBatchRepository).moveToLists(List.of(move(2L, TARGET_LIST_ID), move(5L, 99L),
+                move(7L, TARGET_LIST_ID)));
+        verify(eventPublisher).publishEvent(new BoardChangeBatchEvent(List.of(
+                BoardChangeEvent.taskUpdated(updated),
+                BoardChangeEvent.taskMoved(moved),
+                BoardChangeEvent.taskDeleted(deleted))));
+        verifyNoMoreInteractions(eventPublisher);
+        verify(taskWriteBehind).ifAvailable(any());
+    }
+
+    @Test
+    void applyOperations_shouldApplyOneByOne_whenTwoOperationsTakeTheSameName() {
+        inTransaction();
+        var moved = task(1L, TARGET_LIST_ID, 2L);
+        var duplicate = new DuplicateKeyException("task_list_id_name_key");
+        when(taskBatchRepository.moveToLists(anyList()))
+                .thenThrow(duplicate)
+                .thenReturn(List.of(moved))
+                .thenThrow(duplicate);
+
+        var result = taskBatchService.applyOperations(List.of(move(1L, TARGET_LIST_ID), move(2L, TARGET_LIST_ID)));
+
+        assertEquals(1, result.applied());
+        assertEquals(List.of(TaskDto.of(moved)), result.tasks());
+        assertEquals(List.of(new TaskOperationFailureDto(1, 2L,
+                String.format(DUPLICATE_TASK_NAME_IN_TARGET_LIST_MESSAGE, 2L, TARGET_LIST_ID))), result.failures());
+        verify(taskBatchRepository).moveToLists(List.of(move(1L, TARGET_LIST_ID)));
+        verify(transactionStatus, times(2)).rollbackToSavepoint(any());
+        verify(taskBatchRepository, never()).findStates(anyList());
+        verify(eventPublisher).publishEvent(new BoardChangeBatchEvent(List.of(BoardChangeEvent.taskMoved(moved))));
+        verifyNoMoreInteractions(eventPublisher);
+    }
+
+    @Test
+    void applyOperations_shouldRejectTooManyOperations() {
+        var operations = Collections.nCopies(11, update(1L, null));
+
+        assertThrows(IllegalArgumentException.class, () -> taskBatchService.applyOperations(operations));
+        verifyNoInteractions(transactionTemplate, taskBatchRepository);
+    }
+
+    @Test
+    void applyOperations_shouldNotOpenATransaction_whenNoOperationIsValid() {
+        var result = taskBatchService.applyOperations(List.of(move(TEST_TASK_ID_1, null)));
+
+        assertEquals(0, result.applied());
+        assertEquals(1, result.failures().size());
+        verifyNoInteractions(transactionTemplate, taskBatchRepository, taskWriteBehind);
+    }
+
+    private void inTransaction() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(transactionStatus));
+    }
+
+    private static TaskOperationDto update(Long taskId, Long version) {
+        return TaskOperationDto.builder()
+                .type(UPDATE)
+                .taskId(taskId)
+                .version(version)
+                .taskDetails(new TaskDetailsDto(TASK_NAME_TEST, TASK_DESCRIPTION_TEST))
+                .build();
+    }
+
+    private static TaskOperationDto move(Long taskId, Long listId) {
+        return TaskOperationDto.builder().type(MOVE).taskId(taskId).listId(listId).build();
+    }
+
+    private static Task task(Long id, Long listId, Long version) {
+        return Task.builder()
+                .id(id)
+                .listId(listId)
+                .name(TASK_NAME_TEST)
+                .description(TASK_DESCRIPTION_TEST)
+                .version(version)
+                .rank(65_536L)
+                .build();
+    }
+}
@@ -0,0 +1,73 @@
+package com.worldline.taskboard.service;
+
+import com.worldline.taskboard.events.BoardChangeEvent;
+import com.worldline.taskboard.model.dtos.BoardDto;
+import com.worldline.taskboard.model.dtos.TaskListDto;
+import com.worldline.taskboard.model.entities.Task;
+import com.worldline.taskboard.model.entities.TaskList;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.worldline.taskboard.TestConstants.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskBoardCacheTest {
+
+    private TaskBoardCache taskBoardCache;
+    private AtomicInteger loads;
+    private TaskList taskList;
+    private Task task;
+
+    @BeforeEach
+    void setUp() {
+        taskBoardCache = new TaskBoardCache(new ConcurrentMapCacheManager());
+        loads = new AtomicInteger();
+        taskList = TaskList.builder()
+                .id(TEST_TASK_LIST_ID)
+                .name(TASK_LIST_PERSONAL)
+                .build();
+        task = Task.builder()
+                .id(TEST_TASK_ID_1)
+                .listId(TEST_TASK_LIST_ID)
+                .name(TASK_NAME_TEST)
+                .build();
+    }
+
+    @Test
+    void getBoard_shouldLoadOnlyOnce_untilAnyChange() {
+        taskBoardCache.getBoard(this::loadBoard);
+        taskBoardCache.getBoard(this::loadBoard);
+        assertEquals(1, loads.get());
+
+        taskBoardCache.evict(BoardChangeEvent.taskAdded(task));
+        taskBoardCache.getBoard(this::loadBoard);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void findListByName_shouldCacheMisses_untilListIsCreated() {
+        var missing = taskBoardCache.findListByName(TASK_LIST_PERSONAL, name -> {
+            loads.incrementAndGet();
+            return Optional.empty();
+        });
+        assertTrue(missing.isEmpty());
+
+        taskBoardCache.evict(BoardChangeEvent.listCreated(taskList));
+        var created = taskBoardCache.findListByName(TASK_LIST_PERSONAL, name -> {
+            loads.incrementAndGet();
+            return Optional.of(taskList);
+        });
+        assertEquals(Optional.of(taskList), created);
+        assertEquals(2, loads.get());
+    }
+
+    private BoardDto loadBoard() {
+        loads.incrementAndGet();
+        return new BoardDto(loads.get(), List.of(TaskListDto.of(taskList)));
+    }
+}
@@ -1,12 +1,20 @@
 package com.worldline.taskboard.service;
 
+import com.worldline.taskboard.events.BoardChangeEvent;
+import com.worldline.taskboard.events.BoardChangeType;
 import com.worldline.taskboard.exceptions.DuplicateEntityException;
 import com.worldline.taskboard.exceptions.EntityNotFoundException;
+import com.worldline.taskboard.exceptions.VersionConflictException;
 import com.worldline.taskboard.model.dtos.TaskListDto;
 import com.worldline.taskboard.model.dtos.TaskDetailsDto;
 import com.worldline.taskboard.model.entities.Task;
 import com.worldline.taskboard.model.entities.TaskList;
+import com.worldline.taskboard.model.json.BoardJsonWriter;
+import com.worldline.taskboard.repository.BoardStreamRepository;
+import com.worldline.taskboard.repository.BoardVersionRepository;
 import com.worldline.taskboard.repository.TaskListRepository;
+import com.worldline.taskboard.repository.TaskRankRepository;
+import com.worldline.taskboard.repository.TaskRankRepository.Neighbours;
 import com.worldline.taskboard.repository.TaskRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -16,17 +24,26 @@ import org.junit.jupiter.params.provider.NullAndEmptySource;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
 import static com.worldline.taskboard.TestConstants.*;
+import static com.worldline.taskboard.repository.TaskRankRepository.RANK_GAP;
+import static com.worldline.taskboard.service.TaskBoardServiceImpl.DUPLICATE_TASK_NAME_MESSAGE;
 import static com.worldline.taskboard.service.TaskBoardServiceImpl.TASK_LIST_NOT_FOUND_MESSAGE;
 import static com.worldline.taskboard.service.TaskBoardServiceImpl.TASK_NOT_FOUND_MESSAGE;
+import static com.worldline.taskboard.service.TaskBoardServiceImpl.TASK_NOT_IN_LIST_MESSAGE;
+import static com.worldline.taskboard.service.TaskBoardServiceImpl.TASK_VERSION_CONFLICT_MESSAGE;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -36,6 +53,16 @@ class TaskBoardServiceImplTest {
     private TaskListRepository taskListRepository;
     @Mock
     private TaskRepository taskRepository;
+    @Mock
+    private TaskRankRepository taskRankRepository;
+    @Mock
+    private BoardStreamRepository boardStreamRepository;
+    @Mock
+    private BoardVersionRepository boardVersionRepository;
+    @Spy
+    private TaskBoardCache taskBoardCache = new TaskBoardCache(new NoOpCacheManager());
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
     @InjectMocks
     private TaskBoardServiceImpl taskBoardService;
 
@@ -80,7 +107,7 @@ class TaskBoardServiceImplTest {
         var taskLists = List.of(taskList);
         var tasks = List.of(testTask1);
         when(taskListRepository.findAll()).thenReturn(taskLists);
-        when(taskRepository.findByListId(taskList.id())).thenReturn(tasks);
+        when(taskRepository.findAllAssignedOrderByListId()).thenReturn(tasks);
 
         var result = taskBoardService.getAllLists();
 
@@ -90,7 +117,108 @@ class TaskBoardServiceImplTest {
         assertEquals(1, result.getFirst().getTasks().size());
         assertEquals(testTask1.getId(), result.getFirst().getTasks().getFirst().taskId());
         verify(taskListRepository).findAll();
-        verify(taskRepository).findByListId(taskList.id());
+        verify(taskRepository).findAllAssignedOrderByListId();
+        verify(taskRepository, never()).findByListId(anyLong());
+    }
+
+    @Test
+    void getBoard_shouldReadVersionBeforeBoard() {
+        when(boardVersionRepository.currentVersion()).thenReturn(7L);
+        when(taskListRepository.findAll()).thenReturn(List.of(taskList));
+
+        var board = taskBoardService.getBoard();
+
+        assertEquals(7L, board.version());
+        assertEquals(1, board.lists().size());
+        var inOrder = inOrder(boardVersionRepository, taskListRepository);
+        inOrder.verify(boardVersionRepository).currentVersion();
+        inOrder.verify(taskListRepository).findAll();
+    }
+
+    @Test
+    void getBoardPayload_shouldWriteTheRowsAtTheVersionReadBefore() {
+        when(boardVersionRepository.currentVersion()).thenReturn(7L);
+        doAnswer(invocation -> {
+            var writer = invocation.<BoardJsonWriter>getArgument(0);
+            writer.list(taskList.id(), taskList.name());
+            writer.task(testTask1.getId(), testTask1.getName(), null, 1L, 65_536L);
+            return null;
+        }).when(boardStreamRepository).writeBoard(any());
+
+        var board = taskBoardService.getBoardPayload();
+
+        assertEquals("\"v7\"", board.etag());
+        assertEquals("[{\"listId\":" + taskList.id() + ",\"name\":\"" + taskList.name() + "\",\"tasks\":[{\"taskId\":"
+                        + testTask1.getId() + ",\"taskDetails\":{\"name\":\"" + testTask1.getName()
+                        + "\",\"description\":null},\"version\":1,\"rank\":65536}]}]",
+                new String(board.json(), StandardCharsets.UTF_8));
+        var inOrder = inOrder(boardVersionRepository, boardStreamRepository);
+        inOrder.verify(boardVersionRepository).currentVersion();
+        inOrder.verify(boardStreamRepository).writeBoard(any());
+        verifyNoInteractions(taskListRepository, taskRepository);
+    }
+
+    @Test
+    void getBoardVersion_shouldNotReadBoard() {
+        when(boardVersionRepository.currentVersion()).thenReturn(7L);
+
+        assertEquals(7L, taskBoardService.getBoardVersion());
+
+        verifyNoInteractions(taskListRepository, taskRepository);
+    }
+
+    @Test
+    void getAllLists_shouldReturnEmptyTasks_forListWithoutTasks() {
+        var otherList = taskList.toBuilder()
+                .id(TEST_TASK_LIST_ID + 1)
+                .name(TASK_LIST_WORK)
+                .build();
+        when(taskListRepository.findAll()).thenReturn(List.of(taskList, otherList));
+        when(taskRepository.findAllAssignedOrderByListId()).thenReturn(List.of(testTask1));
+
+        var result = taskBoardService.getAllLists();
+
+        assertEquals(2, result.size());
+        assertEquals(1, result.getFirst().getTasks().size());
+        assertTrue(result.get(1).getTasks().isEmpty());
+    }
+
+    @Test
+    void getListsPage_shouldReturnNextCursor_whenMoreListsExist() {
+        var nextList = taskList.toBuilder().id(TEST_TASK_LIST_ID + 1).name(TASK_LIST_WORK).build();
+        when(taskListRepository.findPageAfterId(0L, 2)).thenReturn(List.of(taskList, nextList));
+        when(taskRepository.findAllByListIds(List.of(TEST_TASK_LIST_ID))).thenReturn(List.of(testTask1));
+
+        var result = taskBoardService.getListsPage(0L, 1);
+
+        assertEquals(1, result.items().size());
+        assertEquals(TEST_TASK_LIST_ID, result.nextCursor());
+        assertEquals(testTask1.getId(), result.items().getFirst().getTasks().getFirst().taskId());
+    }
+
+    @Test
+    void getListsPage_shouldReturnNoCursor_onLastPage() {
+        when(taskListRepository.findPageAfterId(TEST_TASK_LIST_ID - 1, 11)).thenReturn(List.of(taskList));
+        when(taskRepository.findAllByListIds(List.of(TEST_TASK_LIST_ID))).thenReturn(List.of());
+
+        var result = taskBoardService.getListsPage(TEST_TASK_LIST_ID - 1, 10);
+
+        assertEquals(1, result.items().size());
+        assertNull(result.nextCursor());
+        assertTrue(result.items().getFirst().getTasks().isEmpty());
+    }
+
+    @Test
+    void getTasksPage_whenListNotFound_throwsEntityNotFoundException() {
+        when(taskRepository.findPageByListIdAfterId(TEST_TASK_LIST_ID, 0L, 11)).thenReturn(List.of());
+        when(taskListRepository.existsById(TEST_TASK_LIST_ID)).thenReturn(false);
+
+        var exception = assertThrows(
+                EntityNotFoundException.class,
+                () -> taskBoardService.getTasksPage(TEST_TASK_LIST_ID, 0L, 10)
+        );
+
+        assertEquals(String.format(TASK_LIST_NOT_FOUND_MESSAGE, TEST_TASK_LIST_ID), exception.getMessage());
     }
 
     @Test
@@ -103,6 +231,7 @@ class TaskBoardServiceImplTest {
         assertEquals(taskList.id(), result.getListId());
         assertEquals(TASK_LIST_PERSONAL, result.getName());
         verify(taskListRepository).save(any(TaskList.class));
+        verify(eventPublisher).publishEvent(BoardChangeEvent.listCreated(taskList));
     }
 
     @Test
@@ -134,13 +263,15 @@ class TaskBoardServiceImplTest {
                 .description(TASK_DESCRIPTION_TEST)
                 .build();
         when(taskListRepository.findByName(TASK_LIST_PERSONAL)).thenReturn(Optional.of(taskList));
-        when(taskRepository.findByListId(taskList.id())).thenReturn(List.of(testTask1));
+        when(taskRepository.save(any(Task.class))).thenAnswer(invocation ->
+                invocation.<Task>getArgument(0).toBuilder().id(TEST_TASK_ID_2).build());
 
         taskBoardService.addTaskToList(TASK_LIST_PERSONAL, inputTask);
 
         verify(taskListRepository).findByName(TASK_LIST_PERSONAL);
-        verify(taskRepository).findByListId(taskList.id());
+        verify(taskRepository, never()).findByListId(anyLong());
         verify(taskRepository).save(any(Task.class));
+        verify(eventPublisher).publishEvent(any(BoardChangeEvent.class));
     }
 
     @ParameterizedTest
@@ -165,146 +296,237 @@ class TaskBoardServiceImplTest {
     @Test
     void addTaskToList_whenTaskWithSameNameExists_throwsIllegalArgumentException() {
         when(taskListRepository.findByName(TASK_LIST_PERSONAL)).thenReturn(Optional.of(taskList));
-        when(taskRepository.findByListId(taskList.id())).thenReturn(List.of(testTask1));
+        when(taskRepository.save(any(Task.class))).thenThrow(new DuplicateKeyException("uk_task_list_id_name"));
 
-        assertThrows(IllegalArgumentException.class, () -> taskBoardService.addTaskToList(TASK_LIST_PERSONAL, taskDetailsDto));
+        var exception = assertThrows(IllegalArgumentException.class,
+                () -> taskBoardService.addTaskToList(TASK_LIST_PERSONAL, taskDetailsDto));
 
-        verify(taskListRepository).findByName(TASK_LIST_PERSONAL);
-        verify(taskRepository).findByListId(taskList.id());
-        verify(taskRepository, never()).save(any(Task.class));
+        assertEquals(String.format(DUPLICATE_TASK_NAME_MESSAGE, TASK_NAME_TEST, TASK_LIST_PERSONAL), exception.getMessage());
+        verify(taskRepository, never()).findByListId(anyLong());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void moveTaskToList_whenTaskWithSameNameExistsInTargetList_throwsIllegalArgumentException() {
+        var targetListId = 999L;
+        when(taskRepository.moveToList(eq(TEST_TASK_ID_1), eq(targetListId), any(LocalDateTime.class), isNull()))
+                .thenThrow(new DuplicateKeyException("uk_task_list_id_name"));
+
+        assertThrows(IllegalArgumentException.class, () -> taskBoardService.moveTaskToList(TEST_TASK_ID_1, targetListId, null));
+
+        verify(eventPublisher, never()).publishEvent(any());
     }
 
     @Test
     void updateTask_success() {
-        var updateRequest = TaskDetailsDto.builder()
+        var updatedTask = testTask1.toBuilder()
                 .name(TASK_NAME_OTHER)
                 .description(TASK_DESCRIPTION_ANOTHER)
+                .version(1L)
                 .build();
-        when(taskRepository.findById(TEST_TASK_ID_1)).thenReturn(Optional.of(testTask1));
+        when(taskRepository.updateDetails(eq(TEST_TASK_ID_1), eq(TASK_NAME_OTHER), eq(TASK_DESCRIPTION_ANOTHER),
+                any(LocalDateTime.class), isNull())).thenReturn(Optional.of(updatedTask));
 
-        taskBoardService.updateTask(TEST_TASK_ID_1, updateRequest);
+        var result = taskBoardService.updateTask(TEST_TASK_ID_1, TaskDetailsDto.builder()
+                .name(TASK_NAME_OTHER)
+                .description(TASK_DESCRIPTION_ANOTHER)
+                .build(), null);
 
-        var taskCaptor = ArgumentCaptor.forClass(Task.class);
-        verify(taskRepository).save(taskCaptor.capture());
+        assertEquals(TEST_TASK_ID_1, result.taskId());
+        assertEquals(TASK_NAME_OTHER, result.taskDetails().name());
+        assertEquals(1L, result.version());
+        verify(taskRepository, never()).findById(anyLong());
+        verify(taskRepository, never()).save(any(Task.class));
 
-        var savedTask = taskCaptor.getValue();
-        assertEquals(TEST_TASK_ID_1, savedTask.getId());
-        assertEquals(TASK_NAME_OTHER, savedTask.getName());
-        assertEquals(TASK_DESCRIPTION_ANOTHER, savedTask.getDescription());
-        assertEquals(TEST_TASK_LIST_ID, savedTask.getListId());
-        assertEquals(now, savedTask.getCreatedAt());
+        var eventCaptor = ArgumentCaptor.forClass(BoardChangeEvent.class);
+        verify(eventPublisher).publishEvent(eventCaptor.capture());
+        assertEquals(BoardChangeType.TASK_UPDATED, eventCaptor.getValue().type());
+        assertEquals(TEST_TASK_ID_1, eventCaptor.getValue().taskId());
     }
 
     @Test
     void updateTask_whenTaskNotFound_throwsEntityNotFoundException() {
-        when(taskRepository.findById(TEST_TASK_ID_2)).thenReturn(Optional.empty());
+        when(taskRepository.updateDetails(eq(TEST_TASK_ID_2), any(), any(), any(LocalDateTime.class), isNull()))
+                .thenReturn(Optional.empty());
+        when(taskRepository.findVersionById(TEST_TASK_ID_2)).thenReturn(Optional.empty());
 
         var exception = assertThrows(
                 EntityNotFoundException.class,
-                () -> taskBoardService.updateTask(TEST_TASK_ID_2, any(TaskDetailsDto.class))
+                () -> taskBoardService.updateTask(TEST_TASK_ID_2, taskDetailsDto, null)
         );
 
         assertEquals(String.format(TASK_NOT_FOUND_MESSAGE, TEST_TASK_ID_2), exception.getMessage());
-        verify(taskRepository, never()).save(any(Task.class));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void updateTask_whenExpectedVersionIsOutdated_throwsVersionConflictException() {
+        when(taskRepository.updateDetails(eq(TEST_TASK_ID_1), any(), any(), any(LocalDateTime.class), eq(2L)))
+                .thenReturn(Optional.empty());
+        when(taskRepository.findVersionById(TEST_TASK_ID_1)).thenReturn(Optional.of(3L));
+
+        var exception = assertThrows(
+                VersionConflictException.class,
+                () -> taskBoardService.updateTask(TEST_TASK_ID_1, taskDetailsDto, 2L)
+        );
+
+        assertEquals(String.format(TASK_VERSION_CONFLICT_MESSAGE, TEST_TASK_ID_1, 3L, 2L), exception.getMessage());
+        verifyNoInteractions(eventPublisher);
     }
 
     @Test
     void shouldDeleteTaskSuccessfully() {
-        when(taskRepository.findById(TEST_TASK_ID_1)).thenReturn(Optional.of(testTask1));
+        when(taskRepository.deleteReturning(TEST_TASK_ID_1)).thenReturn(Optional.of(testTask1));
 
         taskBoardService.deleteTask(TEST_TASK_ID_1);
 
-        verify(taskRepository).findById(TEST_TASK_ID_1);
-        verify(taskRepository).delete(testTask1);
+        verify(taskRepository, never()).findById(anyLong());
+        verify(eventPublisher).publishEvent(BoardChangeEvent.taskDeleted(testTask1));
     }
 
     @Test
     void deleteTask_whenTaskNotFound_throwsEntityNotFoundException() {
-        when(taskRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(taskRepository.deleteReturning(TEST_TASK_ID_1)).thenReturn(Optional.empty());
 
         assertThrows(EntityNotFoundException.class, () -> taskBoardService.deleteTask(TEST_TASK_ID_1));
 
-        verify(taskRepository).findById(TEST_TASK_ID_1);
-        verify(taskRepository, never()).delete(any(Task.class));
+        verifyNoInteractions(eventPublisher);
     }
 
     @Test
     void shouldDeleteTaskListSuccessfully() {
-        when(taskListRepository.findById(taskList.id())).thenReturn(Optional.of(taskList));
+        when(taskListRepository.deleteReturning(TEST_TASK_LIST_ID)).thenReturn(Optional.of(taskList));
 
         taskBoardService.deleteList(TEST_TASK_LIST_ID);
 
-        verify(taskListRepository).findById(TEST_TASK_LIST_ID);
-        verify(taskListRepository).delete(taskList);
+        verify(taskListRepository, never()).findById(anyLong());
+        verify(taskRepository, never()).deleteReturning(anyLong());
+        verify(eventPublisher).publishEvent(BoardChangeEvent.listDeleted(taskList));
     }
 
     @Test
     void deleteList_whenListNotFound_throwsEntityNotFoundException() {
-        when(taskListRepository.findById(TEST_TASK_LIST_ID)).thenReturn(Optional.empty());
+        when(taskListRepository.deleteReturning(TEST_TASK_LIST_ID)).thenReturn(Optional.empty());
 
         assertThrows(EntityNotFoundException.class, () -> taskBoardService.deleteList(TEST_TASK_LIST_ID));
 
-        verify(taskListRepository).findById(TEST_TASK_LIST_ID);
-        verify(taskListRepository, never()).delete(any(TaskList.class));
+        verifyNoInteractions(eventPublisher);
     }
 
     @Test
     void moveTaskToList_success() {
         var targetListId = 999L;
-        var updatedTask = Task.builder()
-                .id(TEST_TASK_ID_1)
-                .name(TASK_NAME_TEST)
-                .description(TASK_DESCRIPTION_TEST)
+        var movedTask = testTask1.toBuilder()
                 .listId(targetListId)
-                .updatedAt(now)
+                .version(1L)
                 .build();
+        when(taskRepository.moveToList(eq(TEST_TASK_ID_1), eq(targetListId), any(LocalDateTime.class), eq(0L)))
+                .thenReturn(Optional.of(movedTask));
 
-        when(taskRepository.findById(TEST_TASK_ID_1)).thenReturn(Optional.of(testTask1));
-        when(taskListRepository.existsById(targetListId)).thenReturn(true);
-        when(taskRepository.save(any(Task.class))).thenReturn(updatedTask);
-
-        taskBoardService.moveTaskToList(TEST_TASK_ID_1, targetListId);
+        var result = taskBoardService.moveTaskToList(TEST_TASK_ID_1, targetListId, 0L);
 
-        assertEquals(targetListId, updatedTask.getListId());
-        verify(taskRepository).findById(TEST_TASK_ID_1);
-        verify(taskListRepository).existsById(targetListId);
-        verify(taskRepository).save(any(Task.class));
+        assertEquals(1L, result.version());
+        verify(taskRepository, never()).findById(anyLong());
+        verify(taskListRepository, never()).existsById(anyLong());
+        verify(eventPublisher).publishEvent(BoardChangeEvent.taskMoved(movedTask));
     }
 
     @Test
     void moveTaskToList_whenTaskNotFound_throwsEntityNotFoundException() {
         var nonExistentTaskId = 555L;
         var targetListId = 999L;
-        when(taskRepository.findById(nonExistentTaskId)).thenReturn(Optional.empty());
+        when(taskRepository.moveToList(eq(nonExistentTaskId), eq(targetListId), any(LocalDateTime.class), isNull()))
+                .thenReturn(Optional.empty());
+        when(taskRepository.findVersionById(nonExistentTaskId)).thenReturn(Optional.empty());
 
         var exception = assertThrows(
                 EntityNotFoundException.class,
-                () -> taskBoardService.moveTaskToList(nonExistentTaskId, targetListId)
+                () -> taskBoardService.moveTaskToList(nonExistentTaskId, targetListId, null)
         );
 
         assertEquals(String.format(TASK_NOT_FOUND_MESSAGE, nonExistentTaskId), exception.getMessage());
-        verify(taskRepository).findById(nonExistentTaskId);
-        verify(taskListRepository, never()).existsById(anyLong());
-        verify(taskRepository, never()).save(any(Task.class));
+        verifyNoInteractions(eventPublisher);
     }
 
     @Test
     void moveTaskToList_whenListNotFound_throwsEntityNotFoundException() {
-        // Arrange
-        Long nonExistentListId = 999L;
+        var nonExistentListId = 999L;
+        when(taskRepository.moveToList(eq(TEST_TASK_ID_1), eq(nonExistentListId), any(LocalDateTime.class), isNull()))
+                .thenReturn(Optional.empty());
+        when(taskRepository.findVersionById(TEST_TASK_ID_1)).thenReturn(Optional.of(0L));
 
-        when(taskRepository.findById(TEST_TASK_ID_1)).thenReturn(Optional.of(testTask1));
-        when(taskListRepository.existsById(nonExistentListId)).thenReturn(false);
-
-        // Act & Assert
         var exception = assertThrows(
                 EntityNotFoundException.class,
-                () -> taskBoardService.moveTaskToList(TEST_TASK_ID_1, nonExistentListId)
+                () -> taskBoardService.moveTaskToList(TEST_TASK_ID_1, nonExistentListId, null)
         );
 
         assertEquals(String.format(TASK_LIST_NOT_FOUND_MESSAGE, nonExistentListId), exception.getMessage());
-        verify(taskRepository, times(1)).findById(TEST_TASK_ID_1);
-        verify(taskListRepository, times(1)).existsById(nonExistentListId);
-        verify(taskRepository, never()).save(any(Task.class));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void positionTask_betweenNeighbours_writesOnlyTheTaskWithTheRankHalfwayBetween() {
+        var movedTask = testTask1.toBuilder()
+                .rank(3L * RANK_GAP / 2)
+                .version(1L)
+                .build();
+        when(taskRankRepository.lockAndFindNeighbours(TEST_TASK_LIST_ID, TEST_TASK_ID_2, TEST_TASK_ID_1))
+                .thenReturn(Optional.of(new Neighbours(TEST_TASK_ID_2, RANK_GAP, 2 * RANK_GAP)));
+        when(taskRepository.moveToRank(eq(TEST_TASK_ID_1), eq(TEST_TASK_LIST_ID), eq(3L * RANK_GAP / 2),
+                any(LocalDateTime.class), isNull()))
+                .thenReturn(Optional.of(movedTask));
+
+        var result = taskBoardService.positionTask(TEST_TASK_ID_1, TEST_TASK_LIST_ID, TEST_TASK_ID_2, null);
+
+        assertEquals(movedTask.getRank(), result.rank());
+        verify(taskRankRepository, never()).rebalance(anyLong());
+        verify(eventPublisher).publishEvent(BoardChangeEvent.taskMoved(movedTask));
+    }
+
+    @Test
+    void positionTask_whenGapIsUsedUp_rebalancesTheListFirst() {
+        var movedTask = testTask1.toBuilder()
+                .version(1L)
+                .build();
+        when(taskRankRepository.lockAndFindNeighbours(TEST_TASK_LIST_ID, TEST_TASK_ID_2, TEST_TASK_ID_1))
+                .thenReturn(Optional.of(new Neighbours(TEST_TASK_ID_2, 7L, 8L)))
+                .thenReturn(Optional.of(new Neighbours(TEST_TASK_ID_2, RANK_GAP, 2 * RANK_GAP)));
+        when(taskRepository.moveToRank(eq(TEST_TASK_ID_1), eq(TEST_TASK_LIST_ID), eq(3L * RANK_GAP / 2),
+                any(LocalDateTime.class), isNull()))
+                .thenReturn(Optional.of(movedTask));
+
+        taskBoardService.positionTask(TEST_TASK_ID_1, TEST_TASK_LIST_ID, TEST_TASK_ID_2, null);
+
+        verify(taskRankRepository).rebalance(TEST_TASK_LIST_ID);
+        verify(eventPublisher).publishEvent(BoardChangeEvent.tasksReordered(TEST_TASK_LIST_ID));
+        verify(eventPublisher).publishEvent(BoardChangeEvent.taskMoved(movedTask));
+    }
+
+    @Test
+    void positionTask_afterLastTask_appendsLikeAMove() {
+        var movedTask = testTask1.toBuilder()
+                .version(1L)
+                .build();
+        when(taskRankRepository.lockAndFindNeighbours(TEST_TASK_LIST_ID, TEST_TASK_ID_2, TEST_TASK_ID_1))
+                .thenReturn(Optional.of(new Neighbours(TEST_TASK_ID_2, RANK_GAP, null)));
+        when(taskRepository.moveToList(eq(TEST_TASK_ID_1), eq(TEST_TASK_LIST_ID), any(LocalDateTime.class), eq(0L)))
+                .thenReturn(Optional.of(movedTask));
+
+        taskBoardService.positionTask(TEST_TASK_ID_1, TEST_TASK_LIST_ID, TEST_TASK_ID_2, 0L);
+
+        verify(taskRepository, never()).moveToRank(anyLong(), anyLong(), anyLong(), any(), any());
+        verify(eventPublisher).publishEvent(BoardChangeEvent.taskMoved(movedTask));
+    }
+
+    @Test
+    void positionTask_whenAfterTaskIsNotInTheList_throwsEntityNotFoundException() {
+        when(taskRankRepository.lockAndFindNeighbours(TEST_TASK_LIST_ID, TEST_TASK_ID_2, TEST_TASK_ID_1))
+                .thenReturn(Optional.of(new Neighbours(null, null, RANK_GAP)));
+
+        var exception = assertThrows(EntityNotFoundException.class,
+                () -> taskBoardService.positionTask(TEST_TASK_ID_1, TEST_TASK_LIST_ID, TEST_TASK_ID_2, null));
+
+        assertEquals(String.format(TASK_NOT_IN_LIST_MESSAGE, TEST_TASK_ID_2, TEST_TASK_LIST_ID), exception.getMessage());
+        verifyNoInteractions(eventPublisher);
     }
 }
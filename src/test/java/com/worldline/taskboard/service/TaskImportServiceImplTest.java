@@ -0,0 +1,137 @@
+package com.worldline.taskboard.service;
+
+import com.worldline.taskboard.events.BoardChangeEvent;
+import com.worldline.taskboard.exceptions.EntityNotFoundException;
+import com.worldline.taskboard.model.dtos.BatchItemFailureDto;
+import com.worldline.taskboard.model.dtos.TaskDetailsDto;
+import com.worldline.taskboard.model.entities.TaskList;
+import com.worldline.taskboard.repository.TaskBatchRepository;
+import com.worldline.taskboard.repository.TaskListRepository;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static com.worldline.taskboard.TestConstants.*;
+import static com.worldline.taskboard.service.TaskImportServiceImpl.CHUNK_FAILED_MESSAGE;
+import static com.worldline.taskboard.service.TaskImportServiceImpl.CONFLICT_MESSAGE;
+import static com.worldline.taskboard.service.TaskImportServiceImpl.DUPLICATE_IN_BATCH_MESSAGE;
+import static com.worldline.taskboard.service.TaskImportServiceImpl.DUPLICATE_IN_LIST_MESSAGE;
+import static com.worldline.taskboard.service.TaskImportServiceImpl.MISSING_TASK_MESSAGE;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskImportServiceImplTest {
+    @Mock
+    private TaskListRepository taskListRepository;
+    @Mock
+    private TaskBatchRepository taskBatchRepository;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private TaskImportServiceImpl taskImportService;
+    private TaskList taskList;
+
+    @BeforeEach
+    void setUp() {
+        var validator = Validation.buildDefaultValidatorFactory().getValidator();
+        taskImportService = new TaskImportServiceImpl(taskListRepository, taskBatchRepository, validator,
+                transactionTemplate, eventPublisher);
+        ReflectionTestUtils.setField(taskImportService, "chunkSize", 2);
+
+        taskList = TaskList.builder()
+                .id(TEST_TASK_LIST_ID)
+                .name(TASK_LIST_PERSONAL)
+                .build();
+    }
+
+    @Test
+    void importTasks_shouldWriteInChunks_andReportFailuresPerItem() {
+        when(taskListRepository.findByName(TASK_LIST_PERSONAL)).thenReturn(Optional.of(taskList));
+        when(taskBatchRepository.findNamesByListId(TEST_TASK_LIST_ID)).thenReturn(List.of(TASK_NAME_TEST));
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<int[]>>getArgument(0).doInTransaction(null));
+        when(taskBatchRepository.insertIgnoringDuplicates(eq(TEST_TASK_LIST_ID), anyList()))
+                .thenReturn(new int[]{1, 0})
+                .thenReturn(new int[]{1});
+
+        var tasks = List.of(
+                task("Task 1"),
+                task(TASK_NAME_TEST),
+                task("Task 2"),
+                task(""),
+                task("Task 1"),
+                task("Task 3"));
+
+        var result = taskImportService.importTasks(TASK_LIST_PERSONAL, tasks.iterator());
+
+        assertEquals(6, result.received());
+        assertEquals(2, result.imported());
+        assertEquals(List.of(1, 2, 3, 4), result.failures().stream().map(BatchItemFailureDto::index).toList());
+        assertEquals(String.format(DUPLICATE_IN_LIST_MESSAGE, TASK_NAME_TEST, TASK_LIST_PERSONAL),
+                result.failures().get(0).reason());
+        assertEquals(String.format(CONFLICT_MESSAGE, "Task 2"), result.failures().get(1).reason());
+        assertEquals(String.format(DUPLICATE_IN_BATCH_MESSAGE, "Task 1"), result.failures().get(3).reason());
+        verify(taskBatchRepository, times(2)).insertIgnoringDuplicates(eq(TEST_TASK_LIST_ID), anyList());
+        verify(eventPublisher, times(2)).publishEvent(BoardChangeEvent.tasksImported(taskList));
+    }
+
+    @Test
+    void importTasks_shouldReportANullElementAndAFailedChunkPerItem_andKeepTheCommittedChunks() {
+        when(taskListRepository.findByName(TASK_LIST_PERSONAL)).thenReturn(Optional.of(taskList));
+        when(taskBatchRepository.findNamesByListId(TEST_TASK_LIST_ID)).thenReturn(List.of());
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<int[]>>getArgument(0).doInTransaction(null));
+        when(taskBatchRepository.insertIgnoringDuplicates(eq(TEST_TASK_LIST_ID), anyList()))
+                .thenReturn(new int[]{1, 1})
+                .thenThrow(new QueryTimeoutException("canceling statement due to statement timeout"))
+                .thenReturn(new int[]{1});
+
+        var tasks = Arrays.asList(task("Task 1"), null, task("Task 2"), task("Task 3"), task("Task 4"), task("Task 5"));
+
+        var result = taskImportService.importTasks(TASK_LIST_PERSONAL, tasks.iterator());
+
+        assertEquals(6, result.received());
+        assertEquals(3, result.imported());
+        assertEquals(List.of(
+                new BatchItemFailureDto(1, null, MISSING_TASK_MESSAGE),
+                new BatchItemFailureDto(3, "Task 3", String.format(CHUNK_FAILED_MESSAGE, "Task 3")),
+                new BatchItemFailureDto(4, "Task 4", String.format(CHUNK_FAILED_MESSAGE, "Task 4"))),
+                result.failures());
+        verify(eventPublisher, times(2)).publishEvent(BoardChangeEvent.tasksImported(taskList));
+    }
+
+    @Test
+    void importTasks_whenListNotFound_throwsEntityNotFoundException() {
+        when(taskListRepository.findByName(TASK_LIST_PERSONAL)).thenReturn(Optional.empty());
+        var tasks = List.of(task(TASK_NAME_TEST)).iterator();
+
+        assertThrows(EntityNotFoundException.class, () -> taskImportService.importTasks(TASK_LIST_PERSONAL, tasks));
+
+        verifyNoInteractions(taskBatchRepository);
+    }
+
+    private static TaskDetailsDto task(String name) {
+        return TaskDetailsDto.builder()
+                .name(name)
+                .description(TASK_DESCRIPTION_TEST)
+                .build();
+    }
+}
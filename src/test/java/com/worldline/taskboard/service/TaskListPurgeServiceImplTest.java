@@ -0,0 +1,84 @@
+package com.worldline.taskboard.service;
+
+import com.worldline.taskboard.events.BoardChangeEvent;
+import com.worldline.taskboard.exceptions.EntityNotFoundException;
+import com.worldline.taskboard.model.entities.TaskList;
+import com.worldline.taskboard.repository.TaskBatchRepository;
+import com.worldline.taskboard.repository.TaskListRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static com.worldline.taskboard.TestConstants.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskListPurgeServiceImplTest {
+    @Mock
+    private TaskListRepository taskListRepository;
+    @Mock
+    private TaskBatchRepository taskBatchRepository;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private TaskListPurgeServiceImpl taskListPurgeService;
+    private TaskList taskList;
+
+    @BeforeEach
+    void setUp() {
+        taskListPurgeService = new TaskListPurgeServiceImpl(taskListRepository, taskBatchRepository,
+                transactionTemplate, eventPublisher);
+        ReflectionTestUtils.setField(taskListPurgeService, "chunkSize", 2);
+
+        taskList = TaskList.builder()
+                .id(TEST_TASK_LIST_ID)
+                .name(TASK_LIST_PERSONAL)
+                .build();
+    }
+
+    @Test
+    void purgeList_whenListNotFound_throwsEntityNotFoundException() {
+        when(taskListRepository.findById(TEST_TASK_LIST_ID)).thenReturn(Optional.empty());
+
+        assertThrows(EntityNotFoundException.class, () -> taskListPurgeService.purgeList(TEST_TASK_LIST_ID));
+
+        verifyNoInteractions(taskBatchRepository, eventPublisher);
+    }
+
+    @Test
+    void purge_deletesTasksChunkByChunk_thenTheList() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<Integer>>getArgument(0).doInTransaction(null));
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        when(taskBatchRepository.deleteByListId(TEST_TASK_LIST_ID, 2)).thenReturn(2, 2, 1);
+        when(taskListRepository.deleteReturning(TEST_TASK_LIST_ID)).thenReturn(Optional.of(taskList));
+
+        taskListPurgeService.purge(taskList);
+
+        InOrder inOrder = inOrder(taskBatchRepository, taskListRepository, eventPublisher);
+        inOrder.verify(taskBatchRepository, times(3)).deleteByListId(TEST_TASK_LIST_ID, 2);
+        inOrder.verify(taskListRepository).deleteReturning(TEST_TASK_LIST_ID);
+        inOrder.verify(eventPublisher).publishEvent(BoardChangeEvent.listDeleted(taskList));
+        // One committed change per chunk, so that caches and board versions follow the purge
+        verify(eventPublisher, times(3)).publishEvent(BoardChangeEvent.tasksPurged(taskList));
+        verify(transactionTemplate, times(3)).execute(any());
+    }
+}
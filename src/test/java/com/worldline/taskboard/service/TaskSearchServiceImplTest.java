@@ -0,0 +1,59 @@
+package com.worldline.taskboard.service;
+
+import com.worldline.taskboard.repository.TaskSearchRepository;
+import com.worldline.taskboard.repository.TaskSearchRepository.TaskHit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static com.worldline.taskboard.TestConstants.*;
+import static com.worldline.taskboard.service.TaskSearchServiceImpl.INVALID_CURSOR_MESSAGE;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskSearchServiceImplTest {
+    @Mock
+    private TaskSearchRepository taskSearchRepository;
+    @InjectMocks
+    private TaskSearchServiceImpl taskSearchService;
+
+    @Test
+    void searchTasks_withMoreHitsThanLimit_returnsCursorOfLastHit_thatResumesAfterIt() {
+        var best = hit(TEST_TASK_ID_1, 0.6079271f);
+        var second = hit(TEST_TASK_ID_2, 0.0607927f);
+        when(taskSearchRepository.search(TASK_NAME_TEST, null, null, null, 2))
+                .thenReturn(List.of(best, second));
+
+        var page = taskSearchService.searchTasks(TASK_NAME_TEST, null, null, 1);
+
+        assertEquals(1, page.items().size());
+        assertEquals(TEST_TASK_ID_1, page.items().getFirst().taskId());
+        assertNotNull(page.nextCursor());
+
+        when(taskSearchRepository.search(TASK_NAME_TEST, TEST_TASK_LIST_ID, best.score(), TEST_TASK_ID_1, 2))
+                .thenReturn(List.of(second));
+
+        var nextPage = taskSearchService.searchTasks(TASK_NAME_TEST, TEST_TASK_LIST_ID, page.nextCursor(), 1);
+
+        assertEquals(TEST_TASK_ID_2, nextPage.items().getFirst().taskId());
+        assertNull(nextPage.nextCursor());
+    }
+
+    @Test
+    void searchTasks_withMalformedCursor_throwsIllegalArgumentException() {
+        var exception = assertThrows(IllegalArgumentException.class,
+                () -> taskSearchService.searchTasks(TASK_NAME_TEST, null, "not-a-cursor", 10));
+
+        assertEquals(String.format(INVALID_CURSOR_MESSAGE, "not-a-cursor"), exception.getMessage());
+        verifyNoInteractions(taskSearchRepository);
+    }
+
+    private static TaskHit hit(long taskId, float score) {
+        return new TaskHit(taskId, TEST_TASK_LIST_ID, TASK_NAME_TEST, TASK_DESCRIPTION_TEST, 0L, 65_536L, score);
+    }
+}
@@ -0,0 +1,153 @@
+package com.worldline.taskboard.service;
+
+import com.worldline.taskboard.events.BoardChangeBatchEvent;
+import com.worldline.taskboard.exceptions.VersionConflictException;
+import com.worldline.taskboard.model.dtos.BoardDto;
+import com.worldline.taskboard.model.dtos.TaskDetailsDto;
+import com.worldline.taskboard.model.dtos.TaskDto;
+import com.worldline.taskboard.model.dtos.TaskListDto;
+import com.worldline.taskboard.model.entities.Task;
+import com.worldline.taskboard.repository.TaskWriteBehindRepository;
+import com.worldline.taskboard.repository.TaskWriteBehindRepository.WriteCheck;
+import com.worldline.taskboard.writebehind.TaskWrite;
+import com.worldline.taskboard.writebehind.TaskWriteBehind;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+import static com.worldline.taskboard.TestConstants.*;
+import static com.worldline.taskboard.service.TaskBoardServiceImpl.TASK_VERSION_CONFLICT_MESSAGE;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WriteBehindTaskBoardServiceTest {
+
+    private static final Long OTHER_TASK_LIST_ID = 456L;
+    private static final Long THIRD_TASK_LIST_ID = 789L;
+
+    @Mock
+    private TaskBoardServiceImpl taskBoardServiceImpl;
+    @Mock
+    private TaskWriteBehindRepository taskWriteBehindRepository;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @TempDir
+    private Path directory;
+
+    private TaskWriteBehind taskWriteBehind;
+    private WriteBehindTaskBoardService taskBoardService;
+
+    @BeforeEach
+    void setUp() {
+        taskWriteBehind = taskWriteBehind();
+        taskBoardService = new WriteBehindTaskBoardService(taskBoardServiceImpl, taskWriteBehind,
+                taskWriteBehindRepository);
+    }
+
+    @Test
+    void moveTaskToList_repeatedMoves_areFlushedAsOneWriteOfTheLastMove() {
+        when(taskWriteBehindRepository.check(eq(TEST_TASK_ID_1), anyLong(), any(), eq(true)))
+                .thenReturn(Optional.of(new WriteCheck(task(), true, false, 10 * 65_536L)));
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(taskWriteBehindRepository.apply(anyList())).thenReturn(new int[]{1});
+
+        taskBoardService.moveTaskToList(TEST_TASK_ID_1, OTHER_TASK_LIST_ID, 1L);
+        var moved = taskBoardService.moveTaskToList(TEST_TASK_ID_1, THIRD_TASK_LIST_ID, 2L);
+        taskWriteBehind.flush();
+
+        assertEquals(3L, moved.version());
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<TaskWrite>> writes = ArgumentCaptor.forClass(List.class);
+        verify(taskWriteBehindRepository).apply(writes.capture());
+        var write = writes.getValue().getFirst();
+        assertEquals(1, writes.getValue().size());
+        assertEquals(THIRD_TASK_LIST_ID, write.listId());
+        assertEquals(1L, write.baseVersion());
+        assertEquals(3L, write.version());
+        assertTrue(taskWriteBehind.pending(TEST_TASK_ID_1).isEmpty());
+        verify(eventPublisher).publishEvent(any(BoardChangeBatchEvent.class));
+    }
+
+    @Test
+    void updateTask_withTheVersionBeforeAPendingWrite_throwsVersionConflictException() {
+        when(taskWriteBehindRepository.check(eq(TEST_TASK_ID_1), any(), eq(TASK_NAME_OTHER), eq(false)))
+                .thenReturn(Optional.of(new WriteCheck(task(), true, false, null)));
+        var details = TaskDetailsDto.builder()
+                .name(TASK_NAME_OTHER)
+                .description(TASK_DESCRIPTION_ANOTHER)
+                .build();
+        taskBoardService.updateTask(TEST_TASK_ID_1, details, 1L);
+
+        var exception = assertThrows(VersionConflictException.class,
+                () -> taskBoardService.updateTask(TEST_TASK_ID_1, details, 1L));
+
+        assertEquals(String.format(TASK_VERSION_CONFLICT_MESSAGE, TEST_TASK_ID_1, 2L, 1L), exception.getMessage());
+    }
+
+    @Test
+    void getBoard_includesPendingWrites_andChangesItsEtagWithThem() {
+        when(taskWriteBehindRepository.check(eq(TEST_TASK_ID_1), any(), eq(TASK_NAME_OTHER), eq(false)))
+                .thenReturn(Optional.of(new WriteCheck(task(), true, false, null)));
+        var taskList = new TaskListDto(TEST_TASK_LIST_ID, TASK_LIST_WORK, List.of(TaskDto.of(task())));
+        when(taskBoardServiceImpl.getBoard()).thenReturn(new BoardDto(7L, List.of(taskList)));
+        when(taskBoardServiceImpl.getBoardVersion()).thenReturn(7L);
+        var etagBefore = taskBoardService.getBoardEtag();
+
+        taskBoardService.updateTask(TEST_TASK_ID_1, TaskDetailsDto.builder().name(TASK_NAME_OTHER).build(), null);
+        var board = taskBoardService.getBoard();
+
+        var task = board.lists().getFirst().getTasks().getFirst();
+        assertEquals(TASK_NAME_OTHER, task.taskDetails().name());
+        assertEquals(2L, task.version());
+        assertNotEquals(etagBefore, board.etag());
+        assertEquals(board.etag(), taskBoardService.getBoardEtag());
+    }
+
+    @Test
+    void pendingWrites_areReplayedFromTheJournal_afterARestart() {
+        when(taskWriteBehindRepository.check(eq(TEST_TASK_ID_1), anyLong(), isNull(), eq(true)))
+                .thenReturn(Optional.of(new WriteCheck(task(), true, false, 10 * 65_536L)));
+        taskBoardService.moveTaskToList(TEST_TASK_ID_1, OTHER_TASK_LIST_ID, null);
+
+        // A crash: the journal is not flushed before it is opened again
+        var write = taskWriteBehind().pending(TEST_TASK_ID_1).orElseThrow();
+
+        assertEquals(OTHER_TASK_LIST_ID, write.listId());
+        assertEquals(2L, write.version());
+    }
+
+    private TaskWriteBehind taskWriteBehind() {
+        return new TaskWriteBehind(taskWriteBehindRepository, transactionTemplate, eventPublisher,
+                new SimpleMeterRegistry(), directory.resolve("tasks.journal"), DataSize.ofKilobytes(64), 500);
+    }
+
+    private static Task task() {
+        return Task.builder()
+                .id(TEST_TASK_ID_1)
+                .listId(TEST_TASK_LIST_ID)
+                .name(TASK_NAME_TEST)
+                .description(TASK_DESCRIPTION_TEST)
+                .version(1L)
+                .rank(65_536L)
+                .build();
+    }
+}
@@ -0,0 +1,143 @@
+package com.worldline.taskboard.writebehind;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.worldline.taskboard.TestConstants.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskJournalTest {
+
+    private static final int SIZE = 4096;
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void replay_returnsTheAppendedWrites_afterReopening() throws IOException {
+        var journalPath = directory.resolve("tasks.journal");
+        var moved = write(1, TEST_TASK_ID_1, TEST_TASK_LIST_ID, TASK_DESCRIPTION_TEST);
+        var renamedWithoutList = write(2, TEST_TASK_ID_2, null, null);
+        try (var journal = new TaskJournal(journalPath, SIZE)) {
+            journal.replay();
+            assertTrue(journal.append(moved));
+            assertTrue(journal.append(renamedWithoutList));
+        }
+
+        try (var journal = new TaskJournal(journalPath, SIZE)) {
+            assertEquals(List.of(moved, renamedWithoutList), journal.replay());
+        }
+    }
+
+    @Test
+    void replay_stopsAtATornRecord_andAppendsInItsPlace() throws IOException {
+        var journalPath = directory.resolve("tasks.journal");
+        var first = write(1, TEST_TASK_ID_1, TEST_TASK_LIST_ID, TASK_DESCRIPTION_TEST);
+        try (var journal = new TaskJournal(journalPath, SIZE)) {
+            journal.replay();
+            journal.append(first);
+            journal.append(write(2, TEST_TASK_ID_2, TEST_TASK_LIST_ID, TASK_DESCRIPTION_ANOTHER));
+        }
+        try (var file = new RandomAccessFile(journalPath.toFile(), "rw")) {
+            // Corrupt the last byte of the second record, as a crash while writing it would
+            var secondEnd = (int) file.length();
+            while (secondEnd > 0 && readByte(file, secondEnd - 1) == 0) {
+                secondEnd--;
+            }
+            file.seek(secondEnd - 1);
+            file.write(readByte(file, secondEnd - 1) ^ 0xFF);
+        }
+
+        var third = write(3, TEST_TASK_ID_2, TEST_TASK_LIST_ID, null);
+        try (var journal = new TaskJournal(journalPath, SIZE)) {
+            assertEquals(List.of(first), journal.replay());
+            journal.append(third);
+        }
+        try (var journal = new TaskJournal(journalPath, SIZE)) {
+            assertEquals(List.of(first, third), journal.replay());
+        }
+    }
+
+    @Test
+    void append_whenFull_writesNothing_untilReset() throws IOException {
+        try (var journal = new TaskJournal(directory.resolve("tasks.journal"), 200)) {
+            journal.replay();
+            assertTrue(journal.append(write(1, TEST_TASK_ID_1, TEST_TASK_LIST_ID, TASK_DESCRIPTION_TEST)));
+            assertFalse(journal.append(write(2, TEST_TASK_ID_2, TEST_TASK_LIST_ID, TASK_DESCRIPTION_TEST)));
+
+            journal.reset();
+
+            assertTrue(journal.replay().isEmpty());
+            assertTrue(journal.append(write(2, TEST_TASK_ID_2, TEST_TASK_LIST_ID, TASK_DESCRIPTION_TEST)));
+        }
+    }
+
+    @Test
+    void compact_keepsOnlyTheGivenWrites_andAppendsAfterThem_acrossReopening() throws IOException {
+        var journalPath = directory.resolve("tasks.journal");
+        var stillPending = write(2, TEST_TASK_ID_2, TEST_TASK_LIST_ID, TASK_DESCRIPTION_ANOTHER);
+        var appended = write(3, TEST_TASK_ID_1, TEST_TASK_LIST_ID, null);
+        try (var journal = new TaskJournal(journalPath, SIZE)) {
+            journal.replay();
+            journal.append(write(1, TEST_TASK_ID_1, TEST_TASK_LIST_ID, TASK_DESCRIPTION_TEST));
+            journal.append(stillPending);
+
+            assertTrue(journal.compact(List.of(stillPending)));
+            assertTrue(journal.append(appended));
+        }
+
+        try (var journal = new TaskJournal(journalPath, SIZE)) {
+            assertEquals(List.of(stillPending, appended), journal.replay());
+            assertTrue(journal.compact(List.of(appended)));
+        }
+        try (var journal = new TaskJournal(journalPath, SIZE)) {
+            assertEquals(List.of(appended), journal.replay());
+        }
+    }
+
+    @Test
+    void compact_makesRoomInAFullJournal() throws IOException {
+        try (var journal = new TaskJournal(directory.resolve("tasks.journal"), 200)) {
+            journal.replay();
+            assertTrue(journal.append(write(1, TEST_TASK_ID_1, TEST_TASK_LIST_ID, TASK_DESCRIPTION_TEST)));
+            assertFalse(journal.append(write(2, TEST_TASK_ID_2, TEST_TASK_LIST_ID, TASK_DESCRIPTION_TEST)));
+
+            assertTrue(journal.compact(List.of()));
+
+            assertTrue(journal.append(write(2, TEST_TASK_ID_2, TEST_TASK_LIST_ID, TASK_DESCRIPTION_TEST)));
+        }
+    }
+
+    @Test
+    void compact_thatDoesNotFit_leavesTheJournalAsItWas() throws IOException {
+        var journalPath = directory.resolve("tasks.journal");
+        var first = write(1, TEST_TASK_ID_1, TEST_TASK_LIST_ID, TASK_DESCRIPTION_TEST);
+        var second = write(2, TEST_TASK_ID_2, TEST_TASK_LIST_ID, TASK_DESCRIPTION_TEST);
+        try (var journal = new TaskJournal(journalPath, 200)) {
+            journal.replay();
+            journal.append(first);
+
+            assertFalse(journal.compact(List.of(first, second)));
+        }
+
+        try (var journal = new TaskJournal(journalPath, 200)) {
+            assertEquals(List.of(first), journal.replay());
+        }
+    }
+
+    private static int readByte(RandomAccessFile file, long position) throws IOException {
+        file.seek(position);
+        return file.read();
+    }
+
+    private static TaskWrite write(long sequence, long taskId, Long listId, String description) {
+        var now = LocalDateTime.of(2024, 5, 1, 12, 30, 15, 123_456_000);
+        return new TaskWrite(sequence, taskId, 1, listId, TASK_NAME_TEST, description, null, now, 2, 65_536, true);
+    }
+}
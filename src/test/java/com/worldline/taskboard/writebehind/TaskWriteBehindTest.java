@@ -0,0 +1,123 @@
+package com.worldline.taskboard.writebehind;
+
+import com.worldline.taskboard.exceptions.ServiceUnavailableException;
+import com.worldline.taskboard.repository.TaskWriteBehindRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static com.worldline.taskboard.TestConstants.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskWriteBehindTest {
+
+    @Mock
+    private TaskWriteBehindRepository taskWriteBehindRepository;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @TempDir
+    private Path directory;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private TaskWriteBehind taskWriteBehind;
+
+    @Test
+    void append_keepsWorking_whenWritesArePendingAfterEveryFlush() {
+        // Room for about ten writes
+        taskWriteBehind = taskWriteBehind(DataSize.ofBytes(1024));
+        when(transactionTemplate.execute(any())).thenAnswer(invocation -> {
+            // Another request writes while the batch is flushed, so the journal is never empty after a flush
+            taskWriteBehind.append(TEST_TASK_ID_2, taskWriteBehind.flushes(), current -> write(TEST_TASK_ID_2));
+            return invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null);
+        });
+        when(taskWriteBehindRepository.apply(anyList())).thenAnswer(invocation -> {
+            var applied = new int[invocation.<List<?>>getArgument(0).size()];
+            Arrays.fill(applied, 1);
+            return applied;
+        });
+
+        for (var i = 0; i < 50; i++) {
+            assertTrue(taskWriteBehind.append(TEST_TASK_ID_1, taskWriteBehind.flushes(),
+                    current -> write(TEST_TASK_ID_1)).isPresent());
+            taskWriteBehind.flush();
+        }
+
+        assertTrue(taskWriteBehind.pending(TEST_TASK_ID_1).isEmpty());
+        assertTrue(taskWriteBehind.pending(TEST_TASK_ID_2).isPresent());
+    }
+
+    @Test
+    void append_throwsServiceUnavailableException_whenTheJournalIsStillFullAfterAFlush() {
+        taskWriteBehind = taskWriteBehind(DataSize.ofBytes(64));
+
+        assertThrows(ServiceUnavailableException.class,
+                () -> taskWriteBehind.append(TEST_TASK_ID_1, 0, current -> write(TEST_TASK_ID_1)));
+
+        assertTrue(taskWriteBehind.pending(TEST_TASK_ID_1).isEmpty());
+        verifyNoInteractions(transactionTemplate);
+    }
+
+    @Test
+    void flush_ofAReplayedWriteTheDatabaseAlreadyHas_doesNotCountItAsDropped() {
+        // A crash after the write was flushed, before the journal was compacted
+        taskWriteBehind(DataSize.ofKilobytes(64)).append(TEST_TASK_ID_1, 0, current -> write(TEST_TASK_ID_1));
+        taskWriteBehind = taskWriteBehind(DataSize.ofKilobytes(64));
+        inTransaction();
+        when(taskWriteBehindRepository.apply(anyList())).thenReturn(new int[]{0});
+        when(taskWriteBehindRepository.findVersions(List.of(TEST_TASK_ID_1))).thenReturn(Map.of(TEST_TASK_ID_1, 2L));
+
+        taskWriteBehind.flush();
+
+        assertTrue(taskWriteBehind.pending(TEST_TASK_ID_1).isEmpty());
+        assertEquals(0, meterRegistry.get(TaskWriteBehind.DROPPED_METRIC).counter().count());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void flush_ofAWriteOfATaskChangedOtherwise_countsItAsDropped() {
+        taskWriteBehind = taskWriteBehind(DataSize.ofKilobytes(64));
+        inTransaction();
+        when(taskWriteBehindRepository.apply(anyList())).thenReturn(new int[]{0});
+        when(taskWriteBehindRepository.findVersions(List.of(TEST_TASK_ID_1))).thenReturn(Map.of(TEST_TASK_ID_1, 3L));
+        taskWriteBehind.append(TEST_TASK_ID_1, 0, current -> write(TEST_TASK_ID_1));
+
+        taskWriteBehind.flush();
+
+        assertTrue(taskWriteBehind.pending(TEST_TASK_ID_1).isEmpty());
+        assertEquals(1, meterRegistry.get(TaskWriteBehind.DROPPED_METRIC).counter().count());
+    }
+
+    private void inTransaction() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    private TaskWriteBehind taskWriteBehind(DataSize journalSize) {
+        return new TaskWriteBehind(taskWriteBehindRepository, transactionTemplate, eventPublisher,
+                meterRegistry, directory.resolve("tasks.journal"), journalSize, 500);
+    }
+
+    private static TaskWrite write(long taskId) {
+        return new TaskWrite(0, taskId, 1, TEST_TASK_LIST_ID, TASK_NAME_TEST, TASK_DESCRIPTION_TEST, null, null, 2,
+                65_536, true);
+    }
+}